@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.http;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * A thread-safe store of cookies that can be attached to a {@link com.inversoft.rest.RESTClient} so that the cookies from responses are
+ * stored and then sent on later requests automatically.
+ * <p>
+ * Cookies are indexed in a trie keyed by the labels of the domain in reverse order (i.e. <code>com -> example -> www</code>), so finding
+ * the cookies for a host only visits the nodes for that host and its parent domains. Within a node, cookies are kept in order of longest
+ * path first, which is the order they are sent in. Domain, path, secure and expiration matching follows RFC 6265. Expired cookies are
+ * skipped when building requests and evicted when cookies are added or when {@link #removeExpired()} is called.
+ * <p>
+ * The jar can optionally be backed by a file by using the {@link #CookieJar(Path)} constructor and calling {@link #save()}.
+ * <p>
+ * Public suffixes are not checked, so a response can set a cookie for a domain such as <code>co.uk</code>.
+ *
+ * @author Brian Pontarelli
+ */
+public class CookieJar {
+  private final Path file;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Node root = new Node();
+
+  private int size;
+
+  public CookieJar() {
+    this.file = null;
+  }
+
+  /**
+   * Creates a cookie jar that is persisted to the given file. If the file exists, the cookies in it are loaded.
+   *
+   * @param file The file.
+   * @throws IOException If the file could not be read.
+   */
+  public CookieJar(Path file) throws IOException {
+    this.file = file;
+    if (Files.exists(file)) {
+      load();
+    }
+  }
+
+  /**
+   * Adds the cookies from a response to the jar. Cookies with a Domain that doesn't match the host of the URL are ignored. Cookies that
+   * have already expired (a Max-Age of zero or less or an Expires in the past) remove the matching cookie from the jar.
+   *
+   * @param url     The URL of the request the cookies were returned from.
+   * @param cookies The cookies.
+   */
+  public void add(URL url, List<Cookie> cookies) {
+    if (cookies == null || cookies.isEmpty()) {
+      return;
+    }
+
+    String host = normalizeHost(url.getHost());
+    String path = requestPath(url);
+    long now = System.currentTimeMillis();
+
+    lock.writeLock().lock();
+    try {
+      for (Cookie cookie : cookies) {
+        add(host, path, cookie, now);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Adds a cookie from a response to the jar. See {@link #add(URL, List)}.
+   *
+   * @param url    The URL of the request the cookie was returned from.
+   * @param cookie The cookie.
+   */
+  public void add(URL url, Cookie cookie) {
+    if (cookie != null) {
+      List<Cookie> cookies = new ArrayList<>(1);
+      cookies.add(cookie);
+      add(url, cookies);
+    }
+  }
+
+  /**
+   * Appends the cookies that should be sent to the given URL to the StringBuilder using the format of the Cookie request header. If the
+   * StringBuilder isn't empty, a separator is added before the first cookie.
+   *
+   * @param url   The URL of the request.
+   * @param build The StringBuilder to append to.
+   */
+  public void appendRequestHeader(URL url, StringBuilder build) {
+    forEachMatch(url, cookie -> {
+      if (build.length() > 0) {
+        build.append("; ");
+      }
+
+      build.append(cookie.name).append('=').append(cookie.value);
+    });
+  }
+
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      root.children.clear();
+      size = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the cookies that should be sent to the given URL.
+   *
+   * @param url The URL of the request.
+   * @return The cookies, longest paths first within a domain.
+   */
+  public List<Cookie> get(URL url) {
+    List<Cookie> cookies = new ArrayList<>();
+    forEachMatch(url, cookies::add);
+    return cookies;
+  }
+
+  /**
+   * Removes all the expired cookies from the jar.
+   *
+   * @return The number of cookies removed.
+   */
+  public int removeExpired() {
+    long now = System.currentTimeMillis();
+    lock.writeLock().lock();
+    try {
+      int before = size;
+      removeExpired(root, now);
+      return before - size;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Writes all the cookies that haven't expired to the file this jar was created with. The file is written to a temporary file first and
+   * then moved into place.
+   *
+   * @throws IOException If the file could not be written.
+   * @throws IllegalStateException If this jar was not created with a file.
+   */
+  public void save() throws IOException {
+    if (file == null) {
+      throw new IllegalStateException("This CookieJar was not created with a file");
+    }
+
+    long now = System.currentTimeMillis();
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    lock.readLock().lock();
+    try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+      write(writer, root, now);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Builds the value of the Cookie request header for the given URL.
+   *
+   * @param url The URL of the request.
+   * @return The header value or null if there are no cookies for the URL.
+   */
+  public String toRequestHeader(URL url) {
+    StringBuilder build = new StringBuilder();
+    appendRequestHeader(url, build);
+    return build.length() == 0 ? null : build.toString();
+  }
+
+  private void add(String host, String requestPath, Cookie cookie, long now) {
+    if (cookie.name == null || cookie.value == null) {
+      return;
+    }
+
+    boolean hostOnly = cookie.domain == null || cookie.domain.isEmpty();
+    String domain = host;
+    if (!hostOnly) {
+      domain = normalizeHost(cookie.domain.startsWith(".") ? cookie.domain.substring(1) : cookie.domain);
+      if (!domainMatches(host, domain)) {
+        return;
+      }
+    }
+
+    String path = cookie.path != null && cookie.path.startsWith("/") ? cookie.path : defaultPath(requestPath);
+
+    long expiresAt = Long.MAX_VALUE;
+    if (cookie.maxAge != null) {
+      expiresAt = cookie.maxAge <= 0 ? Long.MIN_VALUE : now + Math.min(cookie.maxAge, Long.MAX_VALUE / 2000) * 1000;
+    } else if (cookie.expires != null) {
+      expiresAt = cookie.expires.toInstant().toEpochMilli();
+    }
+
+    store(new Entry(cookie, domain, hostOnly, path, expiresAt), now);
+  }
+
+  /**
+   * Determines the default path of a cookie from the request path (RFC 6265 section 5.1.4).
+   */
+  private static String defaultPath(String requestPath) {
+    if (requestPath == null || !requestPath.startsWith("/")) {
+      return "/";
+    }
+
+    int index = requestPath.lastIndexOf('/');
+    return index == 0 ? "/" : requestPath.substring(0, index);
+  }
+
+  private static boolean domainMatches(String host, String domain) {
+    return host.equals(domain) || (host.endsWith(domain) && host.charAt(host.length() - domain.length() - 1) == '.');
+  }
+
+  private void forEachMatch(URL url, Consumer<Cookie> consumer) {
+    String host = normalizeHost(url.getHost());
+    String path = requestPath(url);
+    boolean secure = "https".equalsIgnoreCase(url.getProtocol());
+    long now = System.currentTimeMillis();
+    String[] labels = labels(host);
+
+    lock.readLock().lock();
+    try {
+      Node node = root;
+      for (int i = labels.length - 1; i >= 0; i--) {
+        node = node.children.get(labels[i]);
+        if (node == null) {
+          return;
+        }
+
+        // Host-only cookies only match the exact host, which is the last label
+        boolean exactHost = i == 0;
+        for (Entry entry : node.entries) {
+          if ((!entry.hostOnly || exactHost) && entry.expiresAt > now && (!entry.cookie.secure || secure) && pathMatches(path, entry.path)) {
+            consumer.accept(entry.cookie);
+          }
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static String[] labels(String domain) {
+    return domain.split("\\.");
+  }
+
+  private void load() throws IOException {
+    long now = System.currentTimeMillis();
+    lock.writeLock().lock();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        Entry entry = Entry.parse(line);
+        if (entry != null) {
+          store(entry, now);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static String normalizeHost(String host) {
+    return host.toLowerCase();
+  }
+
+  private static boolean pathMatches(String requestPath, String cookiePath) {
+    if (requestPath.equals(cookiePath)) {
+      return true;
+    }
+
+    return requestPath.startsWith(cookiePath) && (cookiePath.endsWith("/") || requestPath.charAt(cookiePath.length()) == '/');
+  }
+
+  private void removeExpired(Node node, long now) {
+    for (Iterator<Entry> i = node.entries.iterator(); i.hasNext(); ) {
+      if (i.next().expiresAt <= now) {
+        i.remove();
+        size--;
+      }
+    }
+
+    for (Iterator<Node> i = node.children.values().iterator(); i.hasNext(); ) {
+      Node child = i.next();
+      removeExpired(child, now);
+      if (child.entries.isEmpty() && child.children.isEmpty()) {
+        i.remove();
+      }
+    }
+  }
+
+  private static String requestPath(URL url) {
+    String path = url.getPath();
+    return path == null || path.isEmpty() ? "/" : path;
+  }
+
+  /**
+   * Replaces any cookie with the same name, domain and path and then inserts the cookie into the node keeping longer paths first. Must be
+   * called while holding the write lock.
+   */
+  private void store(Entry entry, long now) {
+    String[] labels = labels(entry.domain);
+    Node node = root;
+    for (int i = labels.length - 1; i >= 0; i--) {
+      node = node.children.computeIfAbsent(labels[i], key -> new Node());
+    }
+
+    int insertAt = -1;
+    for (Iterator<Entry> i = node.entries.iterator(); i.hasNext(); ) {
+      Entry existing = i.next();
+      if (existing.hostOnly == entry.hostOnly && existing.path.equals(entry.path) && existing.cookie.name.equals(entry.cookie.name)) {
+        i.remove();
+        size--;
+      } else if (existing.expiresAt <= now) {
+        // Evict expired cookies as we go
+        i.remove();
+        size--;
+      }
+    }
+
+    if (entry.expiresAt <= now) {
+      return;
+    }
+
+    for (int i = 0; i < node.entries.size(); i++) {
+      if (node.entries.get(i).path.length() < entry.path.length()) {
+        insertAt = i;
+        break;
+      }
+    }
+
+    if (insertAt == -1) {
+      node.entries.add(entry);
+    } else {
+      node.entries.add(insertAt, entry);
+    }
+
+    size++;
+  }
+
+  private void write(BufferedWriter writer, Node node, long now) throws IOException {
+    for (Entry entry : node.entries) {
+      if (entry.expiresAt > now) {
+        writer.write(entry.toLine());
+        writer.newLine();
+      }
+    }
+
+    for (Node child : node.children.values()) {
+      write(writer, child, now);
+    }
+  }
+
+  private static class Entry {
+    private final Cookie cookie;
+
+    private final String domain;
+
+    private final long expiresAt;
+
+    private final boolean hostOnly;
+
+    private final String path;
+
+    private Entry(Cookie cookie, String domain, boolean hostOnly, String path, long expiresAt) {
+      this.cookie = cookie;
+      this.domain = domain;
+      this.hostOnly = hostOnly;
+      this.path = path;
+      this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Parses a line written by {@link #toLine()}. The fields are separated by tabs, which can't appear in a cookie name or value.
+     */
+    private static Entry parse(String line) {
+      String[] parts = line.split("\t", -1);
+      if (parts.length != 9) {
+        return null;
+      }
+
+      try {
+        Cookie cookie = new Cookie(parts[7], parts[8]);
+        boolean hostOnly = parts[1].equals("1");
+        long expiresAt = Long.parseLong(parts[3]);
+        cookie.domain = hostOnly ? null : parts[0];
+        cookie.path = parts[2];
+        cookie.secure = parts[4].equals("1");
+        cookie.httpOnly = parts[5].equals("1");
+        cookie.sameSite = parts[6].isEmpty() ? null : Cookie.SameSite.valueOf(parts[6]);
+        if (expiresAt != Long.MAX_VALUE) {
+          cookie.expires = ZonedDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneOffset.UTC);
+        }
+
+        return new Entry(cookie, parts[0], hostOnly, parts[2], expiresAt);
+      } catch (Exception e) {
+        return null;
+      }
+    }
+
+    private String toLine() {
+      return domain + '\t' + (hostOnly ? "1" : "0") + '\t' + path + '\t' + expiresAt + '\t' + (cookie.secure ? "1" : "0") + '\t' +
+          (cookie.httpOnly ? "1" : "0") + '\t' + (cookie.sameSite != null ? cookie.sameSite.name() : "") + '\t' + cookie.name + '\t' +
+          cookie.value;
+    }
+  }
+
+  private static class Node {
+    private final Map<String, Node> children = new HashMap<>(4);
+
+    private final List<Entry> entries = new ArrayList<>(0);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.http;
+
+import java.nio.file.Path;
+
+/**
+ * Models a response body that was streamed to a file or channel.
+ *
+ * @author Brian Pontarelli
+ */
+public class FileDownload {
+  public final long bytes;
+
+  /**
+   * The hex encoded checksum of the body or null if no checksum algorithm was requested.
+   */
+  public final String checksum;
+
+  /**
+   * The file the body was written to or null if it was written to a channel.
+   */
+  public final Path file;
+
+  public FileDownload(Path file, long bytes, String checksum) {
+    this.file = file;
+    this.bytes = bytes;
+    this.checksum = checksum;
+  }
+}
@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.http;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A compact, case-insensitive multimap of HTTP headers. Each value is stored as a single entry in a set of flat parallel arrays (name,
+ * value and a case-insensitive hash of the name), so a header with multiple values simply appears multiple times. Lookups compare the hash
+ * first and then the name ignoring case, which means no Strings are allocated when looking up a header.
+ * <p>
+ * Names that match one of the well-known names in {@link HTTPStrings.Headers} are stored using that constant, so the same String instance
+ * is shared by every request and response.
+ * <p>
+ * Header names are HTTP tokens and therefore ASCII, which is all the case folding here handles. This class is not thread-safe.
+ *
+ * @author Brian Pontarelli
+ */
+public class HTTPHeaders {
+  private static final String[] WellKnownNames = {
+      HTTPStrings.Headers.Accept,
+      HTTPStrings.Headers.AcceptEncoding,
+      HTTPStrings.Headers.Authorization,
+      HTTPStrings.Headers.CacheControl,
+      HTTPStrings.Headers.Connection,
+      HTTPStrings.Headers.ContentEncoding,
+      HTTPStrings.Headers.ContentLength,
+      HTTPStrings.Headers.ContentType,
+      HTTPStrings.Headers.Cookie,
+      HTTPStrings.Headers.Date,
+      HTTPStrings.Headers.ETag,
+      HTTPStrings.Headers.Expires,
+      HTTPStrings.Headers.Host,
+      HTTPStrings.Headers.KeepAlive,
+      HTTPStrings.Headers.LastModified,
+      HTTPStrings.Headers.Location,
+      HTTPStrings.Headers.MethodOverride,
+      HTTPStrings.Headers.ProxyAuthorization,
+      HTTPStrings.Headers.Server,
+      HTTPStrings.Headers.SetCookie,
+      HTTPStrings.Headers.TransferEncoding,
+      HTTPStrings.Headers.UserAgent,
+      HTTPStrings.Headers.Vary
+  };
+
+  private static final int[] WellKnownHashes = new int[WellKnownNames.length];
+
+  private int[] hashes;
+
+  private String[] names;
+
+  private int size;
+
+  private String[] values;
+
+  static {
+    for (int i = 0; i < WellKnownNames.length; i++) {
+      WellKnownHashes[i] = hash(WellKnownNames[i]);
+    }
+  }
+
+  public HTTPHeaders() {
+    this(8);
+  }
+
+  public HTTPHeaders(int initialCapacity) {
+    int capacity = Math.max(initialCapacity, 1);
+    hashes = new int[capacity];
+    names = new String[capacity];
+    values = new String[capacity];
+  }
+
+  /**
+   * Computes a hash of the given header name that ignores the case of ASCII letters.
+   *
+   * @param name The header name.
+   * @return The hash.
+   */
+  static int hash(String name) {
+    int h = 0;
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        c += 32;
+      }
+
+      h = 31 * h + c;
+    }
+
+    return h;
+  }
+
+  /**
+   * Adds a value for the given header. If the header already has values, this value is added after them.
+   *
+   * @param name  The name of the header.
+   * @param value The value of the header.
+   * @return This.
+   */
+  public HTTPHeaders add(String name, String value) {
+    if (name == null || value == null) {
+      return this;
+    }
+
+    int hash = hash(name);
+    append(hash, canonicalName(name, hash), value);
+    return this;
+  }
+
+  /**
+   * Adds all the values for the given header.
+   *
+   * @param name   The name of the header.
+   * @param values The values, null values are skipped.
+   * @return This.
+   */
+  public HTTPHeaders addAll(String name, Collection<String> values) {
+    if (name == null || values == null) {
+      return this;
+    }
+
+    int hash = hash(name);
+    String canonical = canonicalName(name, hash);
+    for (String value : values) {
+      if (value != null) {
+        append(hash, canonical, value);
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * Adds all the headers from the given Map. Null names and null values are skipped.
+   *
+   * @param headers The headers.
+   * @return This.
+   */
+  public HTTPHeaders addAll(Map<String, List<String>> headers) {
+    if (headers != null) {
+      headers.forEach(this::addAll);
+    }
+
+    return this;
+  }
+
+  /**
+   * Returns a live Map view of the headers, for code that works with headers as a Map. Lookups ignore the case of the name, the keys are
+   * the names as they were first added and each value is a new List of all the values of that header. Changes to the Map (put, remove and
+   * clear) change the headers.
+   *
+   * @return The view.
+   */
+  public Map<String, List<String>> asMap() {
+    return new MapView();
+  }
+
+  public void clear() {
+    Arrays.fill(names, 0, size, null);
+    Arrays.fill(values, 0, size, null);
+    size = 0;
+  }
+
+  public boolean contains(String name) {
+    return name != null && indexOf(name, hash(name), 0) != -1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof HTTPHeaders)) {
+      return false;
+    }
+    HTTPHeaders that = (HTTPHeaders) o;
+    return toMap().equals(that.toMap());
+  }
+
+  /**
+   * Calls the given consumer for each name and value pair in the order they were added. A header with multiple values is passed to the
+   * consumer once per value.
+   *
+   * @param consumer The consumer.
+   */
+  public void forEach(BiConsumer<String, String> consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(names[i], values[i]);
+    }
+  }
+
+  /**
+   * Returns the first value of the given header.
+   *
+   * @param name The name of the header.
+   * @return The first value or null if the header doesn't exist.
+   */
+  public String get(String name) {
+    if (name == null) {
+      return null;
+    }
+
+    int index = indexOf(name, hash(name), 0);
+    return index == -1 ? null : values[index];
+  }
+
+  /**
+   * Returns all the values of the given header in the order they were added.
+   *
+   * @param name The name of the header.
+   * @return The values or null if the header doesn't exist.
+   */
+  public List<String> getAll(String name) {
+    if (name == null) {
+      return null;
+    }
+
+    int hash = hash(name);
+    int index = indexOf(name, hash, 0);
+    if (index == -1) {
+      return null;
+    }
+
+    List<String> result = new ArrayList<>(1);
+    while (index != -1) {
+      result.add(values[index]);
+      index = indexOf(name, hash, index + 1);
+    }
+
+    return result;
+  }
+
+  @Override
+  public int hashCode() {
+    return toMap().hashCode();
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return The distinct header names in the order they were first added.
+   */
+  public List<String> names() {
+    List<String> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      if (indexOf(names[i], hashes[i], 0) == i) {
+        result.add(names[i]);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Removes all the values of the given header.
+   *
+   * @param name The name of the header.
+   * @return This.
+   */
+  public HTTPHeaders remove(String name) {
+    if (name == null) {
+      return this;
+    }
+
+    int hash = hash(name);
+    int to = 0;
+    for (int from = 0; from < size; from++) {
+      if (matches(from, name, hash)) {
+        continue;
+      }
+
+      if (to != from) {
+        hashes[to] = hashes[from];
+        names[to] = names[from];
+        values[to] = values[from];
+      }
+      to++;
+    }
+
+    Arrays.fill(names, to, size, null);
+    Arrays.fill(values, to, size, null);
+    size = to;
+    return this;
+  }
+
+  /**
+   * Replaces all the values of the given header with the single value given. If the value is null, the header is removed.
+   *
+   * @param name  The name of the header.
+   * @param value The value of the header.
+   * @return This.
+   */
+  public HTTPHeaders set(String name, String value) {
+    if (name == null) {
+      return this;
+    }
+
+    remove(name);
+    return add(name, value);
+  }
+
+  /**
+   * Replaces all the values of the given header with the values given. If the values are null, the header is removed.
+   *
+   * @param name   The name of the header.
+   * @param values The values, null values are skipped.
+   * @return This.
+   */
+  public HTTPHeaders setAll(String name, Collection<String> values) {
+    if (name == null) {
+      return this;
+    }
+
+    remove(name);
+    return addAll(name, values);
+  }
+
+  /**
+   * @return The number of name and value pairs. A header with multiple values counts once for each value.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Copies the headers into a new Map. The keys are the names as they were first added (or the well-known name) and the values are in
+   * the order they were added.
+   *
+   * @return The Map.
+   */
+  public Map<String, List<String>> toMap() {
+    Map<String, List<String>> map = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      int first = indexOf(names[i], hashes[i], 0);
+      map.computeIfAbsent(names[first], key -> new ArrayList<>(1)).add(values[i]);
+    }
+
+    return map;
+  }
+
+  @Override
+  public String toString() {
+    return toMap().toString();
+  }
+
+  private void append(int hash, String name, String value) {
+    if (size == names.length) {
+      int capacity = size << 1;
+      hashes = Arrays.copyOf(hashes, capacity);
+      names = Arrays.copyOf(names, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    hashes[size] = hash;
+    names[size] = name;
+    values[size] = value;
+    size++;
+  }
+
+  private String canonicalName(String name, int hash) {
+    for (int i = 0; i < WellKnownNames.length; i++) {
+      if (WellKnownHashes[i] == hash && (WellKnownNames[i] == name || WellKnownNames[i].equalsIgnoreCase(name))) {
+        return WellKnownNames[i];
+      }
+    }
+
+    // Reuse the instance already stored for this header, if there is one
+    int index = indexOf(name, hash, 0);
+    return index == -1 ? name : names[index];
+  }
+
+  private int indexOf(String name, int hash, int start) {
+    for (int i = start; i < size; i++) {
+      if (matches(i, name, hash)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  private boolean matches(int index, String name, int hash) {
+    if (hashes[index] != hash) {
+      return false;
+    }
+
+    String candidate = names[index];
+    return candidate == name || candidate.equalsIgnoreCase(name);
+  }
+
+  /**
+   * The Map view of the headers.
+   */
+  private final class MapView extends AbstractMap<String, List<String>> {
+    @Override
+    public void clear() {
+      HTTPHeaders.this.clear();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return key instanceof String && contains((String) key);
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+      return new AbstractSet<Entry<String, List<String>>>() {
+        @Override
+        public Iterator<Entry<String, List<String>>> iterator() {
+          Iterator<String> names = names().iterator();
+          return new Iterator<Entry<String, List<String>>>() {
+            private String last;
+
+            @Override
+            public boolean hasNext() {
+              return names.hasNext();
+            }
+
+            @Override
+            public Entry<String, List<String>> next() {
+              last = names.next();
+              return new SimpleImmutableEntry<>(last, getAll(last));
+            }
+
+            @Override
+            public void remove() {
+              if (last == null) {
+                throw new IllegalStateException();
+              }
+
+              HTTPHeaders.this.remove(last);
+              last = null;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return names().size();
+        }
+      };
+    }
+
+    @Override
+    public List<String> get(Object key) {
+      return key instanceof String ? getAll((String) key) : null;
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+      List<String> previous = getAll(key);
+      setAll(key, value);
+      return previous;
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+      if (!(key instanceof String)) {
+        return null;
+      }
+
+      List<String> previous = getAll((String) key);
+      HTTPHeaders.this.remove((String) key);
+      return previous;
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2021-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,8 +25,12 @@ public final class HTTPStrings {
   }
 
   public static final class ContentTypes {
+    public static final String ApplicationCbor = "application/cbor";
+
     public static final String ApplicationJson = "application/json";
 
+    public static final String ApplicationSmile = "application/x-jackson-smile";
+
     public static final String ApplicationXml = "application/xml";
 
     public static final String Form = "application/x-www-form-urlencoded";
@@ -73,6 +77,18 @@ public final class HTTPStrings {
   }
 
   public static final class Headers {
+    public static final String Accept = "Accept";
+
+    public static final String AcceptEncoding = "Accept-Encoding";
+
+    public static final String Authorization = "Authorization";
+
+    public static final String CacheControl = "Cache-Control";
+
+    public static final String Connection = "Connection";
+
+    public static final String ContentEncoding = "Content-Encoding";
+
     public static final String ContentLength = "Content-Length";
 
     public static final String ContentType = "Content-Type";
@@ -81,14 +97,32 @@ public final class HTTPStrings {
 
     public static final String Date = "Date";
 
+    public static final String ETag = "ETag";
+
+    public static final String Expires = "Expires";
+
+    public static final String Host = "Host";
+
+    public static final String KeepAlive = "Keep-Alive";
+
     public static final String LastModified = "Last-Modified";
 
     public static final String Location = "Location";
 
+    public static final String MethodOverride = "X-HTTP-Method-Override";
+
+    public static final String ProxyAuthorization = "Proxy-Authorization";
+
+    public static final String Server = "Server";
+
     public static final String SetCookie = "Set-Cookie";
 
+    public static final String TransferEncoding = "Transfer-Encoding";
+
     public static final String UserAgent = "User-Agent";
 
+    public static final String Vary = "Vary";
+
     private Headers() {
     }
   }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.net;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.Proxy;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+
+/**
+ * Support for URLs that address an HTTP server listening on a Unix domain socket, such as a sidecar or a local agent. These URLs have the
+ * form <code>unix:///var/run/agent.sock:/v1/path?query</code>, where everything up to the first <code>:/</code> of the path is the path of
+ * the socket and the rest is the request target.
+ * <p>
+ * The JDK doesn't know about the unix protocol, so these URLs must be created using {@link #newURL(String)}. They can't be opened using
+ * {@link URL#openConnection()}; they are only supported by transports that understand them.
+ *
+ * @author Brian Pontarelli
+ */
+public final class UnixSocketURLs {
+  public static final String PROTOCOL = "unix";
+
+  private static final URLStreamHandler HANDLER = new URLStreamHandler() {
+    @Override
+    protected URLConnection openConnection(URL url) throws IOException {
+      throw new IOException("Unix domain socket URLs can only be used with a transport that supports them, such as the NIOTransport [" +
+          url + "]");
+    }
+
+    @Override
+    protected URLConnection openConnection(URL url, Proxy proxy) throws IOException {
+      return openConnection(url);
+    }
+  };
+
+  private UnixSocketURLs() {
+  }
+
+  /**
+   * Determines if the given URL is a Unix domain socket URL.
+   *
+   * @param url The URL.
+   * @return True if it is.
+   */
+  public static boolean isUnixSocket(URL url) {
+    return PROTOCOL.equalsIgnoreCase(url.getProtocol());
+  }
+
+  /**
+   * Creates a URL from the given String. Unix domain socket URLs are created with a handler for the unix protocol and all other URLs are
+   * created normally.
+   *
+   * @param spec The URL String.
+   * @return The URL.
+   * @throws MalformedURLException If the URL is malformed.
+   */
+  public static URL newURL(String spec) throws MalformedURLException {
+    if (spec.regionMatches(true, 0, PROTOCOL + ":", 0, PROTOCOL.length() + 1)) {
+      URL url = new URL(null, spec, HANDLER);
+      if (url.getPath().isEmpty() || socketPath(url).isEmpty()) {
+        throw new MalformedURLException("Unix domain socket URLs must contain the path of the socket [" + spec + "]");
+      }
+
+      return url;
+    }
+
+    return new URL(spec);
+  }
+
+  /**
+   * Returns the request target of a Unix domain socket URL, which is the part of the path after the socket path plus the query string.
+   *
+   * @param url The URL.
+   * @return The request target, which is <code>/</code> if the URL only contains the socket path.
+   */
+  public static String requestTarget(URL url) {
+    String path = url.getPath();
+    int index = path.indexOf(":/");
+    String target = index == -1 ? "/" : path.substring(index + 1);
+    return url.getQuery() == null ? target : target + "?" + url.getQuery();
+  }
+
+  /**
+   * Returns the path of the socket of a Unix domain socket URL.
+   *
+   * @param url The URL.
+   * @return The socket path.
+   */
+  public static String socketPath(URL url) {
+    String path = url.getPath();
+    int index = path.indexOf(":/");
+    return index == -1 ? path : path.substring(0, index);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.net.ssl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Signs data with an RSA private key. The key is parsed once, when the signer is created, and each thread keeps its own initialized
+ * Signature, so signing doesn't parse anything or look up any providers and signers can be shared by any number of threads.
+ * <p>
+ * The supported algorithms are the ones of the installed providers, such as {@link #SHA256_WITH_RSA}, {@link #SHA512_WITH_RSA} and
+ * {@link #RSASSA_PSS}. RSASSA-PSS uses SHA-256 with MGF1 and a 32 byte salt unless other parameters are given. {@link #NONE_WITH_RSA},
+ * which {@link SSLTools#signWithRSA(String, String)} uses, signs the raw data without hashing it and is only kept for compatibility.
+ *
+ * @author Brian Pontarelli
+ */
+public class RSASigner {
+  public static final String NONE_WITH_RSA = "NONEwithRSA";
+
+  public static final String RSASSA_PSS = "RSASSA-PSS";
+
+  public static final String SHA256_WITH_RSA = "SHA256withRSA";
+
+  public static final String SHA512_WITH_RSA = "SHA512withRSA";
+
+  private static final PSSParameterSpec PSS_SHA256 = new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1);
+
+  public final String algorithm;
+
+  private final AlgorithmParameterSpec parameters;
+
+  private final RSAPrivateKey privateKey;
+
+  private final ThreadLocal<Signature> signatures;
+
+  /**
+   * Creates a signer for a PEM encoded private key in either PKCS#1 or PKCS#8 format.
+   *
+   * @param keyString The private key.
+   * @param algorithm The signature algorithm.
+   * @throws GeneralSecurityException If the key can't be parsed or the algorithm isn't supported.
+   * @throws IOException              If the key can't be parsed.
+   */
+  public RSASigner(String keyString, String algorithm) throws GeneralSecurityException, IOException {
+    this(SSLTools.parseRSAPrivateKey(keyString), algorithm, algorithm.equals(RSASSA_PSS) ? PSS_SHA256 : null);
+  }
+
+  /**
+   * Creates a signer.
+   *
+   * @param privateKey The private key.
+   * @param algorithm  The signature algorithm.
+   * @param parameters The parameters of the algorithm or null if it doesn't have any.
+   * @throws GeneralSecurityException If the algorithm isn't supported or the key or parameters are invalid for it.
+   */
+  public RSASigner(RSAPrivateKey privateKey, String algorithm, AlgorithmParameterSpec parameters) throws GeneralSecurityException {
+    this.privateKey = privateKey;
+    this.algorithm = algorithm;
+    this.parameters = parameters;
+
+    // Fail now rather than on the first signature
+    Signature first = newSignature();
+    this.signatures = ThreadLocal.withInitial(() -> {
+      try {
+        return newSignature();
+      } catch (GeneralSecurityException e) {
+        // This worked in the constructor
+        throw new IllegalStateException(e);
+      }
+    });
+    this.signatures.set(first);
+  }
+
+  /**
+   * Signs the data.
+   *
+   * @param data The data.
+   * @return The signature.
+   * @throws SignatureException If the signing failed.
+   */
+  public byte[] sign(byte[] data) throws SignatureException {
+    return sign(data, 0, data.length);
+  }
+
+  /**
+   * Signs part of an array.
+   *
+   * @param data   The array.
+   * @param offset The start of the data.
+   * @param length The length of the data.
+   * @return The signature.
+   * @throws SignatureException If the signing failed.
+   */
+  public byte[] sign(byte[] data, int offset, int length) throws SignatureException {
+    // Signing resets the Signature to the state after initSign, so it can be used again
+    Signature signature = signatures.get();
+    try {
+      signature.update(data, offset, length);
+      return signature.sign();
+    } catch (SignatureException | RuntimeException e) {
+      // The Signature might still hold some of the data, so the next signature uses a new one
+      signatures.remove();
+      throw e;
+    }
+  }
+
+  /**
+   * Signs the UTF-8 bytes of each of the strings, using the same Signature for all of them.
+   *
+   * @param strings The strings.
+   * @return The Base64 encoded signatures, in the same order.
+   * @throws SignatureException If any of the signing failed.
+   */
+  public List<String> signAll(List<String> strings) throws SignatureException {
+    Signature signature = signatures.get();
+    Base64.Encoder encoder = Base64.getEncoder();
+    List<String> result = new ArrayList<>(strings.size());
+    try {
+      for (String string : strings) {
+        signature.update(string.getBytes(StandardCharsets.UTF_8));
+        result.add(encoder.encodeToString(signature.sign()));
+      }
+    } catch (SignatureException | RuntimeException e) {
+      signatures.remove();
+      throw e;
+    }
+
+    return result;
+  }
+
+  /**
+   * Signs the UTF-8 bytes of the string.
+   *
+   * @param string The string.
+   * @return The Base64 encoded signature.
+   * @throws SignatureException If the signing failed.
+   */
+  public String signToBase64(String string) throws SignatureException {
+    return Base64.getEncoder().encodeToString(sign(string.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private Signature newSignature() throws NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException {
+    Signature signature = Signature.getInstance(algorithm);
+    if (parameters != null) {
+      signature.setParameter(parameters);
+    }
+
+    signature.initSign(privateKey);
+    return signature;
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2014-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,7 +24,6 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.math.BigInteger;
 import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.KeyManagementException;
@@ -41,12 +40,8 @@ import java.security.cert.X509Certificate;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.RSAPrivateCrtKeySpec;
 import java.util.Base64;
 
-import sun.security.util.DerInputStream;
-import sun.security.util.DerValue;
-
 /**
  * Useful for setting up SSL on the client side to trust a supplied certificate string.
  * <p>
@@ -75,6 +70,14 @@ public class SSLTools {
    */
   public static final String PKCS_1_KEY_START = "BEGIN RSA PRIVATE KEY-----";
 
+  /**
+   * The version and the rsaEncryption algorithm identifier that come before the key in a PKCS#8 RSA private key.
+   */
+  private static final byte[] PKCS_8_RSA_PREFIX = {
+      0x02, 0x01, 0x00,
+      0x30, 0x0D, 0x06, 0x09, 0x2A, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xF7, 0x0D, 0x01, 0x01, 0x01, 0x05, 0x00
+  };
+
   /**
    * Disabling SSL validation is strongly discouraged. This is generally only intended for use during testing or perhaps
    * when used in a private network with a self signed certificate.
@@ -168,6 +171,8 @@ public class SSLTools {
   /**
    * Sign the provided string with the private key and the provided signature. The provided private key string is expected to be in one of
    * the two formats: PKCS#1 or PKCS#8.
+   * <p>
+   * This parses the key every time it is called. To sign many strings with the same key, use an {@link RSASigner}.
    *
    * @param string    The string to sign.
    * @param keyString The private to use when signing the string.
@@ -175,18 +180,8 @@ public class SSLTools {
    */
   public static String signWithRSA(String string, String keyString) throws GeneralSecurityException, IOException {
     try {
-      RSAPrivateKey privateKey;
-      // If PKCS#1
-      if (keyString.contains(PKCS_1_KEY_START)) {
-        byte[] bytes = parseDERFromPEM(keyString, PKCS_1_KEY_START, PKCS_1_KEY_END);
-        privateKey = generatePrivateKeyFromPKCS10DER(bytes);
-      } else {
-        // else, assume PKCS#8
-        byte[] bytes = parseDERFromPEM(keyString, P8_KEY_START, P8_KEY_END);
-        privateKey = generatePrivateKeyFromPKCS8DER(bytes);
-      }
-
-      Signature rsa = Signature.getInstance("NONEwithRSA");
+      RSAPrivateKey privateKey = parseRSAPrivateKey(keyString);
+      Signature rsa = Signature.getInstance(RSASigner.NONE_WITH_RSA);
       rsa.initSign(privateKey);
       rsa.update(string.getBytes());
       byte[] signed = rsa.sign();
@@ -214,31 +209,60 @@ public class SSLTools {
     return true;
   }
 
+  /**
+   * Parses a PEM encoded RSA private key in either PKCS#1 or PKCS#8 format.
+   *
+   * @param keyString The private key.
+   * @return The key.
+   */
+  static RSAPrivateKey parseRSAPrivateKey(String keyString) throws GeneralSecurityException, IOException {
+    // If PKCS#1
+    if (keyString.contains(PKCS_1_KEY_START)) {
+      byte[] bytes = parseDERFromPEM(keyString, PKCS_1_KEY_START, PKCS_1_KEY_END);
+      return generatePrivateKeyFromPKCS10DER(bytes);
+    }
+
+    // else, assume PKCS#8
+    byte[] bytes = parseDERFromPEM(keyString, P8_KEY_START, P8_KEY_END);
+    return generatePrivateKeyFromPKCS8DER(bytes);
+  }
+
   private static X509Certificate generateCertificateFromDER(byte[] certBytes) throws CertificateException {
     CertificateFactory factory = CertificateFactory.getInstance("X.509");
     return (X509Certificate) factory.generateCertificate(new ByteArrayInputStream(certBytes));
   }
 
-  private static RSAPrivateKey generatePrivateKeyFromPKCS10DER(byte[] keyBytes) throws GeneralSecurityException, IOException {
-    DerInputStream derReader = new DerInputStream(keyBytes);
-    DerValue[] seq = derReader.getSequence(0);
+  private static RSAPrivateKey generatePrivateKeyFromPKCS10DER(byte[] keyBytes) throws GeneralSecurityException {
+    // A PKCS#8 key is a PKCS#1 key wrapped in a structure that identifies the algorithm, so wrap the key and use the standard KeyFactory
+    // rather than parsing the DER by hand
+    byte[] octetString = derElement(0x04, keyBytes);
+    byte[] content = new byte[PKCS_8_RSA_PREFIX.length + octetString.length];
+    System.arraycopy(PKCS_8_RSA_PREFIX, 0, content, 0, PKCS_8_RSA_PREFIX.length);
+    System.arraycopy(octetString, 0, content, PKCS_8_RSA_PREFIX.length, octetString.length);
 
-    if (seq.length < 9) {
-      throw new GeneralSecurityException("Could not parse a PKCS1 private key.");
+    try {
+      return generatePrivateKeyFromPKCS8DER(derElement(0x30, content));
+    } catch (InvalidKeySpecException e) {
+      throw new GeneralSecurityException("Could not parse a PKCS1 private key.", e);
+    }
+  }
+
+  private static byte[] derElement(int tag, byte[] content) {
+    int length = content.length;
+    int lengthBytes = length < 0x80 ? 0 : (32 - Integer.numberOfLeadingZeros(length) + 7) / 8;
+    byte[] element = new byte[2 + lengthBytes + length];
+    element[0] = (byte) tag;
+    if (lengthBytes == 0) {
+      element[1] = (byte) length;
+    } else {
+      element[1] = (byte) (0x80 | lengthBytes);
+      for (int i = 0; i < lengthBytes; i++) {
+        element[2 + i] = (byte) (length >>> (8 * (lengthBytes - 1 - i)));
+      }
     }
 
-    // skip version seq[0];
-    BigInteger modulus = seq[1].getBigInteger();
-    BigInteger publicExponent = seq[2].getBigInteger();
-    BigInteger privateExponent = seq[3].getBigInteger();
-    BigInteger primeP = seq[4].getBigInteger();
-    BigInteger primeQ = seq[5].getBigInteger();
-    BigInteger primeExponentP = seq[6].getBigInteger();
-    BigInteger primeExponentQ = seq[7].getBigInteger();
-    BigInteger crtCoefficient = seq[8].getBigInteger();
-    RSAPrivateCrtKeySpec keySpec = new RSAPrivateCrtKeySpec(modulus, publicExponent, privateExponent, primeP, primeQ, primeExponentP, primeExponentQ, crtCoefficient);
-
-    return (RSAPrivateKey) KeyFactory.getInstance("RSA").generatePrivate(keySpec);
+    System.arraycopy(content, 0, element, 2 + lengthBytes, length);
+    return element;
   }
 
   private static RSAPrivateKey generatePrivateKeyFromPKCS8DER(byte[] keyBytes) throws InvalidKeySpecException, NoSuchAlgorithmException {
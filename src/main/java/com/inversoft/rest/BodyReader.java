@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads entire response bodies. When the length of the body is known, the body is read directly into an array of exactly that size. When
+ * it isn't, the body is read into a list of chunks that grow in size and the chunks are copied (or decoded) once at the end, rather than
+ * through a ByteArrayOutputStream that reallocates as it grows and then copies everything again.
+ * <p>
+ * Chunks that are only needed temporarily come from the {@link BufferPool#DEFAULT} pool and are released once the result is built.
+ *
+ * @author Brian Pontarelli
+ */
+final class BodyReader {
+  /**
+   * The largest Content-Length that is trusted to allocate the whole body up front. Larger bodies are read in chunks so that a bad
+   * Content-Length can't force a huge allocation.
+   */
+  static final int MAX_PRESIZED_LENGTH = 64 * 1024 * 1024;
+
+  private static final int FIRST_CHUNK_SIZE = 8 * 1024;
+
+  private static final int MAX_CHUNK_SIZE = 1024 * 1024;
+
+  private BodyReader() {
+  }
+
+  /**
+   * Reads the entire stream.
+   *
+   * @param is            The stream.
+   * @param contentLength The length of the body or -1 if it isn't known.
+   * @return The bytes.
+   * @throws IOException If the read failed.
+   */
+  static byte[] readBytes(InputStream is, long contentLength) throws IOException {
+    // When the length is known, the first chunk is the exact size and is returned as is, so it isn't pooled
+    boolean presized = isPresized(contentLength);
+    Chunks chunks = read(is, contentLength, !presized);
+    if (presized && chunks.list.size() == 1 && chunks.lastLength == chunks.list.get(0).length) {
+      return chunks.list.get(0);
+    }
+
+    try {
+      byte[] result = new byte[(int) chunks.total];
+      int offset = 0;
+      for (int i = 0; i < chunks.list.size(); i++) {
+        int length = chunks.length(i);
+        System.arraycopy(chunks.list.get(i), 0, result, offset, length);
+        offset += length;
+      }
+
+      return result;
+    } finally {
+      chunks.release();
+    }
+  }
+
+  /**
+   * Reads the entire stream and decodes it using the given character set. Malformed input is replaced, the same as
+   * <code>new String(bytes, charset)</code>.
+   *
+   * @param is            The stream.
+   * @param contentLength The length of the body or -1 if it isn't known.
+   * @param charset       The character set.
+   * @return The String.
+   * @throws IOException If the read failed.
+   */
+  static String readString(InputStream is, long contentLength, Charset charset) throws IOException {
+    Chunks chunks = read(is, contentLength, true);
+    try {
+      return decode(chunks, charset);
+    } finally {
+      chunks.release();
+    }
+  }
+
+  private static String decode(Chunks chunks, Charset charset) {
+    if (chunks.list.size() == 1) {
+      return new String(chunks.list.get(0), 0, chunks.lastLength, charset);
+    }
+
+    // Decode each chunk in turn, carrying the bytes of any character that is split across two chunks over to the next one
+    CharsetDecoder decoder = charset.newDecoder()
+                                    .onMalformedInput(CodingErrorAction.REPLACE)
+                                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    CharBuffer out = CharBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8, (long) (chunks.total * (double) decoder.maxCharsPerByte()) + 1));
+    ByteBuffer carry = ByteBuffer.allocate(16);
+    for (int i = 0; i < chunks.list.size(); i++) {
+      ByteBuffer in = ByteBuffer.wrap(chunks.list.get(i), 0, chunks.length(i));
+      while (carry.position() > 0 && in.hasRemaining()) {
+        carry.put(in.get());
+        carry.flip();
+        out = decode(decoder, carry, out, false);
+        carry.compact();
+      }
+
+      out = decode(decoder, in, out, false);
+      carry.put(in);
+    }
+
+    carry.flip();
+    out = decode(decoder, carry, out, true);
+    while (decoder.flush(out).isOverflow()) {
+      out = grow(out);
+    }
+
+    return new String(out.array(), 0, out.position());
+  }
+
+  private static CharBuffer decode(CharsetDecoder decoder, ByteBuffer in, CharBuffer out, boolean endOfInput) {
+    while (decoder.decode(in, out, endOfInput).isOverflow()) {
+      out = grow(out);
+    }
+
+    return out;
+  }
+
+  private static CharBuffer grow(CharBuffer out) {
+    CharBuffer bigger = CharBuffer.allocate(out.capacity() * 2 + 16);
+    out.flip();
+    bigger.put(out);
+    return bigger;
+  }
+
+  private static boolean isPresized(long contentLength) {
+    return contentLength >= 0 && contentLength <= MAX_PRESIZED_LENGTH;
+  }
+
+  private static Chunks read(InputStream is, long contentLength, boolean pooled) throws IOException {
+    Chunks chunks = new Chunks(pooled);
+    try {
+      return read(is, contentLength, chunks);
+    } catch (IOException | RuntimeException e) {
+      chunks.release();
+      throw e;
+    }
+  }
+
+  private static Chunks read(InputStream is, long contentLength, Chunks chunks) throws IOException {
+    boolean presized = isPresized(contentLength);
+    byte[] chunk = chunks.allocate(presized ? (int) contentLength : FIRST_CHUNK_SIZE);
+    // Pooled chunks may be larger than requested, so only read the known length into the first one
+    int limit = presized ? (int) contentLength : chunk.length;
+    int length = 0;
+    while (true) {
+      if (length == limit) {
+        // A known length has been fully read, so make sure the stream is really at the end before allocating anything else
+        if (presized) {
+          presized = false;
+          int next = is.read();
+          if (next == -1) {
+            break;
+          }
+
+          chunks.add(chunk, length);
+          chunk = chunks.allocate(FIRST_CHUNK_SIZE);
+          chunk[0] = (byte) next;
+          length = 1;
+          limit = chunk.length;
+          continue;
+        }
+
+        chunks.add(chunk, length);
+        chunk = chunks.allocate(Math.min(Math.max(chunk.length, FIRST_CHUNK_SIZE) * 2, MAX_CHUNK_SIZE));
+        length = 0;
+        limit = chunk.length;
+      }
+
+      int read = is.read(chunk, length, limit - length);
+      if (read == -1) {
+        break;
+      }
+
+      length += read;
+    }
+
+    chunks.add(chunk, length);
+    return chunks;
+  }
+
+  private static class Chunks {
+    private final List<byte[]> list = new ArrayList<>(1);
+
+    private final List<Integer> lengths = new ArrayList<>(1);
+
+    private final boolean pooled;
+
+    /**
+     * The chunk being filled, which isn't in the list until it is full but must still be released if the read fails.
+     */
+    private byte[] current;
+
+    private int lastLength;
+
+    private long total;
+
+    private Chunks(boolean pooled) {
+      this.pooled = pooled;
+    }
+
+    private void add(byte[] chunk, int length) {
+      list.add(chunk);
+      if (chunk == current) {
+        current = null;
+      }
+
+      lengths.add(length);
+      lastLength = length;
+      total += length;
+      if (total > Integer.MAX_VALUE - 8) {
+        throw new IllegalStateException("The response body is too large to be read into memory");
+      }
+    }
+
+    private byte[] allocate(int size) {
+      current = pooled ? BufferPool.DEFAULT.acquire(size) : new byte[size];
+      return current;
+    }
+
+    private int length(int index) {
+      return lengths.get(index);
+    }
+
+    private void release() {
+      if (pooled) {
+        list.forEach(BufferPool.DEFAULT::release);
+        list.clear();
+        if (current != null) {
+          BufferPool.DEFAULT.release(current);
+          current = null;
+        }
+      }
+    }
+  }
+}
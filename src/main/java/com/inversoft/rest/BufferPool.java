@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of byte arrays that the body and response handlers use for their temporary buffers so that steady-state traffic creates very
+ * little garbage.
+ * <p>
+ * Arrays are pooled in power of two size classes from 1 KB to 1 MB. Requests for larger arrays are allocated normally and never pooled.
+ * Each thread keeps a small cache of arrays per size class, which is checked first and requires no synchronization. When that is empty
+ * (or full, when releasing), the thread falls back to a global set of lock-free stripes, which are picked using the thread id to keep
+ * contention low.
+ * <p>
+ * To bound the memory the pool retains, the number of arrays of a size class is capped by a byte budget as well as by the counts given to
+ * the constructor. Each thread caches at most 64 KB per size class, so arrays larger than 64 KB are never cached per thread, and each
+ * stripe holds at most 256 KB per size class (but always at least one array). With the {@link #DEFAULT} pool, this is at most about
+ * 250 KB per thread and 3 MB per stripe. The arrays cached by a thread are garbage collected along with the thread.
+ * <p>
+ * The pool keeps statistics about its use. The number of arrays that have been acquired but not released ({@link Stats#outstanding})
+ * should stay flat for steady-state traffic; if it grows, arrays are leaking (this isn't harmful, the arrays are garbage collected, but
+ * they won't be reused).
+ * <p>
+ * Arrays returned from {@link #acquire(int)} may contain data from a previous use and must be released exactly once, after which they
+ * must not be used.
+ *
+ * @author Brian Pontarelli
+ */
+public final class BufferPool {
+  /**
+   * The pool used by all the built-in handlers.
+   */
+  public static final BufferPool DEFAULT = new BufferPool(4, Runtime.getRuntime().availableProcessors(), 16);
+
+  private static final int MAX_SHIFT = 20;
+
+  private static final int MIN_SHIFT = 10;
+
+  private static final int SIZE_CLASSES = MAX_SHIFT - MIN_SHIFT + 1;
+
+  private static final int STRIPE_BYTES = 256 * 1024;
+
+  private static final int THREAD_CACHE_BYTES = 64 * 1024;
+
+  private final LongAdder acquired = new LongAdder();
+
+  private final LongAdder allocated = new LongAdder();
+
+  private final Set<ThreadCacheReference> caches = ConcurrentHashMap.newKeySet();
+
+  private final ReferenceQueue<ThreadCache> deadCaches = new ReferenceQueue<>();
+
+  private final LongAdder discarded = new LongAdder();
+
+  private final LongAdder released = new LongAdder();
+
+  private final int[] slotOffsets = new int[SIZE_CLASSES + 1];
+
+  private final AtomicReferenceArray<byte[]> slots;
+
+  private final int stripeCount;
+
+  private final LongAdder striped = new LongAdder();
+
+  private final int[] threadCacheSizes = new int[SIZE_CLASSES];
+
+  private final ThreadLocal<ThreadCache> threadCaches = ThreadLocal.withInitial(this::newThreadCache);
+
+  /**
+   * Creates a pool.
+   *
+   * @param threadCacheSize The number of arrays of each size class that each thread caches, up to 64 KB per size class.
+   * @param stripeCount     The number of global stripes.
+   * @param stripeSize      The number of arrays of each size class that each stripe holds, up to 256 KB per size class.
+   */
+  public BufferPool(int threadCacheSize, int stripeCount, int stripeSize) {
+    this.stripeCount = Math.max(stripeCount, 1);
+
+    // The slots of all the size classes of a stripe are next to each other in one array, and the stripes follow each other
+    for (int i = 0; i < SIZE_CLASSES; i++) {
+      int size = 1 << (i + MIN_SHIFT);
+      threadCacheSizes[i] = Math.max(0, Math.min(threadCacheSize, THREAD_CACHE_BYTES / size));
+      slotOffsets[i + 1] = slotOffsets[i] + Math.max(0, Math.min(stripeSize, Math.max(1, STRIPE_BYTES / size)));
+    }
+
+    this.slots = new AtomicReferenceArray<>(this.stripeCount * slotOffsets[SIZE_CLASSES]);
+  }
+
+  /**
+   * Returns an array that is at least the given size. The array will be one of the pool's size classes, so it is usually larger.
+   *
+   * @param size The minimum size.
+   * @return The array.
+   */
+  public byte[] acquire(int size) {
+    acquired.increment();
+
+    int sizeClass = sizeClass(size);
+    if (sizeClass == -1) {
+      allocated.increment();
+      return new byte[size];
+    }
+
+    if (threadCacheSizes[sizeClass] > 0) {
+      ThreadCache threadCache = threadCaches.get();
+      byte[][] cache = threadCache.arrays[sizeClass];
+      for (int i = cache.length - 1; i >= 0; i--) {
+        byte[] buffer = cache[i];
+        if (buffer != null) {
+          cache[i] = null;
+          threadCache.count--;
+          return buffer;
+        }
+      }
+    }
+
+    int start = stripeStart(sizeClass);
+    int end = start + slotOffsets[sizeClass + 1] - slotOffsets[sizeClass];
+    for (int i = start; i < end; i++) {
+      if (slots.get(i) != null) {
+        byte[] buffer = slots.getAndSet(i, null);
+        if (buffer != null) {
+          striped.decrement();
+          return buffer;
+        }
+      }
+    }
+
+    allocated.increment();
+    return new byte[1 << (sizeClass + MIN_SHIFT)];
+  }
+
+  /**
+   * Returns an array to the pool. Arrays that aren't one of the pool's size classes and arrays that don't fit in the pool are dropped.
+   *
+   * @param buffer The array, which may be null.
+   */
+  public void release(byte[] buffer) {
+    if (buffer == null) {
+      return;
+    }
+
+    released.increment();
+
+    int length = buffer.length;
+    int sizeClass = sizeClass(length);
+    if (sizeClass == -1 || length != 1 << (sizeClass + MIN_SHIFT)) {
+      discarded.increment();
+      return;
+    }
+
+    if (threadCacheSizes[sizeClass] > 0) {
+      ThreadCache threadCache = threadCaches.get();
+      byte[][] cache = threadCache.arrays[sizeClass];
+      for (int i = 0; i < cache.length; i++) {
+        if (cache[i] == null) {
+          cache[i] = buffer;
+          threadCache.count++;
+          return;
+        }
+      }
+    }
+
+    int start = stripeStart(sizeClass);
+    int end = start + slotOffsets[sizeClass + 1] - slotOffsets[sizeClass];
+    for (int i = start; i < end; i++) {
+      if (slots.get(i) == null && slots.compareAndSet(i, null, buffer)) {
+        striped.increment();
+        return;
+      }
+    }
+
+    discarded.increment();
+  }
+
+  /**
+   * @return A snapshot of the statistics of this pool.
+   */
+  public Stats stats() {
+    long pooled = striped.sum();
+    for (Iterator<ThreadCacheReference> i = caches.iterator(); i.hasNext(); ) {
+      ThreadCacheReference reference = i.next();
+      ThreadCache cache = reference.get();
+      Thread thread = reference.thread.get();
+      if (cache == null || thread == null || !thread.isAlive()) {
+        // The arrays of a thread that has exited are garbage collected along with it
+        i.remove();
+        continue;
+      }
+
+      pooled += cache.count;
+    }
+
+    return new Stats(acquired.sum(), allocated.sum(), discarded.sum(), pooled, released.sum());
+  }
+
+  @Override
+  public String toString() {
+    return "BufferPool" + stats();
+  }
+
+  private static int sizeClass(int size) {
+    if (size <= 1 << MIN_SHIFT) {
+      return 0;
+    }
+
+    int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+    return shift > MAX_SHIFT ? -1 : shift - MIN_SHIFT;
+  }
+
+  private ThreadCache newThreadCache() {
+    Object dead;
+    while ((dead = deadCaches.poll()) != null) {
+      caches.remove(dead);
+    }
+
+    byte[][][] arrays = new byte[SIZE_CLASSES][][];
+    for (int i = 0; i < SIZE_CLASSES; i++) {
+      arrays[i] = new byte[threadCacheSizes[i]][];
+    }
+
+    ThreadCache cache = new ThreadCache(arrays);
+    caches.add(new ThreadCacheReference(cache, deadCaches));
+    return cache;
+  }
+
+  private int stripeStart(int sizeClass) {
+    int stripe = (int) (Thread.currentThread().getId() % stripeCount);
+    return stripe * slotOffsets[SIZE_CLASSES] + slotOffsets[sizeClass];
+  }
+
+  /**
+   * A snapshot of the statistics of a pool.
+   */
+  public static class Stats {
+    /**
+     * The number of arrays that have been acquired.
+     */
+    public final long acquired;
+
+    /**
+     * The number of arrays that were newly allocated because the pool didn't have one (or the size was too large to pool).
+     */
+    public final long allocated;
+
+    /**
+     * The number of released arrays that were dropped because the pool was full or the array wasn't one of the size classes.
+     */
+    public final long discarded;
+
+    /**
+     * The number of arrays that have been acquired but not released. This is in use (or leaked) arrays.
+     */
+    public final long outstanding;
+
+    /**
+     * The number of arrays currently held by the pool, in both the thread caches of the live threads and the global stripes.
+     */
+    public final long pooled;
+
+    /**
+     * The number of arrays that have been released.
+     */
+    public final long released;
+
+    public Stats(long acquired, long allocated, long discarded, long pooled, long released) {
+      this.acquired = acquired;
+      this.allocated = allocated;
+      this.discarded = discarded;
+      this.pooled = pooled;
+      this.released = released;
+      this.outstanding = acquired - released;
+    }
+
+    @Override
+    public String toString() {
+      return "{acquired=" + acquired + ", allocated=" + allocated + ", discarded=" + discarded + ", outstanding=" + outstanding +
+          ", pooled=" + pooled + ", released=" + released + "}";
+    }
+  }
+
+  /**
+   * The arrays cached by one thread. Only that thread changes it, so the count read by {@link #stats()} might be slightly stale.
+   */
+  private static final class ThreadCache {
+    private final byte[][][] arrays;
+
+    private int count;
+
+    private ThreadCache(byte[][][] arrays) {
+      this.arrays = arrays;
+    }
+  }
+
+  /**
+   * Lets the pool count the arrays in the cache of a thread without keeping the cache (or the thread) from being garbage collected.
+   */
+  private static final class ThreadCacheReference extends WeakReference<ThreadCache> {
+    private final WeakReference<Thread> thread = new WeakReference<>(Thread.currentThread());
+
+    private ThreadCacheReference(ThreadCache cache, ReferenceQueue<ThreadCache> queue) {
+      super(cache, queue);
+    }
+  }
+}
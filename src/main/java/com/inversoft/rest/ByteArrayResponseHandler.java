@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2016-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,29 +15,36 @@
  */
 package com.inversoft.rest;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
 /**
- * Response handler that reads the entire body and converts it to a UTF-8 String.
+ * Response handler that reads the entire body into a byte array. If the length of the body is known, the array is allocated once at that
+ * size. Responses that can't have a body return an empty array without reading anything.
  *
  * @author Brian Pontarelli
  */
 public class ByteArrayResponseHandler implements RESTClient.ResponseHandler<byte[]> {
   @Override
   public byte[] apply(InputStream is) throws IOException {
+    return apply(is, -1);
+  }
+
+  @Override
+  public byte[] apply(InputStream is, long contentLength) throws IOException {
     if (is == null) {
       return null;
     }
 
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    byte[] buf = new byte[1024];
-    int read;
-    while ((read = is.read(buf)) != -1) {
-      baos.write(buf, 0, read);
+    return BodyReader.readBytes(is, contentLength);
+  }
+
+  @Override
+  public byte[] apply(InputStream is, ResponseContext context) throws IOException {
+    if (is != null && !context.hasBody()) {
+      return new byte[0];
     }
 
-    return baos.toByteArray();
+    return apply(is, context.contentLength);
   }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.inversoft.http.HTTPStrings;
+
+/**
+ * Body handler that writes the body as CBOR (RFC 8949) using Jackson. Like Smile, CBOR is a binary encoding of the JSON data model, but it is
+ * a standard that many non-Java services can also read. By default, this uses the <code>defaultObjectMapper</code> variable, which has the
+ * same configuration and modules as {@link JSONBodyHandler#defaultObjectMapper}. The Content-Type is <code>application/cbor</code>.
+ *
+ * @author Brian Pontarelli
+ */
+public class CBORBodyHandler extends JSONBodyHandler {
+  public final static ObjectMapper defaultObjectMapper = JSONBodyHandler.defaultObjectMapper.copyWith(new CBORFactory());
+
+  public CBORBodyHandler(Object request) {
+    super(request, HTTPStrings.ContentTypes.ApplicationCbor, defaultObjectMapper);
+  }
+
+  public CBORBodyHandler(Object request, ObjectMapper objectMapper) {
+    super(request, HTTPStrings.ContentTypes.ApplicationCbor, objectMapper);
+  }
+}
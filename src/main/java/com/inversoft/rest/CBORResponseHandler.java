@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.inversoft.http.HTTPStrings;
+
+/**
+ * Response handler that reads the body as CBOR (RFC 8949) using Jackson. By default, this uses the <code>defaultObjectMapper</code>
+ * variable, which has the same configuration and modules as {@link JSONResponseHandler#defaultObjectMapper}. Requests that use this handler
+ * send <code>application/cbor</code> in the Accept header, unless they already have one.
+ *
+ * @author Brian Pontarelli
+ */
+public class CBORResponseHandler<T> extends JSONResponseHandler<T> {
+  public final static ObjectMapper defaultObjectMapper = JSONResponseHandler.defaultObjectMapper.copyWith(new CBORFactory());
+
+  public CBORResponseHandler(Class<T> type) {
+    super(type, defaultObjectMapper);
+  }
+
+  public CBORResponseHandler(Class<T> type, ObjectMapper objectMapper) {
+    super(type, objectMapper);
+  }
+
+  @Override
+  public String accept() {
+    return HTTPStrings.ContentTypes.ApplicationCbor;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cancels requests that are in flight, for example when the client that they are being made for has gone away. Pass the token to any
+ * number of RESTClients using {@link RESTClient#cancellationToken(CancellationToken)} and call {@link #cancel()} from any thread. Each
+ * request that is still running is aborted right away: its connection is closed, any body that a handler is writing or reading fails, and
+ * go() returns a response that is marked as {@link ClientResponse#cancelled} with a CancellationException. Requests that start after the
+ * token is cancelled fail without connecting.
+ * <p>
+ * The futures returned by {@link RESTClient#goAsync(java.util.concurrent.Executor)} cancel their request the same way.
+ *
+ * @author Brian Pontarelli
+ */
+public class CancellationToken {
+  private final List<Runnable> listeners = new ArrayList<>();
+
+  private boolean cancelled;
+
+  /**
+   * Creates a token.
+   */
+  public CancellationToken() {
+  }
+
+  /**
+   * Creates a token that is cancelled when the parent is cancelled (but which can also be cancelled by itself).
+   *
+   * @param parent The parent.
+   */
+  public CancellationToken(CancellationToken parent) {
+    parent.onCancel(this::cancel);
+  }
+
+  /**
+   * Cancels the token and every request that is using it. This does nothing if the token has already been cancelled.
+   */
+  public void cancel() {
+    List<Runnable> run;
+    synchronized (this) {
+      if (cancelled) {
+        return;
+      }
+
+      cancelled = true;
+      run = new ArrayList<>(listeners);
+      listeners.clear();
+    }
+
+    for (Runnable listener : run) {
+      listener.run();
+    }
+  }
+
+  /**
+   * @return True if the token has been cancelled.
+   */
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Registers an action to run when the token is cancelled, on the thread that cancels it. If the token has already been cancelled, the
+   * action runs right away.
+   *
+   * @param listener The action.
+   * @return The registration, which removes the action when it is closed.
+   */
+  public Registration onCancel(Runnable listener) {
+    synchronized (this) {
+      if (!cancelled) {
+        listeners.add(listener);
+        return () -> remove(listener);
+      }
+    }
+
+    listener.run();
+    return () -> {
+    };
+  }
+
+  private synchronized void remove(Runnable listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Removes an action from the token.
+   */
+  public interface Registration extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
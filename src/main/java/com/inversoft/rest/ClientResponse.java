@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2015-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,24 +17,39 @@ package com.inversoft.rest;
 
 import java.net.URL;
 import java.time.ZonedDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import com.inversoft.http.Cookie;
+import com.inversoft.http.HTTPHeaders;
 import com.inversoft.http.HTTPStrings;
 
 /**
  * Response information from a call to a REST API.
+ * <p>
+ * The cookies are parsed from the response headers the first time they are accessed, so callers that only use the status or the body
+ * never pay for them.
  *
  * @author Brian Pontarelli
  */
 public class ClientResponse<T, U> {
-  public final List<Cookie> cookies = new ArrayList<>();
+  /**
+   * The cookies from the Set-Cookie response headers. The headers are parsed the first time this List is used.
+   */
+  public final List<Cookie> cookies;
 
-  public final Map<String, List<String>> headers = new HashMap<>();
+  /**
+   * The response headers. This is a view of {@link #getHTTPHeaders()}, so lookups ignore the case of the name.
+   */
+  public final Map<String, List<String>> headers;
+
+  /**
+   * True if the request was cancelled using a {@link CancellationToken}, in which case the exception is a CancellationException.
+   */
+  public boolean cancelled;
 
   public ZonedDateTime date;
 
@@ -54,6 +69,15 @@ public class ClientResponse<T, U> {
 
   public URL url;
 
+  private final CookieList cookieList = new CookieList();
+
+  private final HTTPHeaders httpHeaders = new HTTPHeaders();
+
+  public ClientResponse() {
+    cookies = cookieList;
+    headers = httpHeaders.asMap();
+  }
+
   public List<Cookie> getCookies() {
     return cookies;
   }
@@ -70,17 +94,19 @@ public class ClientResponse<T, U> {
     return exception;
   }
 
-  public String getHeader(String name) {
-    List<String> values = headers.get(name.toLowerCase());
-    if (values == null || values.isEmpty()) {
-      return null;
-    }
+  /**
+   * @return The response headers.
+   */
+  public HTTPHeaders getHTTPHeaders() {
+    return httpHeaders;
+  }
 
-    return values.get(0);
+  public String getHeader(String name) {
+    return httpHeaders.get(name);
   }
 
   public List<String> getHeaders(String name) {
-    return headers.get(name.toLowerCase());
+    return httpHeaders.getAll(name);
   }
 
   public ZonedDateTime getLastModified() {
@@ -108,26 +134,14 @@ public class ClientResponse<T, U> {
   }
 
   public void setHeaders(Map<String, List<String>> headers) {
-    headers.forEach((key, values) -> {
-      // Skip the Status line
-      if (key == null) {
-        return;
-      }
-
-      this.headers.put(key.toLowerCase(), values);
-    });
+    // The Status line has a null key and is skipped
+    httpHeaders.addAll(headers);
 
-    date = parseDateHeader(HTTPStrings.Headers.Date.toLowerCase());
-    lastModified = parseDateHeader(HTTPStrings.Headers.LastModified.toLowerCase());
+    date = parseDateHeader(HTTPStrings.Headers.Date);
+    lastModified = parseDateHeader(HTTPStrings.Headers.LastModified);
 
-    // Parse the cookie headers
-    List<String> cookies = this.headers.get(HTTPStrings.Headers.SetCookie.toLowerCase());
-    if (cookies != null && cookies.size() > 0) {
-      cookies.stream()
-             .map(Cookie::fromResponseHeader)
-             .filter(Objects::nonNull)
-             .forEach(this.cookies::add);
-    }
+    // The cookies are parsed again on the next access
+    cookieList.parsed = null;
   }
 
   public boolean wasSuccessful() {
@@ -135,11 +149,59 @@ public class ClientResponse<T, U> {
   }
 
   private ZonedDateTime parseDateHeader(String name) {
-    List<String> values = headers.get(name);
-    if (values != null && values.size() > 0) {
-      return DateTools.parse(values.get(0));
+    String value = httpHeaders.get(name);
+    if (value != null) {
+      return DateTools.parse(value);
     }
 
     return null;
   }
+
+  /**
+   * A List of the cookies that parses the Set-Cookie headers the first time it is used. After that it behaves like a normal ArrayList.
+   */
+  private class CookieList extends AbstractList<Cookie> {
+    private List<Cookie> parsed;
+
+    @Override
+    public void add(int index, Cookie cookie) {
+      cookies().add(index, cookie);
+    }
+
+    @Override
+    public Cookie get(int index) {
+      return cookies().get(index);
+    }
+
+    @Override
+    public Cookie remove(int index) {
+      return cookies().remove(index);
+    }
+
+    @Override
+    public Cookie set(int index, Cookie cookie) {
+      return cookies().set(index, cookie);
+    }
+
+    @Override
+    public int size() {
+      return cookies().size();
+    }
+
+    private List<Cookie> cookies() {
+      if (parsed == null) {
+        parsed = new ArrayList<>();
+
+        List<String> values = httpHeaders.getAll(HTTPStrings.Headers.SetCookie);
+        if (values != null) {
+          values.stream()
+                .map(Cookie::fromResponseHeader)
+                .filter(Objects::nonNull)
+                .forEach(parsed::add);
+        }
+      }
+
+      return parsed;
+    }
+  }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes read (or skipped) from a response body stream.
+ *
+ * @author Brian Pontarelli
+ */
+public class CountingInputStream extends FilterInputStream {
+  private final LongAdder counter;
+
+  public CountingInputStream(InputStream in) {
+    this(in, new LongAdder());
+  }
+
+  /**
+   * @param in      The stream to wrap.
+   * @param counter The counter the bytes are added to as they are read. This can be shared between streams.
+   */
+  public CountingInputStream(InputStream in, LongAdder counter) {
+    super(in);
+    this.counter = counter;
+  }
+
+  /**
+   * @return The value of the counter.
+   */
+  public long getCount() {
+    return counter.sum();
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = in.read();
+    if (b != -1) {
+      counter.increment();
+    }
+
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int read = in.read(b, off, len);
+    if (read > 0) {
+      counter.add(read);
+    }
+
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = in.skip(n);
+    counter.add(skipped);
+    return skipped;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes written to a request body stream. Trailers are passed through to the wrapped stream.
+ *
+ * @author Brian Pontarelli
+ */
+public class CountingOutputStream extends TrailerForwardingOutputStream {
+  private final LongAdder counter;
+
+  public CountingOutputStream(OutputStream out) {
+    this(out, new LongAdder());
+  }
+
+  /**
+   * @param out     The stream to wrap.
+   * @param counter The counter the bytes are added to as they are written. This can be shared between streams.
+   */
+  public CountingOutputStream(OutputStream out, LongAdder counter) {
+    super(out);
+    this.counter = counter;
+  }
+
+  /**
+   * @return The value of the counter.
+   */
+  public long getCount() {
+    return counter.sum();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    out.write(b);
+    counter.increment();
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+    counter.add(len);
+  }
+}
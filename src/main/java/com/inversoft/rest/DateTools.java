@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2015-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,11 @@
  */
 package com.inversoft.rest;
 
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
@@ -34,12 +39,24 @@ import static java.time.temporal.ChronoField.YEAR;
  * Tools for dates, all dates are parsed and formatted using an RFC 5322 compatible format.
  *
  * https://datatracker.ietf.org/doc/html/rfc5322
+ * <p>
+ * Nearly every date on the wire uses the fixed length HTTP-date layout from RFC 1123 (i.e. <code>Sun, 06 Nov 1994 08:49:37 GMT</code>),
+ * so that layout is parsed and formatted by hand. Anything else falls back to the {@link #RFC_5322_DATE_TIME} formatter. The last value
+ * parsed and the last value formatted are cached, since the same second tends to be seen many times in a row.
  *
  * @author Brian Pontarelli
  */
 public final class DateTools {
   public static final DateTimeFormatter RFC_5322_DATE_TIME;
 
+  private static final String[] DAYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+  private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+  private static volatile Formatted lastFormatted = new Formatted(Long.MIN_VALUE, null);
+
+  private static volatile Parsed lastParsed = new Parsed(null, null);
+
   static {
     Map<Long, String> dow = new HashMap<>();
     dow.put(1L, "Mon");
@@ -92,14 +109,174 @@ public final class DateTools {
   }
 
   public static String format(ZonedDateTime value) {
-    return value.format(DateTools.RFC_5322_DATE_TIME);
+    int year = value.getYear();
+    if (value.getOffset().getTotalSeconds() != 0 || year < 0 || year > 9999) {
+      return value.format(DateTools.RFC_5322_DATE_TIME);
+    }
+
+    long epochSecond = value.toEpochSecond();
+    Formatted cached = lastFormatted;
+    if (cached.epochSecond == epochSecond) {
+      return cached.value;
+    }
+
+    char[] buf = new char[29];
+    DAYS[value.getDayOfWeek().ordinal()].getChars(0, 3, buf, 0);
+    buf[3] = ',';
+    buf[4] = ' ';
+    twoDigits(buf, 5, value.getDayOfMonth());
+    buf[7] = ' ';
+    MONTHS[value.getMonthValue() - 1].getChars(0, 3, buf, 8);
+    buf[11] = ' ';
+    twoDigits(buf, 12, year / 100);
+    twoDigits(buf, 14, year % 100);
+    buf[16] = ' ';
+    twoDigits(buf, 17, value.getHour());
+    buf[19] = ':';
+    twoDigits(buf, 20, value.getMinute());
+    buf[22] = ':';
+    twoDigits(buf, 23, value.getSecond());
+    buf[25] = ' ';
+    buf[26] = 'G';
+    buf[27] = 'M';
+    buf[28] = 'T';
+
+    String result = new String(buf);
+    lastFormatted = new Formatted(epochSecond, result);
+    return result;
   }
 
   public static ZonedDateTime parse(String value) {
-    try {
-      return ZonedDateTime.parse(value, DateTools.RFC_5322_DATE_TIME);
-    } catch (Exception e) {
+    if (value == null) {
       return null;
     }
+
+    Parsed cached = lastParsed;
+    if (value.equals(cached.value)) {
+      return cached.date;
+    }
+
+    ZonedDateTime result = parseFixedLength(value);
+    if (result == null) {
+      // Reject garbage without the cost of an exception
+      ParsePosition position = new ParsePosition(0);
+      if (RFC_5322_DATE_TIME.parseUnresolved(value, position) == null || position.getIndex() != value.length()) {
+        return null;
+      }
+
+      try {
+        result = ZonedDateTime.parse(value, DateTools.RFC_5322_DATE_TIME);
+      } catch (Exception e) {
+        return null;
+      }
+    }
+
+    lastParsed = new Parsed(value, result);
+    return result;
+  }
+
+  private static int digit(String value, int index) {
+    int d = value.charAt(index) - '0';
+    return d >= 0 && d <= 9 ? d : -1;
+  }
+
+  private static int lower(String value, int index) {
+    char c = value.charAt(index);
+    return c >= 'A' && c <= 'Z' ? c + 32 : c;
+  }
+
+  private static boolean matchesIgnoreCase(String value, int index, String expected) {
+    for (int i = 0; i < expected.length(); i++) {
+      if (lower(value, index + i) != Character.toLowerCase(expected.charAt(i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static int month(String value, int index) {
+    for (int i = 0; i < MONTHS.length; i++) {
+      if (matchesIgnoreCase(value, index, MONTHS[i])) {
+        return i + 1;
+      }
+    }
+
+    return -1;
+  }
+
+  private static int number(String value, int index, int length) {
+    int result = 0;
+    for (int i = index; i < index + length; i++) {
+      int d = digit(value, i);
+      if (d == -1) {
+        return -1;
+      }
+
+      result = result * 10 + d;
+    }
+
+    return result;
+  }
+
+  /**
+   * Parses the fixed length RFC 1123 layout <code>EEE, dd MMM yyyy HH:mm:ss GMT</code> without any allocation other than the result.
+   *
+   * @param value The value to parse.
+   * @return The date or null if the value isn't in that exact layout (or is invalid), in which case the caller should fall back to the
+   *     formatter.
+   */
+  private static ZonedDateTime parseFixedLength(String value) {
+    if (value.length() != 29 || value.charAt(3) != ',' || value.charAt(4) != ' ' || value.charAt(7) != ' ' || value.charAt(11) != ' ' ||
+        value.charAt(16) != ' ' || value.charAt(19) != ':' || value.charAt(22) != ':' || value.charAt(25) != ' ' ||
+        !matchesIgnoreCase(value, 26, "GMT")) {
+      return null;
+    }
+
+    int day = number(value, 5, 2);
+    int month = month(value, 8);
+    int year = number(value, 12, 4);
+    int hour = number(value, 17, 2);
+    int minute = number(value, 20, 2);
+    int second = number(value, 23, 2);
+    if (day < 1 || month == -1 || year == -1 || hour == -1 || hour > 23 || minute == -1 || minute > 59 || second == -1 || second > 59 ||
+        day > Month.of(month).length(Year.isLeap(year))) {
+      return null;
+    }
+
+    // The formatter rejects a day of the week that doesn't match the date, so let it handle that case
+    LocalDate date = LocalDate.of(year, month, day);
+    if (!matchesIgnoreCase(value, 0, DAYS[date.getDayOfWeek().ordinal()])) {
+      return null;
+    }
+
+    return ZonedDateTime.of(year, month, day, hour, minute, second, 0, ZoneOffset.UTC);
+  }
+
+  private static void twoDigits(char[] buf, int index, int value) {
+    buf[index] = (char) ('0' + value / 10);
+    buf[index + 1] = (char) ('0' + value % 10);
+  }
+
+  private static class Formatted {
+    private final long epochSecond;
+
+    private final String value;
+
+    private Formatted(long epochSecond, String value) {
+      this.epochSecond = epochSecond;
+      this.value = value;
+    }
+  }
+
+  private static class Parsed {
+    private final ZonedDateTime date;
+
+    private final String value;
+
+    private Parsed(String value, ZonedDateTime date) {
+      this.value = value;
+      this.date = date;
+    }
   }
 }
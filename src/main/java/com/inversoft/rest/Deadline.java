@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An end-to-end deadline for requests. Unlike the read timeout of a RESTClient, which applies to each read of the socket separately, a
+ * deadline covers the entire request: resolving the host, connecting, the TLS handshake, writing the body and reading all of the
+ * response. When it passes, the connection of the request is closed and the request fails with a SocketTimeoutException. Deadlines are
+ * enforced using the {@link HashedWheelTimer#SHARED shared timer}, so they cost a timer entry per request rather than a thread.
+ * <p>
+ * A deadline can be given to a single RESTClient or entered as the deadline of the current thread, in which case every request that the
+ * thread makes within the scope uses it (or its own deadline, if that is earlier):
+ * <p>
+ * <pre>
+ *   try (Deadline.Scope scope = Deadline.after(500).enter()) {
+ *     User user = new RESTClient&lt;&gt;(User.class, Void.TYPE)...go().successResponse;
+ *     List&lt;Order&gt; orders = new RESTClient&lt;&gt;(...)...go().successResponse;
+ *   }
+ * </pre>
+ * <p>
+ * Scopes nest and an inner scope can never extend the deadline of an outer one.
+ *
+ * @author Brian Pontarelli
+ */
+public final class Deadline {
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  /**
+   * The value of {@link System#nanoTime()} at which the deadline passes.
+   */
+  public final long nanoTime;
+
+  private Deadline(long nanoTime) {
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Creates a deadline that passes after the given number of milliseconds from now.
+   *
+   * @param millis The milliseconds.
+   * @return The deadline.
+   */
+  public static Deadline after(long millis) {
+    return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  /**
+   * @return The deadline of the current thread or null if it doesn't have one.
+   */
+  public static Deadline current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Returns the earlier of two deadlines, either of which may be null.
+   *
+   * @param one The first deadline.
+   * @param two The second deadline.
+   * @return The earlier deadline or null if both are null.
+   */
+  public static Deadline earliest(Deadline one, Deadline two) {
+    if (one == null || two == null) {
+      return one != null ? one : two;
+    }
+
+    return one.nanoTime - two.nanoTime <= 0 ? one : two;
+  }
+
+  /**
+   * Makes this the deadline of the current thread until the scope is closed. If the thread already has an earlier deadline, that one is
+   * kept.
+   *
+   * @return The scope, which must be closed by the same thread.
+   */
+  public Scope enter() {
+    Deadline previous = CURRENT.get();
+    CURRENT.set(earliest(this, previous));
+    return new Scope(previous);
+  }
+
+  /**
+   * @return True if the deadline has passed.
+   */
+  public boolean expired() {
+    return remaining(TimeUnit.NANOSECONDS) <= 0;
+  }
+
+  /**
+   * @param unit The unit.
+   * @return The time left until the deadline, which is negative once it has passed.
+   */
+  public long remaining(TimeUnit unit) {
+    return unit.convert(nanoTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Caps a timeout so that it doesn't last past this deadline.
+   *
+   * @param timeout The timeout in milliseconds or 0 for no timeout.
+   * @return The timeout, which is at least 1 millisecond so that it is never taken to mean no timeout.
+   */
+  public int timeout(int timeout) {
+    long remaining = Math.max(1, remaining(TimeUnit.MILLISECONDS));
+    return timeout > 0 && timeout < remaining ? timeout : (int) Math.min(Integer.MAX_VALUE, remaining);
+  }
+
+  SocketTimeoutException exceeded() {
+    return new SocketTimeoutException("The deadline of the request was exceeded");
+  }
+
+  HashedWheelTimer.Timeout schedule(Runnable task) {
+    return HashedWheelTimer.SHARED.schedule(task, remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * The scope of the deadline of the current thread, which restores the previous deadline when it is closed.
+   */
+  public static final class Scope implements AutoCloseable {
+    private final Deadline previous;
+
+    private Scope(Deadline previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
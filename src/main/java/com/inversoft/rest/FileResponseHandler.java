@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+import com.inversoft.http.FileDownload;
+
+/**
+ * Response handler that streams the body straight to a file or a channel rather than buffering it in the heap, so the memory used is the
+ * same no matter how large the body is. Files are written using <code>FileChannel.transferFrom</code> and channels are written using a
+ * direct buffer that is allocated for each response, so a single handler can be used for concurrent requests.
+ * <p>
+ * The body is written to a temporary file next to the target file, which is moved into place once the whole body has been written. If the
+ * download fails, the temporary file is deleted and the target file is left untouched. Bytes already written to a channel cannot be taken
+ * back, so the caller must discard the channel's contents if the download fails.
+ * <p>
+ * Optionally, a checksum of the body can be computed while it is written by passing a <code>MessageDigest</code> algorithm name such as
+ * <code>SHA-256</code>.
+ *
+ * @author Brian Pontarelli
+ */
+public class FileResponseHandler implements RESTClient.ResponseHandler<FileDownload> {
+  public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+  private final int bufferSize;
+
+  private final WritableByteChannel channel;
+
+  private final String checksumAlgorithm;
+
+  private final Path file;
+
+  public FileResponseHandler(Path file) {
+    this(file, null);
+  }
+
+  public FileResponseHandler(Path file, String checksumAlgorithm) {
+    this.file = file;
+    this.channel = null;
+    this.checksumAlgorithm = checksumAlgorithm;
+    this.bufferSize = DEFAULT_BUFFER_SIZE;
+  }
+
+  public FileResponseHandler(WritableByteChannel channel) {
+    this(channel, null, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @param channel           The channel to write the body to. The channel is not closed by this handler.
+   * @param checksumAlgorithm The MessageDigest algorithm used to compute the checksum or null to skip the checksum.
+   * @param bufferSize        The size of the direct buffer used to copy the body into the channel.
+   */
+  public FileResponseHandler(WritableByteChannel channel, String checksumAlgorithm, int bufferSize) {
+    this.file = null;
+    this.channel = channel;
+    this.checksumAlgorithm = checksumAlgorithm;
+    this.bufferSize = bufferSize;
+  }
+
+  @Override
+  public FileDownload apply(InputStream is) throws IOException {
+    if (is == null) {
+      return null;
+    }
+
+    MessageDigest digest = null;
+    if (checksumAlgorithm != null) {
+      try {
+        digest = MessageDigest.getInstance(checksumAlgorithm);
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalArgumentException("Invalid checksum algorithm [" + checksumAlgorithm + "]", e);
+      }
+
+      is = new DigestInputStream(is, digest);
+    }
+
+    long bytes;
+    ReadableByteChannel source = Channels.newChannel(is);
+    if (file != null) {
+      Path temp = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + ".part");
+      try {
+        try (FileChannel fileChannel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+          bytes = 0;
+          long transferred;
+          // A blocking source only returns 0 at the end of the stream
+          while ((transferred = fileChannel.transferFrom(source, bytes, bufferSize)) > 0) {
+            bytes += transferred;
+          }
+        }
+
+        move(temp, file);
+      } catch (Throwable e) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException suppressed) {
+          e.addSuppressed(suppressed);
+        }
+
+        throw e;
+      }
+    } else {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+      bytes = 0;
+      int read;
+      while ((read = source.read(buffer)) != -1) {
+        bytes += read;
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        buffer.clear();
+      }
+    }
+
+    return new FileDownload(file, bytes, digest != null ? hex(digest.digest()) : null);
+  }
+
+  private static String hex(byte[] bytes) {
+    char[] digits = "0123456789abcdef".toCharArray();
+    char[] result = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      result[i * 2] = digits[(bytes[i] >> 4) & 0x0f];
+      result[i * 2 + 1] = digits[bytes[i] & 0x0f];
+    }
+
+    return new String(result);
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+
+import com.inversoft.http.HTTPHeaders;
+
+/**
+ * Sends HTTP requests for the RESTClient in place of HttpURLConnection. The RESTClient builds the URL and all the request headers
+ * (including the Cookie header and the headers from the {@link RESTClient.BodyHandler}) and then hands the request to the transport. The
+ * transport writes the body using the BodyHandler and returns the status, headers and body stream of the response, which the RESTClient
+ * then passes to its {@link RESTClient.ResponseHandler}s as usual.
+ * <p>
+ * Transports are shared by many RESTClients and must be thread-safe.
+ *
+ * @author Brian Pontarelli
+ */
+public interface HTTPTransport {
+  /**
+   * Sends the request and waits for the status and headers of the response. The body of the response is read from the returned Response.
+   *
+   * @param request The request.
+   * @return The response, which must be closed.
+   * @throws IOException If the request could not be sent or the response could not be read.
+   */
+  Response send(Request request) throws IOException;
+
+  /**
+   * Whether or not the transport can send trailers after a request body. If it can, the OutputStream passed to the BodyHandler of a
+   * request that doesn't have a Content-Length implements {@link Trailers}.
+   *
+   * @return True if the transport supports request trailers. By default, this is false.
+   */
+  default boolean supportsTrailers() {
+    return false;
+  }
+
+  /**
+   * An HTTP request.
+   */
+  class Request {
+    /**
+     * The handler that writes the request body or null if the request doesn't have a body.
+     */
+    public final RESTClient.BodyHandler bodyHandler;
+
+    /**
+     * The connect timeout in milliseconds or 0 for no timeout.
+     */
+    public final int connectTimeout;
+
+    /**
+     * All the request headers, including the ones from the body handler.
+     */
+    public final HTTPHeaders headers;
+
+    public final String method;
+
+    /**
+     * The read timeout in milliseconds or 0 for no timeout.
+     */
+    public final int readTimeout;
+
+    /**
+     * The complete URL, including the query string.
+     */
+    public final URL url;
+
+    private volatile Runnable abort;
+
+    private volatile boolean aborted;
+
+    public Request(String method, URL url, HTTPHeaders headers, RESTClient.BodyHandler bodyHandler, int connectTimeout, int readTimeout) {
+      this.method = method;
+      this.url = url;
+      this.headers = headers;
+      this.bodyHandler = bodyHandler;
+      this.connectTimeout = connectTimeout;
+      this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Aborts the request from another thread while it is being sent, for example when its deadline passes. This runs the action that the
+     * transport registered using {@link #onAbort(Runnable)}, which makes {@link HTTPTransport#send(Request)} fail. Once send() has
+     * returned, the request is aborted using {@link Response#abort()} instead.
+     */
+    public void abort() {
+      aborted = true;
+      Runnable abort = this.abort;
+      if (abort != null) {
+        abort.run();
+      }
+    }
+
+    /**
+     * @return True if the request has been aborted.
+     */
+    public boolean aborted() {
+      return aborted;
+    }
+
+    /**
+     * Registers the action that aborts the request while it is being sent, which usually closes its connection. Transports call this once
+     * they have a connection (and again if they retry the request on another one). If the request has already been aborted, the action
+     * is run right away. The action might be run more than once and from any thread.
+     *
+     * @param abort The action.
+     */
+    public void onAbort(Runnable abort) {
+      this.abort = abort;
+      if (aborted) {
+        abort.run();
+      }
+    }
+  }
+
+  /**
+   * An HTTP response. Closing the response closes the body stream.
+   */
+  class Response implements Closeable {
+    /**
+     * The body of the response. This is an empty stream if the response doesn't have a body.
+     */
+    public final InputStream body;
+
+    /**
+     * The response headers.
+     */
+    public final Map<String, List<String>> headers;
+
+    public final int status;
+
+    public Response(int status, Map<String, List<String>> headers, InputStream body) {
+      this.status = status;
+      this.headers = headers;
+      this.body = body;
+    }
+
+    /**
+     * Closes the connection of the response without reading the rest of the body, so that a read of the body that is blocked on another
+     * thread fails. This does nothing if the body has already been read in full. By default, this closes the body.
+     */
+    public void abort() {
+      try {
+        body.close();
+      } catch (IOException e) {
+        // Ignore since the response is being thrown away
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      body.close();
+    }
+  }
+
+  /**
+   * Implemented by the request body streams of transports that support trailers. Trailers are sent after the last chunk of the body, so
+   * they can carry values (like digests and signatures) that are computed while the body is written.
+   */
+  interface Trailers {
+    /**
+     * Adds a trailer that is sent once the body has been written.
+     *
+     * @param name  The name of the trailer.
+     * @param value The value.
+     * @throws IllegalStateException If the body isn't sent using chunked encoding or it has already been sent in full.
+     */
+    void addTrailer(String name, String value);
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A timer for large numbers of short timeouts that are almost always cancelled, such as request deadlines. Timeouts are kept in a wheel of
+ * buckets that a single thread advances one bucket per tick, so scheduling and cancelling a timeout are a queue offer and a CAS, no matter
+ * how many timeouts there are, and there is one thread in total rather than one per timer or request. The price is precision: timeouts run
+ * up to one tick late.
+ * <p>
+ * The tasks run on the thread of the timer, so they must be quick and must not block.
+ *
+ * @author Brian Pontarelli
+ */
+public class HashedWheelTimer {
+  /**
+   * The timer shared by all requests, with 10 millisecond ticks.
+   */
+  public static final HashedWheelTimer SHARED = new HashedWheelTimer("restify-timer", 10, TimeUnit.MILLISECONDS, 512);
+
+  private final ConcurrentLinkedQueue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+  private final int mask;
+
+  private final String name;
+
+  private final ConcurrentLinkedQueue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  private final long tickNanos;
+
+  private final Bucket[] wheel;
+
+  private volatile long startTime;
+
+  /**
+   * Creates a timer. Its thread is started when the first timeout is scheduled.
+   *
+   * @param name    The name of the thread.
+   * @param tick    The duration of a tick.
+   * @param unit    The unit of the tick.
+   * @param buckets The number of buckets in the wheel, which is rounded up to a power of two.
+   */
+  public HashedWheelTimer(String name, long tick, TimeUnit unit, int buckets) {
+    this.name = name;
+    this.tickNanos = unit.toNanos(tick);
+    int size = Integer.highestOneBit(Math.max(1, buckets - 1)) << 1;
+    this.mask = size - 1;
+    this.wheel = new Bucket[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new Bucket();
+    }
+  }
+
+  /**
+   * Schedules a task to run once the delay has passed.
+   *
+   * @param task  The task.
+   * @param delay The delay.
+   * @param unit  The unit of the delay.
+   * @return The timeout, which can be used to cancel the task.
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (!started.get() && started.compareAndSet(false, true)) {
+      startTime = System.nanoTime();
+      Thread thread = new Thread(this::run, name);
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    Timeout timeout = new Timeout(this, task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+    scheduled.add(timeout);
+    return timeout;
+  }
+
+  private void expire(Bucket bucket, long now) {
+    Timeout timeout = bucket.head;
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      if (timeout.rounds <= 0 && timeout.deadline <= now) {
+        bucket.remove(timeout);
+        if (Timeout.STATE.compareAndSet(timeout, Timeout.SCHEDULED, Timeout.EXPIRED)) {
+          try {
+            timeout.task.run();
+          } catch (Throwable t) {
+            // The task is responsible for its own failures and one that fails mustn't stop the others
+          }
+        }
+      } else if (timeout.rounds > 0) {
+        timeout.rounds--;
+      }
+
+      timeout = next;
+    }
+  }
+
+  private void run() {
+    long start = startTime;
+    long tick = 0;
+    while (true) {
+      long next = start + (tick + 1) * tickNanos;
+      long now;
+      while ((now = System.nanoTime()) < next) {
+        LockSupport.parkNanos(next - now);
+      }
+
+      Timeout timeout;
+      while ((timeout = cancelled.poll()) != null) {
+        if (timeout.bucket != null) {
+          timeout.bucket.remove(timeout);
+        }
+      }
+
+      while ((timeout = scheduled.poll()) != null) {
+        if (timeout.state != Timeout.SCHEDULED) {
+          continue;
+        }
+
+        long ticks = Math.max(tick, (timeout.deadline - start + tickNanos - 1) / tickNanos);
+        timeout.rounds = (ticks - tick) / wheel.length;
+        wheel[(int) (ticks & mask)].add(timeout);
+      }
+
+      expire(wheel[(int) (tick & mask)], now);
+      tick++;
+    }
+  }
+
+  /**
+   * A scheduled task.
+   */
+  public static final class Timeout {
+    private static final int CANCELLED = 1;
+
+    private static final int EXPIRED = 2;
+
+    private static final int SCHEDULED = 0;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final long deadline;
+
+    private final Runnable task;
+
+    private final HashedWheelTimer timer;
+
+    private Bucket bucket;
+
+    private Timeout next;
+
+    private Timeout previous;
+
+    private long rounds;
+
+    private volatile int state;
+
+    private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+      this.timer = timer;
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task if it hasn't run yet.
+     *
+     * @return True if the task was cancelled, false if it has already run or been cancelled.
+     */
+    public boolean cancel() {
+      if (!STATE.compareAndSet(this, SCHEDULED, CANCELLED)) {
+        return false;
+      }
+
+      timer.cancelled.add(this);
+      return true;
+    }
+
+    /**
+     * @return True if the task has run or is running.
+     */
+    public boolean isExpired() {
+      return state == EXPIRED;
+    }
+  }
+
+  /**
+   * A doubly linked list of timeouts that is only used by the thread of the timer.
+   */
+  private static final class Bucket {
+    private Timeout head;
+
+    private Timeout tail;
+
+    private void add(Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.previous = tail;
+        tail = timeout;
+      }
+    }
+
+    private void remove(Timeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+
+      if (timeout.previous != null) {
+        timeout.previous.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+
+      if (timeout.next != null) {
+        timeout.next.previous = timeout.previous;
+      } else {
+        tail = timeout.previous;
+      }
+
+      timeout.bucket = null;
+      timeout.next = null;
+      timeout.previous = null;
+    }
+  }
+}
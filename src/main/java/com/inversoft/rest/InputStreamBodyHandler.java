@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2016-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,10 +44,14 @@ public class InputStreamBodyHandler implements RESTClient.BodyHandler {
   @Override
   public void accept(OutputStream os) throws IOException {
     if (request != null) {
-      byte[] buf = new byte[1024];
-      int read;
-      while ((read = request.read(buf)) != -1) {
-        os.write(buf, 0, read);
+      byte[] buf = BufferPool.DEFAULT.acquire(8 * 1024);
+      try {
+        int read;
+        while ((read = request.read(buf)) != -1) {
+          os.write(buf, 0, read);
+        }
+      } finally {
+        BufferPool.DEFAULT.release(buf);
       }
 
       os.flush();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2016-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.inversoft.rest;
 
 import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -28,6 +29,8 @@ import com.inversoft.json.JacksonModule;
  * JSON parsing. You can optionally specify a different ObjectMapper to the constructor. The default ObjectMapper uses Jackson's standard
  * ObjectMapper configuration for deserializing. It also uses the JacksonModule from the <code>jackson5</code> library for handling various
  * type conversions.
+ * <p>
+ * Responses that can't have a body (such as a 204) and empty bodies are returned as null.
  *
  * @author Brian Pontarelli
  */
@@ -54,23 +57,38 @@ public class JSONResponseHandler<T> implements RESTClient.ResponseHandler<T> {
       return null;
     }
 
-    // Read a single byte of data to see if the stream is empty but then reset the stream back 0
-    BetterBufferedInputStream bis = new BetterBufferedInputStream(is, 1024, 1024);
-    bis.mark(1024);
-    int c = bis.read();
-    if (c == -1) {
+    return parse(is, true);
+  }
+
+  @Override
+  public T apply(InputStream is, ResponseContext context) throws IOException {
+    if (is == null || !context.hasBody()) {
       return null;
     }
 
-    bis.reset();
+    // A body with a known length isn't empty, so it doesn't need to be probed
+    return parse(is, context.contentLength == -1);
+  }
 
+  private T parse(InputStream is, boolean probe) throws IOException {
+    // Read a single byte of data to see if the stream is empty. The byte is retained and handed to Jackson first
+    RetainingInputStream ris = new RetainingInputStream(is);
     try {
-      return instanceObjectMapper.readValue(bis, type);
-    } catch (IOException e) {
-      throw new JSONException("Failed to parse the HTTP response as JSON. Actual HTTP response body:\n" +
-          (bis.isObservableTruncated()
-              ? ("Note: Output has been truncated to the first " + bis.getObservableLength() + " of " + bis.actualLength + " bytes.\n\n") : "") +
-          bis.getObservableAsString(), e);
+      if (probe && !ris.probe()) {
+        return null;
+      }
+
+      try {
+        return instanceObjectMapper.readValue(ris, type);
+      } catch (IOException e) {
+        long actualLength = ris.drain();
+        throw new JSONException("Failed to parse the HTTP response as JSON. Actual HTTP response body:\n" +
+            (actualLength > ris.retained
+                ? ("Note: Output has been truncated to the first " + ris.retained + " of " + actualLength + " bytes.\n\n") : "") +
+            new String(ris.prefix, 0, ris.retained, StandardCharsets.UTF_8), e);
+      }
+    } finally {
+      ris.release();
     }
   }
 
@@ -146,4 +164,132 @@ public class JSONResponseHandler<T> implements RESTClient.ResponseHandler<T> {
       index = 0;
     }
   }
+
+  /**
+   * Passes reads straight through to the response stream, without buffering or locking. Only the first 1024 bytes are kept (in a pooled
+   * buffer) so that the body can be included in the exception if parsing fails. The rest of the body is only counted, and only after a
+   * failure.
+   */
+  private static final class RetainingInputStream extends FilterInputStream {
+    private static final int MAX_DRAIN = 1024 * 1024;
+
+    private static final int MAX_RETAINED = 1024;
+
+    private long count;
+
+    private int delivered;
+
+    private byte[] prefix;
+
+    private int retained;
+
+    private RetainingInputStream(InputStream in) {
+      super(in);
+      this.prefix = BufferPool.DEFAULT.acquire(MAX_RETAINED);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (delivered < retained) {
+        return prefix[delivered++] & 0xFF;
+      }
+
+      int c = in.read();
+      if (c != -1) {
+        retain(c);
+      }
+
+      return c;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+
+      // Hand over the probed byte (and anything else retained but not yet read) first
+      if (delivered < retained) {
+        int length = Math.min(len, retained - delivered);
+        System.arraycopy(prefix, delivered, b, off, length);
+        delivered += length;
+        return length;
+      }
+
+      int read = in.read(b, off, len);
+      if (read > 0) {
+        count += read;
+        if (retained < MAX_RETAINED) {
+          int length = Math.min(read, MAX_RETAINED - retained);
+          System.arraycopy(b, off, prefix, retained, length);
+          retained += length;
+          delivered = retained;
+        }
+      }
+
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      // Skipping would leave holes in the retained bytes, so read instead
+      byte[] buf = new byte[(int) Math.min(n, 1024)];
+      int read = read(buf, 0, buf.length);
+      return Math.max(read, 0);
+    }
+
+    /**
+     * Reads the rest of the body (up to a limit) after a failure to find out how long it actually was.
+     *
+     * @return The number of bytes in the body.
+     */
+    private long drain() {
+      byte[] buf = BufferPool.DEFAULT.acquire(8 * 1024);
+      try {
+        long limit = count + MAX_DRAIN;
+        int read;
+        while (count < limit && (read = in.read(buf)) != -1) {
+          count += read;
+        }
+      } catch (IOException e) {
+        // Ignore since this is only for the error message
+      } finally {
+        BufferPool.DEFAULT.release(buf);
+      }
+
+      return count;
+    }
+
+    /**
+     * @return True if the stream has any data, false if it is empty.
+     */
+    private boolean probe() throws IOException {
+      int c = in.read();
+      if (c == -1) {
+        return false;
+      }
+
+      retain(c);
+      delivered = 0;
+      return true;
+    }
+
+    private void release() {
+      BufferPool.DEFAULT.release(prefix);
+      prefix = null;
+    }
+
+    private void retain(int c) {
+      count++;
+      if (retained < MAX_RETAINED) {
+        prefix[retained++] = (byte) c;
+        delivered = retained;
+      }
+    }
+  }
 }
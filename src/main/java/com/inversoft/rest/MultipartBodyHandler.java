@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2016-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package com.inversoft.rest;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -77,10 +78,19 @@ public class MultipartBodyHandler implements RESTClient.BodyHandler {
 
   private void serializeRequest() {
     if (body == null) {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      Writer writer = new OutputStreamWriter(baos);
-
+      byte[] buf = BufferPool.DEFAULT.acquire(8 * 1024);
       try {
+        // Size the output for the files up front so that it doesn't have to grow and copy them repeatedly
+        long size = 1024;
+        if (request.files != null) {
+          for (FileUpload file : request.files) {
+            size += Files.size(file.file) + 512;
+          }
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream((int) Math.min(size, Integer.MAX_VALUE - 8));
+        Writer writer = new OutputStreamWriter(baos);
+
         if (request.files != null) {
           for (FileUpload file : request.files) {
             writer.append("--").append(boundary).append("\r\n");
@@ -92,8 +102,12 @@ public class MultipartBodyHandler implements RESTClient.BodyHandler {
             }
             writer.append("\r\n\r\n");
             writer.flush();
-            baos.write(Files.readAllBytes(file.file));
-            baos.flush();
+            try (InputStream is = Files.newInputStream(file.file)) {
+              int read;
+              while ((read = is.read(buf)) != -1) {
+                baos.write(buf, 0, read);
+              }
+            }
             writer.append("\r\n");
             writer.flush();
           }
@@ -114,6 +128,8 @@ public class MultipartBodyHandler implements RESTClient.BodyHandler {
         body = baos.toByteArray();
       } catch (IOException e) {
         throw new IllegalStateException(e);
+      } finally {
+        BufferPool.DEFAULT.release(buf);
       }
     }
   }
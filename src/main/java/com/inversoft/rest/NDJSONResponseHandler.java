@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Response handler for streams of newline-delimited JSON (NDJSON or JSON Lines) that may run for a long time. Each document is parsed into
+ * an object of the given type and handed to the consumer as soon as it arrives, rather than after the whole body has been read. The
+ * response is the number of documents that were consumed.
+ * <p>
+ * A single JsonParser is used for the whole stream and only one document is held at a time, so memory use doesn't depend on the length
+ * of the stream. The consumer is called on the thread that called {@link RESTClient#go()} and nothing more is read from the connection
+ * until it returns. A consumer that blocks (for example, by putting the documents into a bounded BlockingQueue for other threads) slows
+ * the server down to its own pace through TCP flow control.
+ * <p>
+ * The stream can be stopped using {@link #cancel()}, from the consumer or from another thread. This closes the connection rather than
+ * reading the rest of the stream and the response is then the number of documents consumed before the cancel.
+ * <p>
+ * Instances keep the state of a single response and must not be shared between requests.
+ *
+ * @author Brian Pontarelli
+ */
+public class NDJSONResponseHandler<T> implements RESTClient.ResponseHandler<Long> {
+  private final Consumer<T> consumer;
+
+  private final ObjectMapper objectMapper;
+
+  private final ObjectReader reader;
+
+  private volatile boolean cancelled;
+
+  private volatile ResponseContext context;
+
+  public NDJSONResponseHandler(Class<T> type, Consumer<T> consumer) {
+    this(type, JSONResponseHandler.defaultObjectMapper, consumer);
+  }
+
+  public NDJSONResponseHandler(Class<T> type, ObjectMapper objectMapper, Consumer<T> consumer) {
+    this.consumer = consumer;
+    this.objectMapper = objectMapper;
+    this.reader = objectMapper.readerFor(type);
+  }
+
+  @Override
+  public Long apply(InputStream is) throws IOException {
+    return apply(is, null);
+  }
+
+  @Override
+  public Long apply(InputStream is, ResponseContext context) throws IOException {
+    if (is == null || (context != null && !context.hasBody())) {
+      return 0L;
+    }
+
+    this.context = context;
+    long count = 0;
+    try (JsonParser parser = objectMapper.getFactory().createParser(is)) {
+      // Cancel might have been called before the context was set, in which case it didn't abort the connection
+      if (cancelled) {
+        abort();
+        return count;
+      }
+
+      // Jackson reads whitespace separated root values one after another, which is exactly NDJSON
+      while (!cancelled && parser.nextToken() != null) {
+        T value;
+        try {
+          value = reader.readValue(parser);
+        } catch (JsonProcessingException e) {
+          throw new JSONException("Failed to parse line [" + parser.getCurrentLocation().getLineNr() + "] of the NDJSON response", e);
+        }
+
+        consumer.accept(value);
+        count++;
+      }
+    } catch (IOException e) {
+      // The connection was aborted by a cancel
+      if (!cancelled) {
+        throw e;
+      }
+    } finally {
+      this.context = null;
+    }
+
+    return count;
+  }
+
+  /**
+   * Stops reading the stream and closes the connection. This can be called from the consumer or from any other thread. If a read is
+   * blocked waiting for the next document, it is interrupted.
+   */
+  public void cancel() {
+    cancelled = true;
+    abort();
+  }
+
+  /**
+   * @return True if {@link #cancel()} has been called.
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  private void abort() {
+    ResponseContext context = this.context;
+    if (context != null) {
+      context.abort();
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Body handler that writes the buffers from a Reactive Streams Publisher as the request body. On Java 9 and later, a
+ * <code>java.util.concurrent.Flow.Publisher</code> can be used by converting it with
+ * <code>org.reactivestreams.FlowAdapters.toPublisher()</code>.
+ * <p>
+ * Buffers are only requested from the publisher as they are written to the connection. At most <code>prefetch</code> buffers are
+ * requested ahead of the connection, so the rate of the upload follows how fast the server (and the network) can take the body. The
+ * buffers are written by the thread that called {@link RESTClient#go()}, which blocks until the publisher completes.
+ * <p>
+ * If the length of the body isn't given, it is sent using chunked encoding rather than being buffered.
+ *
+ * @author Brian Pontarelli
+ */
+public class PublisherBodyHandler implements RESTClient.BodyHandler {
+  public final String contentType;
+
+  public final Long length;
+
+  public final int prefetch;
+
+  public final Publisher<ByteBuffer> publisher;
+
+  public PublisherBodyHandler(String contentType, Publisher<ByteBuffer> publisher) {
+    this(contentType, null, publisher, 4);
+  }
+
+  /**
+   * @param contentType The Content-Type of the body.
+   * @param length      The length of the body or null if it isn't known.
+   * @param publisher   The publisher of the body.
+   * @param prefetch    The maximum number of buffers that are requested from the publisher before they are written.
+   */
+  public PublisherBodyHandler(String contentType, Long length, Publisher<ByteBuffer> publisher, int prefetch) {
+    if (prefetch < 1) {
+      throw new IllegalArgumentException("The prefetch must be at least 1");
+    }
+
+    this.contentType = contentType;
+    this.length = length;
+    this.publisher = publisher;
+    this.prefetch = prefetch;
+  }
+
+  @Override
+  public void accept(OutputStream os) throws IOException {
+    BodySubscriber subscriber = new BodySubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.writeTo(os, prefetch);
+    os.flush();
+  }
+
+  @Override
+  public byte[] getBody() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Object getBodyObject() {
+    return publisher;
+  }
+
+  @Override
+  public void setHeaders(HttpURLConnection huc) {
+    if (contentType != null) {
+      huc.addRequestProperty("Content-Type", contentType);
+    }
+
+    // Stream the body rather than letting HttpURLConnection buffer all of it
+    if (length != null) {
+      huc.addRequestProperty("Content-Length", "" + length);
+      huc.setFixedLengthStreamingMode(length);
+    } else {
+      huc.setChunkedStreamingMode(0);
+    }
+  }
+
+  /**
+   * Receives the buffers from the publisher, which may call it on any thread, and hands them to the thread writing the body.
+   */
+  private static final class BodySubscriber implements Subscriber<ByteBuffer> {
+    private final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<>();
+
+    private boolean complete;
+
+    private Throwable error;
+
+    private Subscription subscription;
+
+    @Override
+    public synchronized void onComplete() {
+      complete = true;
+      notifyAll();
+    }
+
+    @Override
+    public synchronized void onError(Throwable t) {
+      error = t;
+      notifyAll();
+    }
+
+    @Override
+    public synchronized void onNext(ByteBuffer buffer) {
+      buffers.add(buffer);
+      notifyAll();
+    }
+
+    @Override
+    public synchronized void onSubscribe(Subscription subscription) {
+      if (this.subscription != null) {
+        subscription.cancel();
+        return;
+      }
+
+      this.subscription = subscription;
+      notifyAll();
+    }
+
+    private void await() throws InterruptedIOException {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the publisher of the request body");
+      }
+    }
+
+    private synchronized Subscription awaitSubscription() throws IOException {
+      while (subscription == null && error == null) {
+        await();
+      }
+
+      if (subscription == null) {
+        throw failure();
+      }
+
+      return subscription;
+    }
+
+    private IOException failure() {
+      return error instanceof IOException ? (IOException) error : new IOException("The publisher of the request body failed", error);
+    }
+
+    private synchronized ByteBuffer next() throws IOException {
+      while (buffers.isEmpty() && !complete && error == null) {
+        await();
+      }
+
+      // Buffers that arrived before an error or the completion are still written
+      ByteBuffer buffer = buffers.poll();
+      if (buffer != null || complete) {
+        return buffer;
+      }
+
+      throw failure();
+    }
+
+    private void writeTo(OutputStream os, int prefetch) throws IOException {
+      Subscription subscription = awaitSubscription();
+      subscription.request(prefetch);
+
+      byte[] copy = null;
+      try {
+        ByteBuffer buffer;
+        while ((buffer = next()) != null) {
+          if (buffer.hasArray()) {
+            os.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+          } else {
+            if (copy == null) {
+              copy = BufferPool.DEFAULT.acquire(16 * 1024);
+            }
+
+            while (buffer.hasRemaining()) {
+              int length = Math.min(copy.length, buffer.remaining());
+              buffer.get(copy, 0, length);
+              os.write(copy, 0, length);
+            }
+          }
+
+          // Only ask for another buffer once this one has been handed to the connection
+          subscription.request(1);
+        }
+      } catch (IOException | RuntimeException e) {
+        subscription.cancel();
+        throw e;
+      } finally {
+        BufferPool.DEFAULT.release(copy);
+      }
+    }
+  }
+}
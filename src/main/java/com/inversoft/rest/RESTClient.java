@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016-2025, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2016-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 package com.inversoft.rest;
 
 import javax.net.ssl.HttpsURLConnection;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
@@ -30,19 +32,27 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import com.inversoft.http.Cookie;
+import com.inversoft.http.CookieJar;
+import com.inversoft.http.HTTPHeaders;
 import com.inversoft.http.HTTPStrings;
+import com.inversoft.net.UnixSocketURLs;
 import com.inversoft.net.ssl.SSLTools;
+import com.inversoft.rest.metrics.RESTMetrics;
+import com.inversoft.rest.metrics.RouteMetrics;
 
 /**
  * RESTful WebService call builder. This provides the ability to call RESTful WebServices using a builder pattern to
@@ -55,7 +65,7 @@ public class RESTClient<RS, ERS> {
 
   private final Class<ERS> errorType;
 
-  private final Map<String, List<String>> headers = new HashMap<>();
+  private final HTTPHeaders headers = new HTTPHeaders();
 
   private final Map<String, List<String>> parameters = new LinkedHashMap<>();
 
@@ -65,10 +75,16 @@ public class RESTClient<RS, ERS> {
 
   private BodyHandler bodyHandler;
 
+  private CancellationToken cancellationToken;
+
   private String certificate;
 
   private int connectTimeout = 2000;
 
+  private CookieJar cookieJar;
+
+  private Deadline deadline;
+
   private ResponseHandler<ERS> errorResponseHandler;
 
   private boolean followRedirects = true;
@@ -77,14 +93,26 @@ public class RESTClient<RS, ERS> {
 
   private String method;
 
+  private RESTMetrics metrics;
+
+  private RequestQueue.Priority priority;
+
   private ProxyInfo proxyInfo;
 
+  private RequestQueue queue;
+
   private int readTimeout = 2000;
 
+  private String route;
+
   private boolean sniVerificationDisabled;
 
   private ResponseHandler<RS> successResponseHandler;
 
+  private String tenant;
+
+  private HTTPTransport transport;
+
   private String userAgent = "Restify (https://github.com/inversoft/restify)";
 
   // Under no circumstances should a POST request be retried due to an exception.
@@ -115,7 +143,7 @@ public class RESTClient<RS, ERS> {
       return this;
     }
 
-    this.headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+    this.headers.add(name, value);
 
     return this;
   }
@@ -216,16 +244,16 @@ public class RESTClient<RS, ERS> {
 
   public RESTClient<RS, ERS> authorization(String key) {
     if (key != null && !key.isEmpty()) {
-      this.headers.put("Authorization", Collections.singletonList(key));
+      this.headers.set(HTTPStrings.Headers.Authorization, key);
     } else {
-      this.headers.remove("Authorization");
+      this.headers.remove(HTTPStrings.Headers.Authorization);
     }
     return this;
   }
 
   public RESTClient<RS, ERS> basicAuthorization(String username, String password) {
     if (username != null && password != null) {
-      this.headers.put("Authorization", Collections.singletonList(base64Basic(username, password)));
+      this.headers.set(HTTPStrings.Headers.Authorization, base64Basic(username, password));
     }
     return this;
   }
@@ -235,6 +263,17 @@ public class RESTClient<RS, ERS> {
     return this;
   }
 
+  /**
+   * Sets the token that cancels the request while it is in flight. See {@link CancellationToken}.
+   *
+   * @param cancellationToken The token.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> cancellationToken(CancellationToken cancellationToken) {
+    this.cancellationToken = cancellationToken;
+    return this;
+  }
+
   public RESTClient<RS, ERS> certificate(String certificate) {
     this.certificate = certificate;
     return this;
@@ -250,6 +289,18 @@ public class RESTClient<RS, ERS> {
     return this;
   }
 
+  /**
+   * Attaches a cookie jar to this request. The cookies in the jar that match the URL are sent with the request (after any cookies added
+   * using {@link #cookie(Cookie)}) and the cookies from the response are stored in the jar.
+   *
+   * @param cookieJar The cookie jar, which is usually shared by many requests.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> cookieJar(CookieJar cookieJar) {
+    this.cookieJar = cookieJar;
+    return this;
+  }
+
   public RESTClient<RS, ERS> cookies(Cookie... cookies) {
     this.cookies.addAll(Arrays.asList(cookies));
     return this;
@@ -260,6 +311,28 @@ public class RESTClient<RS, ERS> {
     return this;
   }
 
+  /**
+   * Sets the end-to-end deadline of the request, which covers connecting, writing the body and reading all of the response. If the
+   * thread has an earlier deadline (see {@link Deadline#enter()}), that one is used instead.
+   *
+   * @param deadline The deadline.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> deadline(Deadline deadline) {
+    this.deadline = deadline;
+    return this;
+  }
+
+  /**
+   * Sets the end-to-end deadline of the request to the given number of milliseconds from now.
+   *
+   * @param millis The milliseconds.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> deadline(long millis) {
+    return deadline(Deadline.after(millis));
+  }
+
   public RESTClient<RS, ERS> delete() {
     this.method = HTTPMethod.DELETE.name();
     return this;
@@ -308,7 +381,14 @@ public class RESTClient<RS, ERS> {
     response.request = (bodyHandler != null) ? bodyHandler.getBodyObject() : null;
     response.method = method;
 
-    HttpURLConnection huc;
+    HttpURLConnection huc = null;
+    HTTPTransport.Response transportResponse = null;
+    RouteMetrics routeMetrics = null;
+    RequestTracer.Trace trace = null;
+    long start = 0;
+    Deadline deadline = Deadline.earliest(this.deadline, Deadline.current());
+    InFlight inFlight = null;
+    RequestQueue acquired = null;
     try {
       if (parameters.size() > 0) {
         if (url.indexOf("?") == -1) {
@@ -332,109 +412,263 @@ public class RESTClient<RS, ERS> {
         }
       }
 
-      response.url = new URL(url.toString());
+      response.url = UnixSocketURLs.newURL(url.toString());
 
-      Proxy proxy = Proxy.NO_PROXY;
-      if (proxyInfo != null) {
-        if (proxyInfo.host != null && proxyInfo.port != -1) {
-          proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyInfo.host, proxyInfo.port));
-        }
+      trace = RequestTracer.get().start(method, response.url);
 
-        if (proxyInfo.username != null && proxyInfo.password != null) {
-          headers.put("Proxy-Authorization", Collections.singletonList(base64Basic(proxyInfo.username, proxyInfo.password)));
-        }
+      if (cancellationToken != null && cancellationToken.isCancelled()) {
+        throw new CancellationException("The request was cancelled");
       }
 
-      huc = (HttpURLConnection) response.url.openConnection(proxy);
-      if (response.url.getProtocol().equalsIgnoreCase("https")) {
-        HttpsURLConnection hsuc = (HttpsURLConnection) huc;
-        if (certificate != null) {
-          if (key != null) {
-            hsuc.setSSLSocketFactory(SSLTools.getSSLServerContext(certificate, key).getSocketFactory());
-          } else {
-            hsuc.setSSLSocketFactory(SSLTools.getSSLSocketFactory(certificate));
-          }
+      if (deadline != null && deadline.expired()) {
+        throw deadline.exceeded();
+      }
+
+      if (deadline != null || cancellationToken != null) {
+        InFlight call = inFlight = new InFlight();
+        if (deadline != null) {
+          call.timeout = deadline.schedule(() -> call.abort(deadline.exceeded()));
         }
 
-        if (sniVerificationDisabled) {
-          hsuc.setHostnameVerifier((hostname, session) -> true);
+        if (cancellationToken != null) {
+          call.registration = cancellationToken.onCancel(() -> call.abort(new CancellationException("The request was cancelled")));
         }
       }
 
-      huc.setInstanceFollowRedirects(followRedirects);
-      huc.setDoOutput(bodyHandler != null);
-      huc.setConnectTimeout(connectTimeout);
-      huc.setReadTimeout(readTimeout);
-      huc.setRequestMethod(method);
+      if (queue != null) {
+        queue.acquire(tenant, priority, deadline, cancellationToken);
+        acquired = queue;
+      }
 
-      if (headers.keySet().stream().noneMatch(name -> name.equalsIgnoreCase(HTTPStrings.Headers.UserAgent))) {
-        headers.put(HTTPStrings.Headers.UserAgent, Collections.singletonList(userAgent));
+      // The route metrics start once the request has left the queue, so time spent waiting isn't counted as in-flight or as latency
+      if (metrics != null) {
+        routeMetrics = metrics.route(response.url, route);
+        routeMetrics.start();
+        start = System.nanoTime();
       }
 
-      headers.forEach((name, values) -> values.forEach(value -> huc.addRequestProperty(name, value)));
+      if (!headers.contains(HTTPStrings.Headers.UserAgent)) {
+        headers.add(HTTPStrings.Headers.UserAgent, userAgent);
+      }
 
-      if (headers.keySet().stream().noneMatch(name -> name.equalsIgnoreCase(HTTPStrings.Headers.Cookie)) && cookies.size() > 0) {
-        String header = cookies.stream()
-                               .map(Cookie::toRequestHeader)
-                               .collect(Collectors.joining("; "));
-        huc.addRequestProperty(HTTPStrings.Headers.Cookie, header);
+      if (!headers.contains(HTTPStrings.Headers.Accept)) {
+        String accept = accept();
+        if (accept != null) {
+          headers.add(HTTPStrings.Headers.Accept, accept);
+        }
       }
 
-      if (bodyHandler != null) {
-        bodyHandler.setHeaders(huc);
+      String cookieHeader = null;
+      if ((cookies.size() > 0 || cookieJar != null) && !headers.contains(HTTPStrings.Headers.Cookie)) {
+        StringBuilder header = new StringBuilder();
+        for (Cookie cookie : cookies) {
+          if (header.length() > 0) {
+            header.append("; ");
+          }
+
+          header.append(cookie.toRequestHeader());
+        }
+
+        if (cookieJar != null) {
+          cookieJar.appendRequestHeader(response.url, header);
+        }
+
+        if (header.length() > 0) {
+          cookieHeader = header.toString();
+        }
       }
 
-      huc.connect();
+      if (transport != null) {
+        HTTPHeaders requestHeaders = new HTTPHeaders(headers.size() + 4);
+        headers.forEach(requestHeaders::add);
+        if (cookieHeader != null) {
+          requestHeaders.add(HTTPStrings.Headers.Cookie, cookieHeader);
+        }
+
+        if (bodyHandler != null) {
+          bodyHandler.setHeaders(response.url, requestHeaders, transport.supportsTrailers());
+        }
+
+        BodyHandler handler = routeMetrics != null && bodyHandler != null ? new CountingBodyHandler(bodyHandler, routeMetrics) : bodyHandler;
+        if (inFlight != null && handler != null) {
+          handler = new AbortableBodyHandler(handler, inFlight);
+        }
+
+        if (trace != null) {
+          if (handler != null) {
+            handler = trace.bodyHandler(handler);
+          } else {
+            trace.sent();
+          }
+        }
+
+        HTTPTransport.Request request = new HTTPTransport.Request(method, response.url, requestHeaders, handler, timeout(connectTimeout, deadline),
+            timeout(readTimeout, deadline));
+        if (inFlight != null) {
+          inFlight.request(request);
+        }
+
+        transportResponse = transport.send(request);
+        if (inFlight != null) {
+          inFlight.response(transportResponse);
+        }
+      } else {
+        Proxy proxy = Proxy.NO_PROXY;
+        if (proxyInfo != null) {
+          if (proxyInfo.host != null && proxyInfo.port != -1) {
+            proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyInfo.host, proxyInfo.port));
+          }
+
+          if (proxyInfo.username != null && proxyInfo.password != null) {
+            headers.set(HTTPStrings.Headers.ProxyAuthorization, base64Basic(proxyInfo.username, proxyInfo.password));
+          }
+        }
+
+        huc = (HttpURLConnection) response.url.openConnection(proxy);
+        if (inFlight != null) {
+          inFlight.connection(huc);
+        }
+
+        if (response.url.getProtocol().equalsIgnoreCase("https")) {
+          HttpsURLConnection hsuc = (HttpsURLConnection) huc;
+          if (certificate != null) {
+            if (key != null) {
+              hsuc.setSSLSocketFactory(SSLTools.getSSLServerContext(certificate, key).getSocketFactory());
+            } else {
+              hsuc.setSSLSocketFactory(SSLTools.getSSLSocketFactory(certificate));
+            }
+          }
+
+          if (sniVerificationDisabled) {
+            hsuc.setHostnameVerifier((hostname, session) -> true);
+          }
+        }
+
+        huc.setInstanceFollowRedirects(followRedirects);
+        huc.setDoOutput(bodyHandler != null);
+        huc.setConnectTimeout(timeout(connectTimeout, deadline));
+        huc.setReadTimeout(timeout(readTimeout, deadline));
+        huc.setRequestMethod(method);
+
+        headers.forEach(huc::addRequestProperty);
+
+        if (cookieHeader != null) {
+          huc.addRequestProperty(HTTPStrings.Headers.Cookie, cookieHeader);
+        }
+
+        if (bodyHandler != null) {
+          bodyHandler.setHeaders(huc);
+        }
+
+        if (trace != null) {
+          trace.connecting(huc);
+        }
+
+        huc.connect();
+
+        if (trace != null) {
+          trace.connected();
+        }
+
+        if (bodyHandler != null) {
+          BodyHandler handler = trace != null ? trace.bodyHandler(bodyHandler) : bodyHandler;
+          try (OutputStream os = huc.getOutputStream()) {
+            OutputStream target = routeMetrics != null ? routeMetrics.countSent(os) : os;
+            handler.accept(inFlight != null ? new AbortableOutputStream(target, inFlight) : target);
+            os.flush();
+          }
+        }
 
-      if (bodyHandler != null) {
-        try (OutputStream os = huc.getOutputStream()) {
-          bodyHandler.accept(os);
-          os.flush();
+        if (trace != null) {
+          trace.sent();
         }
       }
     } catch (Exception e) {
       response.status = -1;
       response.exception = e;
-      return response;
-    }
+      finish(response, inFlight, acquired);
+      if (routeMetrics != null) {
+        routeMetrics.finish(-1, System.nanoTime() - start);
+      }
+
+      if (trace != null) {
+        trace.finish(-1, e);
+      }
 
-    int status;
-    try {
-      status = huc.getResponseCode();
-    } catch (Exception e) {
-      response.status = -1;
-      response.exception = e;
       return response;
     }
 
-    response.setHeaders(huc.getHeaderFields());
-    response.status = status;
+    try {
+      return handleResponse(response, huc, transportResponse, routeMetrics, trace, inFlight);
+    } finally {
+      if (transportResponse != null) {
+        try {
+          transportResponse.close();
+        } catch (IOException e) {
+          // Ignore since the response has already been handled
+        }
+      }
 
-    if (status < 200 || status > 299) {
-      if (errorResponseHandler == null) {
-        return response;
+      finish(response, inFlight, acquired);
+      if (routeMetrics != null) {
+        routeMetrics.finish(response.status, System.nanoTime() - start);
       }
 
-      try (InputStream is = huc.getErrorStream()) {
-        response.errorResponse = errorResponseHandler.apply(is);
-      } catch (Exception e) {
-        response.exception = e;
-        return response;
+      if (trace != null) {
+        trace.finish(response.status, response.exception);
       }
-    } else {
-      if (successResponseHandler == null || method.equalsIgnoreCase(HTTPMethod.HEAD.name())) {
-        return response;
+    }
+  }
+
+  /**
+   * Sends the request using the given Executor. Cancelling the returned future cancels the request the same way as a {@link
+   * CancellationToken} (it also still honors the token set using {@link #cancellationToken(CancellationToken)}). Exceptions from the
+   * request are in the ClientResponse as usual, so the future only completes exceptionally if go() throws, for example because the
+   * request is missing a URL.
+   * <p>
+   * The deadline of the calling thread (see {@link Deadline#enter()}) is captured here and applies to the request, even though it runs on
+   * another thread.
+   *
+   * @param executor The Executor that runs the request, which should allow blocking.
+   * @return The future response.
+   */
+  public CompletableFuture<ClientResponse<RS, ERS>> goAsync(Executor executor) {
+    deadline = Deadline.earliest(deadline, Deadline.current());
+
+    CancellationToken token = new CancellationToken();
+    CancellationToken.Registration parent = cancellationToken != null ? cancellationToken.onCancel(token::cancel) : null;
+    cancellationToken = token;
+
+    CompletableFuture<ClientResponse<RS, ERS>> future = new CompletableFuture<ClientResponse<RS, ERS>>() {
+      @Override
+      public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        token.cancel();
+        return cancelled;
       }
+    };
 
-      try (InputStream is = huc.getInputStream()) {
-        response.successResponse = successResponseHandler.apply(is);
-      } catch (Exception e) {
-        response.exception = e;
-        return response;
+    try {
+      executor.execute(() -> {
+        try {
+          future.complete(go());
+        } catch (Throwable t) {
+          future.completeExceptionally(t);
+        } finally {
+          if (parent != null) {
+            parent.close();
+          }
+        }
+      });
+    } catch (RuntimeException e) {
+      if (parent != null) {
+        parent.close();
       }
+
+      throw e;
     }
 
-    return response;
+    return future;
   }
 
   public RESTClient<RS, ERS> head() {
@@ -466,13 +700,13 @@ public class RESTClient<RS, ERS> {
       // Set the override for PATCH
       if (method.equals(HTTPMethod.PATCH.name())) {
         this.method = HTTPMethod.POST.name();
-        this.headers.put("X-HTTP-Method-Override", Collections.singletonList(method));
+        this.headers.set(HTTPStrings.Headers.MethodOverride, method);
       } else {
         this.method = HTTPMethod.valueOf(method).name();
       }
     } catch (Exception e) {
       this.method = HTTPMethod.POST.name();
-      this.headers.put("X-HTTP-Method-Override", Collections.singletonList(method));
+      this.headers.set(HTTPStrings.Headers.MethodOverride, method);
     }
 
     return this;
@@ -482,13 +716,37 @@ public class RESTClient<RS, ERS> {
     return method(method.name());
   }
 
+  /**
+   * Records the request in the given metrics registry, under a route that is built from the host and path of the URL.
+   *
+   * @param metrics The metrics registry.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> metrics(RESTMetrics metrics) {
+    return metrics(metrics, null);
+  }
+
+  /**
+   * Records the request in the given metrics registry, under the given route template (for example <code>/api/user/{id}</code>) of the
+   * host of the URL.
+   *
+   * @param metrics The metrics registry.
+   * @param route   The path template of the route or null to build it from the path of the URL.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> metrics(RESTMetrics metrics, String route) {
+    this.metrics = metrics;
+    this.route = route;
+    return this;
+  }
+
   public Map<String, List<String>> parameters() {
     return parameters;
   }
 
   public RESTClient<RS, ERS> patch() {
     this.method = HTTPMethod.POST.name();
-    this.headers.put("X-HTTP-Method-Override", Collections.singletonList("PATCH"));
+    this.headers.set(HTTPStrings.Headers.MethodOverride, HTTPMethod.PATCH.name());
     return this;
   }
 
@@ -507,6 +765,22 @@ public class RESTClient<RS, ERS> {
     return this;
   }
 
+  /**
+   * Runs the request once the given queue grants it a permit, which it holds until the response has been handled. The time spent in the
+   * queue counts against the deadline of the request, and cancelling the request also removes it from the queue.
+   *
+   * @param queue    The queue.
+   * @param tenant   The tenant that the request is made for, which the queue uses to share the permits fairly. May be null.
+   * @param priority The priority of the request, or null for {@link RequestQueue.Priority#NORMAL}.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> queue(RequestQueue queue, String tenant, RequestQueue.Priority priority) {
+    this.queue = queue;
+    this.tenant = tenant;
+    this.priority = priority;
+    return this;
+  }
+
   public RESTClient<RS, ERS> readTimeout(int readTimeout) {
     this.readTimeout = readTimeout;
     return this;
@@ -546,18 +820,7 @@ public class RESTClient<RS, ERS> {
    * @return This.
    */
   public RESTClient<RS, ERS> setHeader(String name, String value) {
-    if (name == null) {
-      return this;
-    }
-
-    if (value == null) {
-      headers.remove(name);
-    } else {
-      List<String> list = new ArrayList<>();
-      list.add(value);
-      this.headers.put(name, list);
-    }
-
+    this.headers.set(name, value);
     return this;
   }
 
@@ -570,11 +833,7 @@ public class RESTClient<RS, ERS> {
    * @return This.
    */
   public RESTClient<RS, ERS> setHeaders(String name, List<String> values) {
-    if (values == null) {
-      headers.remove(name);
-    } else {
-      this.headers.put(name, new ArrayList<>(values.stream().filter(Objects::nonNull).collect(Collectors.toList())));
-    }
+    this.headers.setAll(name, values);
 
     return this;
   }
@@ -590,7 +849,7 @@ public class RESTClient<RS, ERS> {
     if (headers != null) {
       for (Entry<String, List<String>> e : headers.entrySet()) {
         if (e.getKey() != null && e.getValue() != null && e.getValue().stream().anyMatch(Objects::nonNull)) {
-          this.headers.put(e.getKey(), e.getValue().stream().filter(Objects::nonNull).collect(Collectors.toList()));
+          this.headers.setAll(e.getKey(), e.getValue());
         }
       }
     }
@@ -688,6 +947,19 @@ public class RESTClient<RS, ERS> {
     return this;
   }
 
+  /**
+   * Sends the request using the given transport instead of HttpURLConnection. The transport is responsible for connecting, so the proxy,
+   * certificate, SNI and redirect settings of this client don't apply. A transport is required for Unix domain socket URLs (see
+   * {@link UnixSocketURLs}).
+   *
+   * @param transport The transport.
+   * @return This.
+   */
+  public RESTClient<RS, ERS> transport(HTTPTransport transport) {
+    this.transport = transport;
+    return this;
+  }
+
   public RESTClient<RS, ERS> uri(String uri) {
     if (url.length() == 0) {
       return this;
@@ -769,12 +1041,122 @@ public class RESTClient<RS, ERS> {
     return this;
   }
 
+  private String accept() {
+    String success = successResponseHandler != null ? successResponseHandler.accept() : null;
+    String error = errorResponseHandler != null ? errorResponseHandler.accept() : null;
+    if (success == null || error == null || success.equals(error)) {
+      return success != null ? success : error;
+    }
+
+    return success + ", " + error;
+  }
+
   private String base64Basic(String username, String password) {
     String credentials = username + ":" + password;
     Base64.Encoder encoder = Base64.getEncoder();
     return "Basic " + encoder.encodeToString(credentials.getBytes());
   }
 
+  /**
+   * Cancels the deadline of the request, releases its queue permit and, if the deadline or a cancellation aborted the request, replaces the
+   * exception that the abort caused with one that says why.
+   */
+  private void finish(ClientResponse<RS, ERS> response, InFlight inFlight, RequestQueue acquired) {
+    if (acquired != null) {
+      acquired.release();
+    }
+
+    if (inFlight != null) {
+      Exception reason = inFlight.finish();
+      if (reason != null && response.exception != null && response.exception != reason) {
+        reason.addSuppressed(response.exception);
+        response.exception = reason;
+      }
+    }
+
+    response.cancelled = response.exception instanceof CancellationException;
+  }
+
+  private ClientResponse<RS, ERS> handleResponse(ClientResponse<RS, ERS> response, HttpURLConnection huc,
+                                                 HTTPTransport.Response transportResponse, RouteMetrics routeMetrics, RequestTracer.Trace trace,
+                                                 InFlight inFlight) {
+    int status;
+    try {
+      status = transportResponse != null ? transportResponse.status : huc.getResponseCode();
+    } catch (Exception e) {
+      response.status = -1;
+      response.exception = e;
+      return response;
+    }
+
+    if (trace != null) {
+      trace.responded(status);
+    }
+
+    response.setHeaders(transportResponse != null ? transportResponse.headers : huc.getHeaderFields());
+    response.status = status;
+
+    if (cookieJar != null) {
+      cookieJar.add(response.url, response.cookies);
+    }
+
+    if (inFlight != null) {
+      inFlight.reading();
+    }
+
+    Runnable abort = transportResponse != null ? transportResponse::abort : huc::disconnect;
+    ResponseContext context = new ResponseContext(status, response.getHTTPHeaders(), abort);
+    if (status < 200 || status > 299) {
+      if (errorResponseHandler == null) {
+        return response;
+      }
+
+      try (InputStream is = received(routeMetrics, trace, inFlight, errorResponseHandler, transportResponse != null ? transportResponse.body : huc.getErrorStream())) {
+        response.errorResponse = errorResponseHandler.apply(is, context);
+      } catch (Exception e) {
+        response.exception = e;
+        return response;
+      } finally {
+        if (trace != null) {
+          trace.decoded(response.exception);
+        }
+      }
+    } else {
+      if (successResponseHandler == null || method.equalsIgnoreCase(HTTPMethod.HEAD.name())) {
+        return response;
+      }
+
+      try (InputStream is = received(routeMetrics, trace, inFlight, successResponseHandler, transportResponse != null ? transportResponse.body : huc.getInputStream())) {
+        response.successResponse = successResponseHandler.apply(is, context);
+      } catch (Exception e) {
+        response.exception = e;
+        return response;
+      } finally {
+        if (trace != null) {
+          trace.decoded(response.exception);
+        }
+      }
+    }
+
+    return response;
+  }
+
+  private InputStream received(RouteMetrics routeMetrics, RequestTracer.Trace trace, InFlight inFlight, ResponseHandler<?> handler, InputStream is) {
+    if (inFlight != null && is != null) {
+      is = new AbortableInputStream(is, inFlight);
+    }
+
+    if (routeMetrics != null) {
+      is = routeMetrics.countReceived(is);
+    }
+
+    return trace != null ? trace.decoding(is, handler) : is;
+  }
+
+  private int timeout(int timeout, Deadline deadline) {
+    return deadline != null ? deadline.timeout(timeout) : timeout;
+  }
+
   /**
    * Standard HTTP methods.
    */
@@ -826,6 +1208,20 @@ public class RESTClient<RS, ERS> {
      * @param huc The HttpURLConnection to set headers into.
      */
     void setHeaders(HttpURLConnection huc);
+
+    /**
+     * Sets any headers for the HTTP body when the request is sent using an {@link HTTPTransport} rather than an HttpURLConnection. By
+     * default, this calls {@link #setHeaders(HttpURLConnection)} with a connection that only collects the headers into the given ones.
+     *
+     * @param url      The URL of the request.
+     * @param headers  The request headers, which the handler can add to and remove from.
+     * @param trailers True if the transport can send trailers (see {@link HTTPTransport#supportsTrailers()}). If it can and the headers
+     *                 don't have a Content-Length, the body is chunked and the OutputStream passed to {@link #accept(OutputStream)}
+     *                 implements {@link HTTPTransport.Trailers}.
+     */
+    default void setHeaders(URL url, HTTPHeaders headers, boolean trailers) {
+      setHeaders(new HeaderCapture(url, headers));
+    }
   }
 
   /**
@@ -834,6 +1230,16 @@ public class RESTClient<RS, ERS> {
    * @param <T> The type that is returned from the handler.
    */
   public interface ResponseHandler<T> {
+    /**
+     * The media type that this handler reads. If the request doesn't already have an Accept header, the media types of the success and
+     * error response handlers are sent in one.
+     *
+     * @return The media type or null if the handler doesn't need to ask for one. By default, this is null.
+     */
+    default String accept() {
+      return null;
+    }
+
     /**
      * Handles the InputStream that is the HTTP response and reads it in and converts it to a value.
      *
@@ -843,5 +1249,327 @@ public class RESTClient<RS, ERS> {
      * @throws IOException If the read failed.
      */
     T apply(InputStream is) throws IOException;
+
+    /**
+     * Handles the InputStream that is the HTTP response when the length of the response body might be known. Handlers that read the
+     * entire body can use the length to allocate their buffers once. By default, this ignores the length and calls {@link
+     * #apply(InputStream)}.
+     *
+     * @param is            The InputStream to read from.
+     * @param contentLength The value of the Content-Length header or -1 if it isn't known.
+     * @return The value.
+     *
+     * @throws IOException If the read failed.
+     */
+    default T apply(InputStream is, long contentLength) throws IOException {
+      return apply(is);
+    }
+
+    /**
+     * Handles the InputStream that is the HTTP response along with the status and headers of the response, which are known before the body
+     * is read. This is what the RESTClient calls. Handlers can use the context to skip responses that have no body, size their buffers
+     * and pick a character set. By default, this calls {@link #apply(InputStream, long)} with the Content-Length of the response.
+     *
+     * @param is      The InputStream to read from.
+     * @param context The status and headers of the response.
+     * @return The value.
+     *
+     * @throws IOException If the read failed.
+     */
+    default T apply(InputStream is, ResponseContext context) throws IOException {
+      return apply(is, context.contentLength);
+    }
+  }
+
+  /**
+   * Fails the writes of the body of a request that is sent by an {@link HTTPTransport} once the request has been aborted.
+   */
+  private static final class AbortableBodyHandler implements BodyHandler {
+    private final BodyHandler delegate;
+
+    private final InFlight inFlight;
+
+    private AbortableBodyHandler(BodyHandler delegate, InFlight inFlight) {
+      this.delegate = delegate;
+      this.inFlight = inFlight;
+    }
+
+    @Override
+    public void accept(OutputStream os) throws IOException {
+      delegate.accept(new AbortableOutputStream(os, inFlight));
+    }
+
+    @Override
+    public byte[] getBody() {
+      return delegate.getBody();
+    }
+
+    @Override
+    public Object getBodyObject() {
+      return delegate.getBodyObject();
+    }
+
+    @Override
+    public void setHeaders(HttpURLConnection huc) {
+      delegate.setHeaders(huc);
+    }
+  }
+
+  /**
+   * Fails the reads of a response body once the request has been aborted. HttpURLConnection can't close the connection of a kept-alive
+   * response while another thread is reading it (it drains the rest of the body instead), so an abort during the body only takes effect
+   * when the current read returns, which the read timeout bounds.
+   */
+  private static final class AbortableInputStream extends FilterInputStream {
+    private final InFlight inFlight;
+
+    private AbortableInputStream(InputStream in, InFlight inFlight) {
+      super(in);
+      this.inFlight = inFlight;
+    }
+
+    @Override
+    public int read() throws IOException {
+      check();
+      int b = in.read();
+      check();
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      check();
+      int read = in.read(b, off, len);
+      check();
+      return read;
+    }
+
+    private void check() throws IOException {
+      inFlight.check();
+    }
+  }
+
+  /**
+   * Fails the writes of a request body once the request has been aborted.
+   */
+  private static final class AbortableOutputStream extends TrailerForwardingOutputStream {
+    private final InFlight inFlight;
+
+    private AbortableOutputStream(OutputStream out, InFlight inFlight) {
+      super(out);
+      this.inFlight = inFlight;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      inFlight.check();
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      inFlight.check();
+      out.write(b, off, len);
+    }
+  }
+
+  /**
+   * Counts the bytes of the body that a BodyHandler sends through an {@link HTTPTransport}.
+   */
+  private static final class CountingBodyHandler implements BodyHandler {
+    private final BodyHandler delegate;
+
+    private final RouteMetrics routeMetrics;
+
+    private CountingBodyHandler(BodyHandler delegate, RouteMetrics routeMetrics) {
+      this.delegate = delegate;
+      this.routeMetrics = routeMetrics;
+    }
+
+    @Override
+    public void accept(OutputStream os) throws IOException {
+      delegate.accept(routeMetrics.countSent(os));
+    }
+
+    @Override
+    public byte[] getBody() {
+      return delegate.getBody();
+    }
+
+    @Override
+    public Object getBodyObject() {
+      return delegate.getBodyObject();
+    }
+
+    @Override
+    public void setHeaders(HttpURLConnection huc) {
+      delegate.setHeaders(huc);
+    }
+  }
+
+  /**
+   * The parts of a request that are closed to abort it from another thread while it is in flight.
+   * <p>
+   * Aborts come from the shared timer thread (deadlines) and from whichever thread cancels a token, so they must not block. Disconnecting
+   * an HttpURLConnection closes its socket, which for HTTPS is an SSL close that can block while another thread is stuck writing the body,
+   * so it is handed off to a separate thread. The transport requests and responses abort without blocking.
+   */
+  private static final class InFlight {
+    private static final ExecutorService DISCONNECTS = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "restify-abort");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    private HttpURLConnection connection;
+
+    private boolean finished;
+
+    private boolean reading;
+
+    private volatile Exception reason;
+
+    private CancellationToken.Registration registration;
+
+    private HTTPTransport.Request request;
+
+    private HTTPTransport.Response response;
+
+    private HashedWheelTimer.Timeout timeout;
+
+    void abort(Exception reason) {
+      HttpURLConnection disconnect;
+      synchronized (this) {
+        if (finished || this.reason != null) {
+          return;
+        }
+
+        this.reason = reason;
+        disconnect = connection != null && !reading ? connection : null;
+        abortTransport();
+      }
+
+      if (disconnect != null) {
+        DISCONNECTS.execute(disconnect::disconnect);
+      }
+    }
+
+    void check() throws InterruptedIOException {
+      if (reason != null) {
+        throw new InterruptedIOException("The request was aborted");
+      }
+    }
+
+    synchronized void connection(HttpURLConnection connection) {
+      this.connection = connection;
+      if (reason != null) {
+        close();
+      }
+    }
+
+    /**
+     * Marks the request as finished, so it can no longer be aborted, and closes the connection if it was aborted while the body was being
+     * read.
+     *
+     * @return The reason the request was aborted or null if it wasn't.
+     */
+    Exception finish() {
+      if (timeout != null) {
+        timeout.cancel();
+      }
+
+      if (registration != null) {
+        registration.close();
+      }
+
+      HttpURLConnection disconnect;
+      synchronized (this) {
+        finished = true;
+        disconnect = reason != null && reading ? connection : null;
+      }
+
+      if (disconnect != null) {
+        disconnect.disconnect();
+      }
+
+      return reason;
+    }
+
+    synchronized void reading() {
+      reading = true;
+    }
+
+    synchronized void request(HTTPTransport.Request request) {
+      this.request = request;
+      if (reason != null) {
+        close();
+      }
+    }
+
+    synchronized void response(HTTPTransport.Response response) {
+      this.response = response;
+      if (reason != null) {
+        close();
+      }
+    }
+
+    private void abortTransport() {
+      if (request != null) {
+        request.abort();
+      }
+
+      if (response != null) {
+        response.abort();
+      }
+    }
+
+    private void close() {
+      if (connection != null && !reading) {
+        connection.disconnect();
+      }
+
+      abortTransport();
+    }
+  }
+
+  /**
+   * Collects the headers that a BodyHandler sets so that they can be sent by an {@link HTTPTransport}. This is never connected.
+   */
+  static class HeaderCapture extends HttpURLConnection {
+    private final HTTPHeaders headers;
+
+    private HeaderCapture(URL url, HTTPHeaders headers) {
+      super(url);
+      this.headers = headers;
+    }
+
+    @Override
+    public void addRequestProperty(String key, String value) {
+      headers.add(key, value);
+    }
+
+    @Override
+    public void connect() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void disconnect() {
+    }
+
+    @Override
+    public String getRequestProperty(String key) {
+      return headers.get(key);
+    }
+
+    @Override
+    public void setRequestProperty(String key, String value) {
+      headers.set(key, value);
+    }
+
+    @Override
+    public boolean usingProxy() {
+      return false;
+    }
   }
 }
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits the number of requests that are running at once and decides which of the queued requests runs next. Share an instance between
+ * RESTClients using {@link RESTClient#queue(RequestQueue, String, Priority)}.
+ * <p>
+ * Queued requests of a higher {@link Priority} always run before those of a lower one. Within a priority, the tenants that have requests
+ * queued take turns using deficit round robin, and each turn a tenant runs as many requests as its weight (1 unless it was set using
+ * {@link #weight(String, int)}). A tenant that queues thousands of background requests therefore only delays the other tenants by its
+ * share, no matter how far ahead of them it queued.
+ * <p>
+ * When nothing is queued, a request takes a permit with a single compare-and-set. Otherwise it is added to the lock-free queue of its
+ * tenant and parks until a permit is handed to it. Permits are handed out by whichever thread releases or queues one, but only one thread
+ * at a time does so, which keeps the round robin state single threaded without a lock. A request that is waiting gives up when its
+ * deadline is exceeded, its cancellation token is cancelled or its thread is interrupted.
+ * <p>
+ * The queue keeps a small amount of state for each tenant and priority it has seen, so tenants should be a bounded set, such as customer
+ * or job ids, rather than request ids.
+ *
+ * @author Brian Pontarelli
+ */
+public class RequestQueue {
+  private static final int ABANDONED = 2;
+
+  private static final int GRANTED = 1;
+
+  private static final int WAITING = 0;
+
+  public final int maxConcurrency;
+
+  private final AtomicInteger available;
+
+  private final AtomicBoolean dispatching = new AtomicBoolean();
+
+  private final PriorityClass[] queues = new PriorityClass[Priority.values().length];
+
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final ConcurrentHashMap<String, Integer> weights = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a queue.
+   *
+   * @param maxConcurrency The maximum number of requests that run at once.
+   */
+  public RequestQueue(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("The maximum concurrency must be at least 1");
+    }
+
+    this.maxConcurrency = maxConcurrency;
+    this.available = new AtomicInteger(maxConcurrency);
+    for (int i = 0; i < queues.length; i++) {
+      queues[i] = new PriorityClass();
+    }
+  }
+
+  /**
+   * Waits for a permit to run a request. Every call that returns must be followed by a call to {@link #release()}.
+   *
+   * @param tenant   The tenant of the request, or null for the default tenant.
+   * @param priority The priority of the request, or null for {@link Priority#NORMAL}.
+   * @param deadline The deadline of the request, or null.
+   * @param token    The cancellation token of the request, or null.
+   * @throws IOException If the deadline was exceeded (a SocketTimeoutException) or the thread was interrupted (an
+   *                     InterruptedIOException).
+   * @throws CancellationException If the token was cancelled.
+   */
+  public void acquire(String tenant, Priority priority, Deadline deadline, CancellationToken token) throws IOException {
+    if (queued.get() == 0 && take()) {
+      return;
+    }
+
+    Waiter waiter = new Waiter(Thread.currentThread());
+    CancellationToken.Registration registration = token != null ? token.onCancel(() -> LockSupport.unpark(waiter.thread)) : null;
+    try {
+      queues[(priority != null ? priority : Priority.NORMAL).ordinal()].enqueue(tenant != null ? tenant : "", waiter);
+      queued.incrementAndGet();
+      dispatch();
+
+      while (waiter.state.get() != GRANTED) {
+        if (token != null && token.isCancelled()) {
+          abandon(waiter);
+          throw new CancellationException("The request was cancelled");
+        }
+
+        if (deadline != null && deadline.expired()) {
+          abandon(waiter);
+          throw deadline.exceeded();
+        }
+
+        if (Thread.interrupted()) {
+          abandon(waiter);
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("The thread was interrupted while the request was queued");
+        }
+
+        if (deadline != null) {
+          LockSupport.parkNanos(this, deadline.remaining(TimeUnit.NANOSECONDS));
+        } else {
+          LockSupport.park(this);
+        }
+      }
+    } finally {
+      if (registration != null) {
+        registration.close();
+      }
+    }
+  }
+
+  /**
+   * @return The number of permits that are not being used.
+   */
+  public int available() {
+    return available.get();
+  }
+
+  /**
+   * @return The number of requests that are waiting for a permit.
+   */
+  public int queued() {
+    return queued.get();
+  }
+
+  /**
+   * Returns a permit and hands it to the next queued request, if there is one.
+   */
+  public void release() {
+    available.incrementAndGet();
+    dispatch();
+  }
+
+  /**
+   * Sets the weight of a tenant, which is the number of requests that it runs each turn relative to the other tenants of the same
+   * priority.
+   *
+   * @param tenant The tenant.
+   * @param weight The weight, which must be at least 1.
+   * @return This.
+   */
+  public RequestQueue weight(String tenant, int weight) {
+    if (weight < 1) {
+      throw new IllegalArgumentException("The weight must be at least 1");
+    }
+
+    weights.put(tenant, weight);
+    return this;
+  }
+
+  /**
+   * Gives up waiting. If the waiter was granted a permit in the meantime, the permit is passed on.
+   */
+  private void abandon(Waiter waiter) {
+    if (waiter.state.compareAndSet(WAITING, ABANDONED)) {
+      queued.decrementAndGet();
+    } else {
+      release();
+    }
+  }
+
+  /**
+   * Hands the available permits to queued requests. If another thread is already doing that, this leaves it to that thread, which checks
+   * again for permits and requests before it stops.
+   */
+  private void dispatch() {
+    while (queued.get() > 0 && available.get() > 0 && dispatching.compareAndSet(false, true)) {
+      try {
+        while (take()) {
+          Waiter waiter = next();
+          if (waiter == null) {
+            available.incrementAndGet();
+            break;
+          }
+
+          queued.decrementAndGet();
+          LockSupport.unpark(waiter.thread);
+        }
+      } finally {
+        dispatching.set(false);
+      }
+    }
+  }
+
+  /**
+   * Finds the next waiter in the highest priority that has one and grants it a permit. Must only be called by the dispatching thread.
+   */
+  private Waiter next() {
+    for (PriorityClass queue : queues) {
+      Waiter waiter = queue.next();
+      if (waiter != null) {
+        return waiter;
+      }
+    }
+
+    return null;
+  }
+
+  private boolean take() {
+    int current;
+    do {
+      current = available.get();
+      if (current == 0) {
+        return false;
+      }
+    } while (!available.compareAndSet(current, current - 1));
+
+    return true;
+  }
+
+  private int weight(String tenant) {
+    Integer weight = weights.get(tenant);
+    return weight != null ? weight : 1;
+  }
+
+  /**
+   * The priorities of requests, from highest to lowest.
+   */
+  public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+  }
+
+  /**
+   * The requests of one tenant and priority.
+   */
+  private static final class Flow {
+    private final AtomicBoolean active = new AtomicBoolean();
+
+    private final String tenant;
+
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of requests that the flow can still run this turn. Only used by the dispatching thread.
+     */
+    private int deficit;
+
+    private Flow(String tenant) {
+      this.tenant = tenant;
+    }
+  }
+
+  /**
+   * The flows of one priority, and the round robin over the ones that have requests queued.
+   */
+  private final class PriorityClass {
+    private final ConcurrentLinkedQueue<Flow> active = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentHashMap<String, Flow> flows = new ConcurrentHashMap<>();
+
+    /**
+     * The flow whose turn it is. Only used by the dispatching thread.
+     */
+    private Flow current;
+
+    void enqueue(String tenant, Waiter waiter) {
+      Flow flow = flows.computeIfAbsent(tenant, Flow::new);
+      flow.waiters.offer(waiter);
+      if (flow.active.compareAndSet(false, true)) {
+        active.offer(flow);
+      }
+    }
+
+    Waiter next() {
+      while (true) {
+        Flow flow = current;
+        if (flow == null) {
+          flow = active.poll();
+          if (flow == null) {
+            return null;
+          }
+
+          flow.deficit += weight(flow.tenant);
+          current = flow;
+        }
+
+        Waiter waiter = flow.waiters.poll();
+        if (waiter == null) {
+          // The flow is out of requests, so it loses the rest of its turn. If a request was added before it was marked inactive, it goes
+          // to the back of the round robin again.
+          flow.deficit = 0;
+          current = null;
+          flow.active.set(false);
+          if (!flow.waiters.isEmpty() && flow.active.compareAndSet(false, true)) {
+            active.offer(flow);
+          }
+
+          continue;
+        }
+
+        if (!waiter.state.compareAndSet(WAITING, GRANTED)) {
+          // The request gave up waiting, which doesn't use up the turn
+          continue;
+        }
+
+        if (--flow.deficit == 0) {
+          current = null;
+          active.offer(flow);
+        }
+
+        return waiter;
+      }
+    }
+  }
+
+  private static final class Waiter {
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    private final Thread thread;
+
+    private Waiter(Thread thread) {
+      this.thread = thread;
+    }
+  }
+}
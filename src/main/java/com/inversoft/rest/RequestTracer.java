@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Traces the phases of requests. The RESTClient and the NIOTransport use the tracer returned by {@link #get()}, which emits JDK Flight
+ * Recorder events (see {@link com.inversoft.rest.jfr.RequestTrace}) on JVMs that have the Flight Recorder and does nothing on JVMs that
+ * don't, such as Java 8 before 8u262. The Flight Recorder classes are loaded reflectively, so the client itself never depends on them.
+ *
+ * @author Brian Pontarelli
+ */
+public interface RequestTracer {
+  /**
+   * @return The tracer of this JVM.
+   */
+  static RequestTracer get() {
+    return RequestTracers.INSTANCE;
+  }
+
+  /**
+   * Begins tracing a connection that isn't made for a specific request, such as the connections of the NIOTransport.
+   *
+   * @param host The host or the path of the Unix domain socket.
+   * @param port The port.
+   * @return An action that the caller runs once the connection is made or null if nothing is being traced.
+   */
+  Runnable connecting(String host, int port);
+
+  /**
+   * Starts the trace of a request.
+   *
+   * @param method The HTTP method.
+   * @param url    The URL.
+   * @return The trace or null if nothing is being traced.
+   */
+  Trace start(String method, URL url);
+
+  /**
+   * The trace of a single request, which is used by the thread that calls go() and doesn't need to be thread-safe.
+   */
+  interface Trace {
+    /**
+     * Wraps the body handler of the request so that writing the body is traced. Once the body has been written, the time to first byte
+     * starts.
+     *
+     * @param delegate The body handler.
+     * @return The wrapped body handler.
+     */
+    RESTClient.BodyHandler bodyHandler(RESTClient.BodyHandler delegate);
+
+    /**
+     * Ends the connect phase of an HttpURLConnection once it has connected.
+     */
+    void connected();
+
+    /**
+     * Begins the connect phase of an HttpURLConnection.
+     *
+     * @param huc The connection, which must not be connected yet.
+     */
+    void connecting(HttpURLConnection huc);
+
+    /**
+     * Ends the decoding of the response body.
+     *
+     * @param exception The exception that the response handler threw, if any.
+     */
+    void decoded(Exception exception);
+
+    /**
+     * Begins the decoding of the response body.
+     *
+     * @param is      The response body, which might be null.
+     * @param handler The response handler.
+     * @return The response body, which the trace might wrap.
+     */
+    InputStream decoding(InputStream is, RESTClient.ResponseHandler<?> handler);
+
+    /**
+     * Ends the trace.
+     *
+     * @param status    The status of the response or -1 if the request failed.
+     * @param exception The exception of the request, if any.
+     */
+    void finish(int status, Exception exception);
+
+    /**
+     * Ends the time to first byte once the status and headers of the response have arrived.
+     *
+     * @param status The status.
+     */
+    void responded(int status);
+
+    /**
+     * Begins the time to first byte, unless the body handler has already begun it.
+     */
+    void sent();
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.net.URL;
+
+/**
+ * Loads the {@link RequestTracer} of the JVM.
+ *
+ * @author Brian Pontarelli
+ */
+final class RequestTracers {
+  static final RequestTracer INSTANCE = load();
+
+  private RequestTracers() {
+  }
+
+  private static RequestTracer load() {
+    try {
+      Class.forName("jdk.jfr.FlightRecorder");
+      return (RequestTracer) Class.forName("com.inversoft.rest.jfr.FlightRecorderTracer").getConstructor().newInstance();
+    } catch (Throwable t) {
+      // This JVM doesn't have the Flight Recorder, so nothing is ever traced
+      return new NoopTracer();
+    }
+  }
+
+  private static final class NoopTracer implements RequestTracer {
+    @Override
+    public Runnable connecting(String host, int port) {
+      return null;
+    }
+
+    @Override
+    public Trace start(String method, URL url) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import com.inversoft.http.HTTPHeaders;
+import com.inversoft.http.HTTPStrings;
+
+/**
+ * The parts of an HTTP response that are known before the body is read. This is passed to {@link RESTClient.ResponseHandler}s so that they
+ * can skip empty bodies, size their buffers and pick a decoder without reading ahead.
+ *
+ * @author Brian Pontarelli
+ */
+public class ResponseContext {
+  /**
+   * The character set from the charset parameter of the Content-Type header or null if there isn't one or it isn't supported.
+   */
+  public final Charset charset;
+
+  /**
+   * The value of the Content-Length header or -1 if it isn't known.
+   */
+  public final long contentLength;
+
+  /**
+   * The media type from the Content-Type header (without any parameters and in lowercase) or null if there isn't one.
+   */
+  public final String contentType;
+
+  public final HTTPHeaders headers;
+
+  public final int status;
+
+  private final Runnable abort;
+
+  public ResponseContext(int status, HTTPHeaders headers) {
+    this(status, headers, null);
+  }
+
+  /**
+   * @param status  The status code.
+   * @param headers The response headers.
+   * @param abort   Closes the connection of the response, or null if the response can't be aborted.
+   */
+  public ResponseContext(int status, HTTPHeaders headers, Runnable abort) {
+    this.status = status;
+    this.headers = headers;
+    this.abort = abort;
+    this.contentLength = parseContentLength(headers.get(HTTPStrings.Headers.ContentLength));
+
+    String value = headers.get(HTTPStrings.Headers.ContentType);
+    if (value == null) {
+      this.contentType = null;
+      this.charset = null;
+      return;
+    }
+
+    int semicolon = value.indexOf(';');
+    String mediaType = (semicolon == -1 ? value : value.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+    this.contentType = mediaType.isEmpty() ? null : mediaType;
+    this.charset = semicolon == -1 ? null : parseCharset(value, semicolon + 1);
+  }
+
+  /**
+   * Closes the connection of the response without reading the rest of the body. A read of the body that is blocked on another thread
+   * fails with an IOException. This may be called from any thread and is used to cancel responses that stream for a long time.
+   */
+  public void abort() {
+    if (abort != null) {
+      abort.run();
+    }
+  }
+
+  /**
+   * Returns the character set of the response or the given default if the response doesn't specify one.
+   *
+   * @param defaultCharset The default.
+   * @return The character set.
+   */
+  public Charset charsetOr(Charset defaultCharset) {
+    return charset != null ? charset : defaultCharset;
+  }
+
+  /**
+   * Determines if the response can have a body. Informational, 204 and 304 responses never have one and neither do responses with a
+   * Content-Length of 0.
+   *
+   * @return False if the response definitely has no body, true if it might.
+   */
+  public boolean hasBody() {
+    return status >= 200 && status != 204 && status != 304 && contentLength != 0;
+  }
+
+  private static Charset parseCharset(String value, int start) {
+    for (String parameter : value.substring(start).split(";")) {
+      int equals = parameter.indexOf('=');
+      if (equals == -1 || !parameter.substring(0, equals).trim().equalsIgnoreCase("charset")) {
+        continue;
+      }
+
+      String name = parameter.substring(equals + 1).trim();
+      if (name.length() > 1 && name.charAt(0) == '"' && name.charAt(name.length() - 1) == '"') {
+        name = name.substring(1, name.length() - 1);
+      }
+
+      try {
+        return Charset.forName(name);
+      } catch (IllegalArgumentException e) {
+        // Unsupported or illegal names are treated as missing
+        return null;
+      }
+    }
+
+    return null;
+  }
+
+  private static long parseContentLength(String value) {
+    if (value == null) {
+      return -1;
+    }
+
+    try {
+      long length = Long.parseLong(value.trim());
+      return length >= 0 ? length : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Sends the same request to a number of replicas and completes as soon as enough of them have answered successfully, or as soon as that
+ * is no longer possible. The replicas that are still running at that point are cancelled (see {@link CancellationToken}), so the result
+ * never waits for the slowest replica.
+ * <pre>
+ *   ScatterGather.Result&lt;User, Errors&gt; result = new ScatterGather&lt;User, Errors&gt;(executor)
+ *       .replica("us-east", new RESTClient&lt;&gt;(User.class, Errors.class).url("https://us-east.example.com/api/user/42")...)
+ *       .replica("us-west", new RESTClient&lt;&gt;(User.class, Errors.class).url("https://us-west.example.com/api/user/42")...)
+ *       .quorum(1)
+ *       .go();
+ * </pre>
+ * Each replica needs its own RESTClient, because a RESTClient can only send one request.
+ *
+ * @author Brian Pontarelli
+ */
+public class ScatterGather<RS, ERS> {
+  private final Executor executor;
+
+  private final Map<String, RESTClient<RS, ERS>> replicas = new LinkedHashMap<>();
+
+  private int quorum = 1;
+
+  private Predicate<ClientResponse<RS, ERS>> success = ClientResponse::wasSuccessful;
+
+  /**
+   * @param executor The executor that sends the requests, which needs to be able to run all the replicas at once.
+   */
+  public ScatterGather(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Sends the requests and waits for the result.
+   *
+   * @return The result.
+   */
+  public Result<RS, ERS> go() {
+    try {
+      return goAsync().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The thread was interrupted while waiting for the replicas", e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new CompletionException(e.getCause());
+    }
+  }
+
+  /**
+   * Sends the requests. Cancelling the returned future cancels all the replicas that are still running.
+   *
+   * @return The future result.
+   */
+  public CompletableFuture<Result<RS, ERS>> goAsync() {
+    if (replicas.isEmpty()) {
+      throw new IllegalStateException("You must add at least one replica");
+    }
+
+    if (quorum > replicas.size()) {
+      throw new IllegalStateException("The quorum [" + quorum + "] is larger than the number of replicas [" + replicas.size() + "]");
+    }
+
+    // Every replica is running before any of them is counted, so that a fast answer can't decide the result on its own
+    Gather gather = new Gather(quorum, success);
+    synchronized (gather) {
+      try {
+        for (Entry<String, RESTClient<RS, ERS>> replica : replicas.entrySet()) {
+          gather.running.put(replica.getKey(), replica.getValue().goAsync(executor));
+        }
+      } catch (RuntimeException e) {
+        gather.running.values().forEach(future -> future.cancel(true));
+        throw e;
+      }
+    }
+
+    new LinkedHashMap<>(gather.running).forEach((name, future) -> future.whenComplete((response, t) -> gather.completed(name, response, t)));
+    gather.result.whenComplete((result, t) -> gather.cancelRunning());
+    return gather.result;
+  }
+
+  /**
+   * Sets the number of replicas that must answer successfully. Defaults to 1, which completes with the first successful answer.
+   *
+   * @param quorum The quorum.
+   * @return This.
+   */
+  public ScatterGather<RS, ERS> quorum(int quorum) {
+    if (quorum < 1) {
+      throw new IllegalArgumentException("The quorum must be at least 1");
+    }
+
+    this.quorum = quorum;
+    return this;
+  }
+
+  /**
+   * Adds a replica.
+   *
+   * @param name   The name of the replica, which identifies it in the result.
+   * @param client The client, fully configured except for go().
+   * @return This.
+   */
+  public ScatterGather<RS, ERS> replica(String name, RESTClient<RS, ERS> client) {
+    if (replicas.putIfAbsent(name, client) != null) {
+      throw new IllegalArgumentException("The replica [" + name + "] was already added");
+    }
+
+    return this;
+  }
+
+  /**
+   * Sets the condition that a response must meet to count towards the quorum. Defaults to {@link ClientResponse#wasSuccessful()}.
+   *
+   * @param success The condition.
+   * @return This.
+   */
+  public ScatterGather<RS, ERS> success(Predicate<ClientResponse<RS, ERS>> success) {
+    this.success = success;
+    return this;
+  }
+
+  /**
+   * The answer of one replica.
+   */
+  public static class Reply<RS, ERS> {
+    /**
+     * The time from sending the requests until the replica answered.
+     */
+    public final long nanos;
+
+    public final String replica;
+
+    public final ClientResponse<RS, ERS> response;
+
+    /**
+     * True if the response counted towards the quorum.
+     */
+    public final boolean success;
+
+    public Reply(String replica, ClientResponse<RS, ERS> response, boolean success, long nanos) {
+      this.replica = replica;
+      this.response = response;
+      this.success = success;
+      this.nanos = nanos;
+    }
+  }
+
+  /**
+   * The outcome of a scatter-gather.
+   */
+  public static class Result<RS, ERS> {
+    /**
+     * The replicas that were cancelled because the result was already decided.
+     */
+    public final List<String> cancelled;
+
+    /**
+     * The time from sending the requests until the result was decided.
+     */
+    public final long nanos;
+
+    /**
+     * The replicas that answered before the result was decided, fastest first, including those whose responses didn't count towards the
+     * quorum.
+     */
+    public final List<Reply<RS, ERS>> replies;
+
+    /**
+     * True if the quorum was reached.
+     */
+    public final boolean succeeded;
+
+    public Result(boolean succeeded, List<Reply<RS, ERS>> replies, List<String> cancelled, long nanos) {
+      this.succeeded = succeeded;
+      this.replies = replies;
+      this.cancelled = cancelled;
+      this.nanos = nanos;
+    }
+
+    /**
+     * @return The successful replies, fastest first.
+     */
+    public List<Reply<RS, ERS>> successes() {
+      List<Reply<RS, ERS>> successes = new ArrayList<>();
+      for (Reply<RS, ERS> reply : replies) {
+        if (reply.success) {
+          successes.add(reply);
+        }
+      }
+
+      return successes;
+    }
+  }
+
+  /**
+   * The state of one go().
+   */
+  private final class Gather {
+    private final List<Reply<RS, ERS>> replies = new ArrayList<>();
+
+    private final int quorum;
+
+    private final CompletableFuture<Result<RS, ERS>> result = new CompletableFuture<>();
+
+    private final Map<String, CompletableFuture<ClientResponse<RS, ERS>>> running = new LinkedHashMap<>();
+
+    private final long start = System.nanoTime();
+
+    private final Predicate<ClientResponse<RS, ERS>> success;
+
+    private boolean decided;
+
+    private int failures;
+
+    private int successes;
+
+    private Gather(int quorum, Predicate<ClientResponse<RS, ERS>> success) {
+      this.quorum = quorum;
+      this.success = success;
+    }
+
+    void cancelRunning() {
+      List<CompletableFuture<ClientResponse<RS, ERS>>> cancel;
+      synchronized (this) {
+        cancel = new ArrayList<>(running.values());
+      }
+
+      cancel.forEach(future -> future.cancel(true));
+    }
+
+    void completed(String replica, ClientResponse<RS, ERS> response, Throwable t) {
+      long now = System.nanoTime();
+      Result<RS, ERS> outcome = null;
+      synchronized (this) {
+        if (decided || result.isDone()) {
+          return;
+        }
+
+        running.remove(replica);
+        if (t != null) {
+          // go() itself failed, for example because the client is missing a URL, so there is no response to report
+          decided = true;
+          result.completeExceptionally(t);
+          return;
+        }
+
+        boolean counts = success.test(response);
+        replies.add(new Reply<>(replica, response, counts, now - start));
+        if (counts) {
+          successes++;
+        } else {
+          failures++;
+        }
+
+        if (successes >= quorum || failures > replies.size() + running.size() - quorum || running.isEmpty()) {
+          decided = true;
+          outcome = new Result<>(successes >= quorum, Collections.unmodifiableList(new ArrayList<>(replies)),
+              Collections.unmodifiableList(new ArrayList<>(running.keySet())), now - start);
+        }
+      }
+
+      if (outcome != null) {
+        result.complete(outcome);
+      }
+    }
+  }
+}
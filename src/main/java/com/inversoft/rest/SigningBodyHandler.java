@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.function.Function;
+import javax.crypto.Mac;
+
+import com.inversoft.http.HTTPHeaders;
+import com.inversoft.http.HTTPStrings;
+
+/**
+ * Body handler that wraps another body handler and computes a digest, HMAC or signature of the body while it is written, so that signing
+ * a request doesn't require the entire body in memory (or a body handler that supports {@link RESTClient.BodyHandler#getBody()}) and the
+ * body is only produced once. The encoded result is sent in the given header:
+ * <p>
+ * <pre>
+ *   new RESTClient&lt;&gt;(Void.TYPE, Void.TYPE)
+ *       .bodyHandler(new SigningBodyHandler(new InputStreamBodyHandler("application/octet-stream", stream), "Digest",
+ *                                           Signer.of(MessageDigest.getInstance("SHA-256"))))
+ *       ...
+ * </pre>
+ * <p>
+ * If the transport supports trailers (see {@link HTTPTransport#supportsTrailers()}) and {@link #trailer} is true, the body is sent using
+ * chunked encoding and the result is sent as a trailer (announced using the Trailer header), so the body is streamed in a single pass.
+ * Otherwise, the header has to be sent before the body. In that case the body is written once when the headers are set, into memory up to
+ * {@link #memoryThreshold} bytes and into a temporary file after that, and the result is sent in the header along with the exact
+ * Content-Length. The buffered body is then copied to the connection and the temporary file is deleted.
+ * <p>
+ * Handlers hold the state of a single request and must not be shared.
+ *
+ * @author Brian Pontarelli
+ */
+public class SigningBodyHandler implements RESTClient.BodyHandler {
+  public RESTClient.BodyHandler delegate;
+
+  /**
+   * Encodes the digest or signature into the value of the header. Defaults to Base64.
+   */
+  public Function<byte[], String> encoder = Base64.getEncoder()::encodeToString;
+
+  public String header;
+
+  /**
+   * The number of bytes of the body that are buffered in memory before the body is spilled to a temporary file, when the header has to be
+   * sent before the body. Defaults to 64 KB.
+   */
+  public int memoryThreshold = 64 * 1024;
+
+  public Signer signer;
+
+  /**
+   * Whether or not the result is sent as a trailer when the transport supports it. Defaults to true.
+   */
+  public boolean trailer = true;
+
+  /**
+   * The encoded result, once it has been computed.
+   */
+  public String value;
+
+  private BodyBuffer buffer;
+
+  private boolean sendTrailer;
+
+  public SigningBodyHandler(RESTClient.BodyHandler delegate, String header, Signer signer) {
+    this.delegate = delegate;
+    this.header = header;
+    this.signer = signer;
+  }
+
+  @Override
+  public void accept(OutputStream os) throws IOException {
+    if (sendTrailer) {
+      if (!(os instanceof HTTPTransport.Trailers)) {
+        throw new IOException("The request body stream doesn't support trailers");
+      }
+
+      SigningOutputStream sos = new SigningOutputStream(os, signer);
+      delegate.accept(sos);
+      value = sos.finish(encoder);
+      ((HTTPTransport.Trailers) os).addTrailer(header, value);
+      return;
+    }
+
+    if (buffer == null) {
+      throw new IllegalStateException("The headers must be set before the body is written");
+    }
+
+    try {
+      buffer.writeTo(os);
+      os.flush();
+    } finally {
+      buffer.delete();
+      buffer = null;
+    }
+  }
+
+  @Override
+  public byte[] getBody() {
+    return delegate.getBody();
+  }
+
+  @Override
+  public Object getBodyObject() {
+    return delegate.getBodyObject();
+  }
+
+  @Override
+  public void setHeaders(HttpURLConnection huc) {
+    delegate.setHeaders(huc);
+
+    sendTrailer = false;
+    if (buffer != null) {
+      buffer.delete();
+    }
+
+    buffer = new BodyBuffer(memoryThreshold);
+    try {
+      SigningOutputStream sos = new SigningOutputStream(buffer, signer);
+      delegate.accept(sos);
+      buffer.close();
+      value = sos.finish(encoder);
+    } catch (IOException e) {
+      buffer.delete();
+      buffer = null;
+      throw new UncheckedIOException(e);
+    }
+
+    huc.setRequestProperty(header, value);
+    huc.setRequestProperty(HTTPStrings.Headers.ContentLength, "" + buffer.length);
+    try {
+      huc.setFixedLengthStreamingMode(buffer.length);
+    } catch (IllegalStateException e) {
+      // The delegate already switched the connection to chunked streaming, which works just as well
+    }
+  }
+
+  @Override
+  public void setHeaders(URL url, HTTPHeaders headers, boolean trailers) {
+    if (!trailer || !trailers) {
+      RESTClient.BodyHandler.super.setHeaders(url, headers, trailers);
+      return;
+    }
+
+    delegate.setHeaders(url, headers, true);
+
+    // A Content-Length would prevent the body from being chunked, which is the only way to send trailers
+    sendTrailer = true;
+    headers.remove(HTTPStrings.Headers.ContentLength);
+    headers.add("Trailer", header);
+  }
+
+  /**
+   * Computes the digest, HMAC or signature of a body. Signers are reset by {@link #finish()}, so they can be reused for another body once
+   * that is called, but they aren't thread-safe.
+   */
+  public interface Signer {
+    /**
+     * Wraps a MessageDigest (for example SHA-256 for Digest headers or SigV4 payload hashes).
+     *
+     * @param digest The digest.
+     * @return The Signer.
+     */
+    static Signer of(MessageDigest digest) {
+      return new Signer() {
+        @Override
+        public byte[] finish() {
+          return digest.digest();
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+          digest.update(b, off, len);
+        }
+      };
+    }
+
+    /**
+     * Wraps a Mac, which must already be initialized with the key.
+     *
+     * @param mac The Mac.
+     * @return The Signer.
+     */
+    static Signer of(Mac mac) {
+      return new Signer() {
+        @Override
+        public byte[] finish() {
+          return mac.doFinal();
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+          mac.update(b, off, len);
+        }
+      };
+    }
+
+    /**
+     * Wraps a Signature (for example SHA256withRSA), which must already be initialized for signing.
+     *
+     * @param signature The Signature.
+     * @return The Signer.
+     */
+    static Signer of(Signature signature) {
+      return new Signer() {
+        @Override
+        public byte[] finish() throws GeneralSecurityException {
+          return signature.sign();
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) throws GeneralSecurityException {
+          signature.update(b, off, len);
+        }
+      };
+    }
+
+    /**
+     * @return The digest, HMAC or signature of all the bytes passed to {@link #update(byte[], int, int)}.
+     * @throws GeneralSecurityException If the signature couldn't be computed.
+     */
+    byte[] finish() throws GeneralSecurityException;
+
+    /**
+     * Adds bytes of the body.
+     *
+     * @param b   The bytes.
+     * @param off The offset of the first byte.
+     * @param len The number of bytes.
+     * @throws GeneralSecurityException If the signature couldn't be updated.
+     */
+    void update(byte[] b, int off, int len) throws GeneralSecurityException;
+  }
+
+  /**
+   * Holds the body in memory up to the threshold and in a temporary file after that.
+   */
+  private static final class BodyBuffer extends OutputStream {
+    private final int memoryThreshold;
+
+    private Path file;
+
+    private OutputStream fileStream;
+
+    private long length;
+
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+
+    private BodyBuffer(int memoryThreshold) {
+      this.memoryThreshold = memoryThreshold;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (fileStream != null) {
+        fileStream.close();
+        fileStream = null;
+      }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (file == null && memory.size() + len > memoryThreshold) {
+        file = Files.createTempFile("restify-body", ".tmp");
+        fileStream = new BufferedOutputStream(Files.newOutputStream(file), 16 * 1024);
+        memory.writeTo(fileStream);
+        memory = null;
+      }
+
+      if (file == null) {
+        memory.write(b, off, len);
+      } else {
+        fileStream.write(b, off, len);
+      }
+
+      length += len;
+    }
+
+    private void delete() {
+      try {
+        close();
+        if (file != null) {
+          Files.deleteIfExists(file);
+        }
+      } catch (IOException e) {
+        // Ignore since the body is being thrown away
+      }
+    }
+
+    private void writeTo(OutputStream os) throws IOException {
+      if (file == null) {
+        memory.writeTo(os);
+      } else {
+        Files.copy(file, os);
+      }
+    }
+  }
+
+  /**
+   * Passes the body to the Signer as it is written to the underlying stream.
+   */
+  private static final class SigningOutputStream extends FilterOutputStream {
+    private final Signer signer;
+
+    private SigningOutputStream(OutputStream out, Signer signer) {
+      super(out);
+      this.signer = signer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      try {
+        signer.update(b, off, len);
+      } catch (GeneralSecurityException e) {
+        throw new IOException("Failed to sign the request body", e);
+      }
+
+      out.write(b, off, len);
+    }
+
+    private String finish(Function<byte[], String> encoder) throws IOException {
+      try {
+        return encoder.apply(signer.finish());
+      } catch (GeneralSecurityException e) {
+        throw new IOException("Failed to sign the request body", e);
+      }
+    }
+  }
+}
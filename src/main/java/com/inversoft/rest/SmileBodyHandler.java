@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.inversoft.http.HTTPStrings;
+
+/**
+ * Body handler that writes the body as Smile (binary JSON) using Jackson. Smile bodies are smaller and faster to write and parse than
+ * textual JSON, which makes them a good fit for traffic between Java services. By default, this uses the <code>defaultObjectMapper</code>
+ * variable, which has the same configuration and modules as {@link JSONBodyHandler#defaultObjectMapper}. The Content-Type is
+ * <code>application/x-jackson-smile</code>.
+ *
+ * @author Brian Pontarelli
+ */
+public class SmileBodyHandler extends JSONBodyHandler {
+  public final static ObjectMapper defaultObjectMapper = JSONBodyHandler.defaultObjectMapper.copyWith(new SmileFactory());
+
+  public SmileBodyHandler(Object request) {
+    super(request, HTTPStrings.ContentTypes.ApplicationSmile, defaultObjectMapper);
+  }
+
+  public SmileBodyHandler(Object request, ObjectMapper objectMapper) {
+    super(request, HTTPStrings.ContentTypes.ApplicationSmile, objectMapper);
+  }
+}
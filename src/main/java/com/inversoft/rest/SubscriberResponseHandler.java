@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Response handler that publishes the response body to a Reactive Streams Subscriber as ByteBuffers. On Java 9 and later, a
+ * <code>java.util.concurrent.Flow.Subscriber</code> can be used by converting it with
+ * <code>org.reactivestreams.FlowAdapters.toSubscriber()</code>. The response is the number of bytes that were published.
+ * <p>
+ * The body is only read from the connection when the subscriber has requested more buffers, so the rate of the download follows the
+ * demand of the subscriber and a slow subscriber slows the server down through TCP flow control rather than the body being buffered in
+ * memory. The body is read, and the subscriber is called, on the thread that called {@link RESTClient#go()}, which blocks while there is
+ * no demand. The subscriber may request more from any thread. Each buffer is newly allocated and belongs to the subscriber.
+ * <p>
+ * Cancelling the subscription closes the connection rather than reading the rest of the body. If reading the body fails, the subscriber
+ * is sent the error and the RESTClient response has the exception as usual.
+ * <p>
+ * Instances keep the state of a single response and must not be shared between requests.
+ *
+ * @author Brian Pontarelli
+ */
+public class SubscriberResponseHandler implements RESTClient.ResponseHandler<Long> {
+  private final int bufferSize;
+
+  private final Subscriber<? super ByteBuffer> subscriber;
+
+  public SubscriberResponseHandler(Subscriber<? super ByteBuffer> subscriber) {
+    this(subscriber, 8 * 1024);
+  }
+
+  /**
+   * @param subscriber The subscriber.
+   * @param bufferSize The maximum size of each buffer.
+   */
+  public SubscriberResponseHandler(Subscriber<? super ByteBuffer> subscriber, int bufferSize) {
+    this.subscriber = subscriber;
+    this.bufferSize = bufferSize;
+  }
+
+  @Override
+  public Long apply(InputStream is) throws IOException {
+    return apply(is, null);
+  }
+
+  @Override
+  public Long apply(InputStream is, ResponseContext context) throws IOException {
+    ResponseSubscription subscription = new ResponseSubscription(context);
+    subscriber.onSubscribe(subscription);
+
+    long total = 0;
+    try {
+      if (is != null && (context == null || context.hasBody())) {
+        while (subscription.awaitDemand()) {
+          byte[] buffer = new byte[bufferSize];
+          int read = is.read(buffer);
+          if (read == -1) {
+            break;
+          }
+
+          if (!subscription.consume()) {
+            return total;
+          }
+
+          total += read;
+          subscriber.onNext(ByteBuffer.wrap(buffer, 0, read));
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // A cancel closes the connection, which fails the read, so that isn't passed on
+      if (subscription.terminate()) {
+        subscriber.onError(subscription.error != null ? subscription.error : e);
+        if (subscription.error == null) {
+          throw e;
+        }
+      }
+
+      return total;
+    }
+
+    if (subscription.terminate()) {
+      if (subscription.error != null) {
+        subscriber.onError(subscription.error);
+      } else {
+        subscriber.onComplete();
+      }
+    }
+
+    return total;
+  }
+
+  /**
+   * The subscription, which tracks the demand of the subscriber. Demand is signalled from any thread while the body is read on the thread
+   * that called the handler.
+   */
+  private static final class ResponseSubscription implements Subscription {
+    private final ResponseContext context;
+
+    private boolean cancelled;
+
+    private long demand;
+
+    private Throwable error;
+
+    private boolean terminated;
+
+    private ResponseSubscription(ResponseContext context) {
+      this.context = context;
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (this) {
+        if (cancelled || terminated) {
+          return;
+        }
+
+        cancelled = true;
+        notifyAll();
+      }
+
+      abort();
+    }
+
+    @Override
+    public void request(long n) {
+      synchronized (this) {
+        if (cancelled || terminated) {
+          return;
+        }
+
+        notifyAll();
+        if (n > 0) {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+          return;
+        }
+
+        // Rule 3.9 of the specification
+        error = new IllegalArgumentException("The subscriber requested a non-positive number of buffers [" + n + "]");
+        cancelled = true;
+      }
+
+      abort();
+    }
+
+    private void abort() {
+      if (context != null) {
+        context.abort();
+      }
+    }
+
+    /**
+     * Waits until the subscriber requests at least one buffer.
+     *
+     * @return True if there is demand, false if the subscription was cancelled.
+     * @throws InterruptedIOException If the thread was interrupted while waiting.
+     */
+    private synchronized boolean awaitDemand() throws InterruptedIOException {
+      while (demand == 0 && !cancelled) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for the subscriber to request more of the response body");
+        }
+      }
+
+      return !cancelled;
+    }
+
+    /**
+     * Uses up one buffer of the demand.
+     *
+     * @return True if the buffer can be published, false if the subscription was cancelled while it was being read.
+     */
+    private synchronized boolean consume() {
+      if (cancelled) {
+        return false;
+      }
+
+      if (demand != Long.MAX_VALUE) {
+        demand--;
+      }
+
+      return true;
+    }
+
+    /**
+     * Ends the subscription.
+     *
+     * @return True if the subscriber should be sent a terminal signal, false if it already was or if it cancelled the subscription
+     *     (unless it was cancelled because of an invalid request, which is sent as an error).
+     */
+    private synchronized boolean terminate() {
+      if (terminated) {
+        return false;
+      }
+
+      terminated = true;
+      return !cancelled || error != null;
+    }
+  }
+}
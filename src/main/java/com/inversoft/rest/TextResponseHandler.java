@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016-2021, Inversoft Inc., All Rights Reserved
+ * Copyright (c) 2016-2026, Inversoft Inc., All Rights Reserved
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,29 +15,62 @@
  */
 package com.inversoft.rest;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Response handler that reads the entire body and converts it to a UTF-8 String.
+ * Response handler that reads the entire body and converts it to a String. By default, the body is decoded using the charset of the
+ * response's Content-Type header or UTF-8 if the response doesn't specify one. If the length of the body is known, it is read into a single
+ * array of that size.
  *
  * @author Brian Pontarelli
  */
 public class TextResponseHandler implements RESTClient.ResponseHandler<String> {
+  private final Charset charset;
+
+  private final boolean useResponseCharset;
+
+  public TextResponseHandler() {
+    this.charset = StandardCharsets.UTF_8;
+    this.useResponseCharset = true;
+  }
+
+  /**
+   * Always decodes the body using the given character set, regardless of the Content-Type header of the response.
+   *
+   * @param charset The character set.
+   */
+  public TextResponseHandler(Charset charset) {
+    this.charset = charset;
+    this.useResponseCharset = false;
+  }
+
   @Override
   public String apply(InputStream is) throws IOException {
+    return apply(is, -1);
+  }
+
+  @Override
+  public String apply(InputStream is, long contentLength) throws IOException {
+    if (is == null) {
+      return null;
+    }
+
+    return BodyReader.readString(is, contentLength, charset);
+  }
+
+  @Override
+  public String apply(InputStream is, ResponseContext context) throws IOException {
     if (is == null) {
       return null;
     }
 
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    byte[] buf = new byte[1024];
-    int read;
-    while ((read = is.read(buf)) != -1) {
-      baos.write(buf, 0, read);
+    if (!context.hasBody()) {
+      return "";
     }
 
-    return baos.toString("UTF-8");
+    return BodyReader.readString(is, context.contentLength, useResponseCharset ? context.charsetOr(charset) : charset);
   }
 }
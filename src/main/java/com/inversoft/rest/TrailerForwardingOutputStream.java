@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A FilterOutputStream for wrapping request body streams. Trailers are passed through to the wrapped stream, so wrapping the body of a
+ * transport that supports trailers (see {@link HTTPTransport.Trailers}) doesn't hide that support from the BodyHandler. Arrays are written
+ * to the wrapped stream in one call rather than a byte at a time.
+ *
+ * @author Brian Pontarelli
+ */
+public class TrailerForwardingOutputStream extends FilterOutputStream implements HTTPTransport.Trailers {
+  public TrailerForwardingOutputStream(OutputStream out) {
+    super(out);
+  }
+
+  @Override
+  public void addTrailer(String name, String value) {
+    if (!(out instanceof HTTPTransport.Trailers)) {
+      throw new IllegalStateException("The request body stream doesn't support trailers");
+    }
+
+    ((HTTPTransport.Trailers) out).addTrailer(name, value);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+  }
+}
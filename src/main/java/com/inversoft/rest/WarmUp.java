@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inversoft.net.UnixSocketURLs;
+
+/**
+ * Moves the cost of the first requests out of the request path by doing the one-time work up front, usually at startup:
+ * <ul>
+ *   <li>Building the Jackson serializers and deserializers for the given types, which Jackson otherwise does the first time each type is
+ *   used. The default ObjectMappers of the {@link JSONBodyHandler} and {@link JSONResponseHandler} are always warmed up.</li>
+ *   <li>Loading the default TLS context (the trust store and the SSL socket factory).</li>
+ *   <li>Resolving the hosts of the given URLs.</li>
+ *   <li>Opening keep-alive connections (including the TLS handshake) to the given URLs, by sending that many GET requests at once and
+ *   reading the responses so that the connections are returned to the keep-alive pool of HttpURLConnection or of the transport. The
+ *   status of the responses doesn't matter, but the URLs should be cheap to call, like a health check. GET is used rather than HEAD
+ *   because some servers close the connection after a HEAD request.</li>
+ * </ul>
+ * For example:
+ * <pre>
+ *   WarmUp.Report report = new WarmUp().types(User.class, Order.class)
+ *                                      .connections("https://api.example.com/health", 4)
+ *                                      .run();
+ *   logger.info("Warmed up\n" + report);
+ * </pre>
+ * <p>
+ * Note that HttpURLConnection keeps at most 5 idle connections per host unless the <code>http.maxConnections</code> system property is
+ * set, and that connections are only reused by requests that use the same TLS settings (a RESTClient that uses its own certificate has
+ * its own connections).
+ *
+ * @author Brian Pontarelli
+ */
+public class WarmUp {
+  private final Map<String, Integer> connections = new LinkedHashMap<>();
+
+  private final Set<ObjectMapper> objectMappers = new LinkedHashSet<>(Arrays.asList(JSONBodyHandler.defaultObjectMapper,
+      JSONResponseHandler.defaultObjectMapper));
+
+  private final List<Class<?>> types = new ArrayList<>();
+
+  private int connectTimeout = 2_000;
+
+  private int readTimeout = 5_000;
+
+  private HTTPTransport transport;
+
+  public WarmUp connectTimeout(int connectTimeout) {
+    this.connectTimeout = connectTimeout;
+    return this;
+  }
+
+  /**
+   * Opens keep-alive connections to the host of the given URL.
+   *
+   * @param url   The URL, which is sent GET requests.
+   * @param count The number of connections.
+   * @return This.
+   */
+  public WarmUp connections(String url, int count) {
+    connections.merge(url, count, Integer::sum);
+    return this;
+  }
+
+  /**
+   * Adds an ObjectMapper to warm up in addition to the default ones.
+   *
+   * @param objectMapper The ObjectMapper.
+   * @return This.
+   */
+  public WarmUp objectMapper(ObjectMapper objectMapper) {
+    objectMappers.add(objectMapper);
+    return this;
+  }
+
+  public WarmUp readTimeout(int readTimeout) {
+    this.readTimeout = readTimeout;
+    return this;
+  }
+
+  /**
+   * Runs all the steps of the warm up. Failures don't stop the warm up, they are recorded in the report.
+   *
+   * @return The report.
+   */
+  public Report run() {
+    long start = System.nanoTime();
+    List<Step> steps = new ArrayList<>();
+    for (ObjectMapper objectMapper : objectMappers) {
+      for (Class<?> type : types) {
+        steps.add(time("Serializer for [" + type.getName() + "]", () -> {
+          if (!objectMapper.canSerialize(type)) {
+            throw new IllegalArgumentException("Jackson can't serialize [" + type.getName() + "]");
+          }
+        }));
+        steps.add(time("Deserializer for [" + type.getName() + "]", () -> {
+          if (!objectMapper.canDeserialize(objectMapper.constructType(type))) {
+            throw new IllegalArgumentException("Jackson can't deserialize [" + type.getName() + "]");
+          }
+        }));
+      }
+    }
+
+    if (connections.keySet().stream().anyMatch(url -> url.regionMatches(true, 0, "https:", 0, 6))) {
+      steps.add(time("Default TLS context", () -> {
+        SSLContext.getDefault();
+        HttpsURLConnection.getDefaultSSLSocketFactory();
+      }));
+    }
+
+    connections.forEach((url, count) -> {
+      steps.add(time("DNS for [" + url + "]", () -> {
+        URL parsed = UnixSocketURLs.newURL(url);
+        if (!UnixSocketURLs.isUnixSocket(parsed)) {
+          InetAddress.getAllByName(parsed.getHost());
+        }
+      }));
+      steps.add(time(count + " connections to [" + url + "]", () -> connect(url, count)));
+    });
+
+    return new Report(steps, System.nanoTime() - start);
+  }
+
+  /**
+   * Uses the given transport for the connections rather than HttpURLConnection.
+   *
+   * @param transport The transport.
+   * @return This.
+   */
+  public WarmUp transport(HTTPTransport transport) {
+    this.transport = transport;
+    return this;
+  }
+
+  /**
+   * Adds the types whose JSON serializers and deserializers are built.
+   *
+   * @param types The types.
+   * @return This.
+   */
+  public WarmUp types(Class<?>... types) {
+    this.types.addAll(Arrays.asList(types));
+    return this;
+  }
+
+  private void connect(String url, int count) throws Exception {
+    // The requests wait for each other to start and then to get their responses so that they are all using a connection at the same
+    // time, which forces a connection for each of them
+    ExecutorService executor = Executors.newFixedThreadPool(count);
+    try {
+      CountDownLatch started = new CountDownLatch(count);
+      CountDownLatch responded = new CountDownLatch(count);
+      List<Future<ClientResponse<Void, Void>>> futures = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        futures.add(executor.submit(() -> {
+          started.countDown();
+          started.await();
+
+          boolean[] handled = new boolean[1];
+          RESTClient.ResponseHandler<Void> handler = is -> {
+            handled[0] = true;
+            return hold(is, responded);
+          };
+
+          ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+              .transport(transport)
+              .url(url)
+              .connectTimeout(connectTimeout)
+              .readTimeout(readTimeout)
+              .successResponseHandler(handler)
+              .errorResponseHandler(handler)
+              .get()
+              .go();
+          if (!handled[0]) {
+            responded.countDown();
+          }
+
+          return response;
+        }));
+      }
+
+      for (Future<ClientResponse<Void, Void>> future : futures) {
+        ClientResponse<Void, Void> response = future.get();
+        if (response.exception != null) {
+          throw response.exception;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Void hold(InputStream is, CountDownLatch responded) throws IOException {
+    responded.countDown();
+    try {
+      responded.await(readTimeout > 0 ? readTimeout : Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+
+    // The body must be read for the connection to be kept alive
+    if (is != null) {
+      byte[] buf = BufferPool.DEFAULT.acquire(8 * 1024);
+      try {
+        while (is.read(buf) != -1) {
+          // Discard
+        }
+      } finally {
+        BufferPool.DEFAULT.release(buf);
+      }
+    }
+
+    return null;
+  }
+
+  private static Step time(String name, Task task) {
+    long start = System.nanoTime();
+    try {
+      task.run();
+      return new Step(name, System.nanoTime() - start, null);
+    } catch (Exception e) {
+      return new Step(name, System.nanoTime() - start, e);
+    }
+  }
+
+  private interface Task {
+    void run() throws Exception;
+  }
+
+  /**
+   * The timings of a warm up.
+   */
+  public static class Report {
+    /**
+     * The total time in nanoseconds.
+     */
+    public final long duration;
+
+    public final List<Step> steps;
+
+    public Report(List<Step> steps, long duration) {
+      this.steps = Collections.unmodifiableList(steps);
+      this.duration = duration;
+    }
+
+    /**
+     * @return True if none of the steps failed.
+     */
+    public boolean isSuccessful() {
+      return steps.stream().allMatch(step -> step.exception == null);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder build = new StringBuilder();
+      for (Step step : steps) {
+        build.append(step).append("\n");
+      }
+
+      return build.append("Total ").append(duration / 1_000_000).append(" ms").toString();
+    }
+  }
+
+  /**
+   * A single step of a warm up.
+   */
+  public static class Step {
+    /**
+     * The time the step took in nanoseconds.
+     */
+    public final long duration;
+
+    /**
+     * The reason the step failed or null if it succeeded.
+     */
+    public final Exception exception;
+
+    public final String name;
+
+    public Step(String name, long duration, Exception exception) {
+      this.name = name;
+      this.duration = duration;
+      this.exception = exception;
+    }
+
+    @Override
+    public String toString() {
+      return name + " " + (duration / 1_000) / 1_000.0 + " ms" + (exception != null ? " FAILED " + exception : "");
+    }
+  }
+}
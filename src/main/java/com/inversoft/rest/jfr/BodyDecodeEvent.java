@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reading and decoding the response body using the ResponseHandler.
+ *
+ * @author Brian Pontarelli
+ */
+@Name("com.inversoft.restify.BodyDecode")
+@Label("Body Decode")
+@Description("Reading and decoding the response body")
+@StackTrace(false)
+public class BodyDecodeEvent extends RESTEvent {
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+  @Label("Handler")
+  public Class<?> handler;
+
+  @Label("Status")
+  public int status;
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writing the request body using the BodyHandler.
+ *
+ * @author Brian Pontarelli
+ */
+@Name("com.inversoft.restify.BodyWrite")
+@Label("Body Write")
+@Description("Writing the request body")
+@StackTrace(false)
+public class BodyWriteEvent extends RESTEvent {
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+  @Label("Handler")
+  public Class<?> handler;
+}
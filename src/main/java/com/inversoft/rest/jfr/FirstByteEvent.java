@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The time from the request being sent (after the body, if there is one) until the status and headers of the response have arrived.
+ *
+ * @author Brian Pontarelli
+ */
+@Name("com.inversoft.restify.FirstByte")
+@Label("Time To First Byte")
+@Description("Waiting for the status and headers of the response")
+@StackTrace(false)
+public class FirstByteEvent extends RESTEvent {
+  @Label("Status")
+  public int status;
+}
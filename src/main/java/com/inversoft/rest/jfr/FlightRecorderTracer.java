@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import java.net.URL;
+
+import com.inversoft.rest.RequestTracer;
+
+/**
+ * The {@link RequestTracer} that emits JDK Flight Recorder events. {@link RequestTracer#get()} loads it reflectively on JVMs that have the
+ * Flight Recorder.
+ *
+ * @author Brian Pontarelli
+ */
+public final class FlightRecorderTracer implements RequestTracer {
+  public FlightRecorderTracer() {
+    // Registers the listener that keeps track of recordings, so a JVM whose Flight Recorder is broken fails here rather than in a request
+    RequestTrace.recording();
+  }
+
+  @Override
+  public Runnable connecting(String host, int port) {
+    ConnectEvent event = RequestTrace.connecting(host, port);
+    return event != null ? event::commit : null;
+  }
+
+  @Override
+  public Trace start(String method, URL url) {
+    return RequestTrace.start(method, url);
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * The fields that every Restify event has. The URL and method are null for connection events of the NIOTransport, since a connection can
+ * be shared by many requests.
+ *
+ * @author Brian Pontarelli
+ */
+@Category("Restify")
+public abstract class RESTEvent extends Event {
+  @Label("Method")
+  public String method;
+
+  @Label("URL")
+  public String url;
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An entire request, from the call to go() until the response has been handled. The other events of the request happen during it and on
+ * the same thread (except for connection events of the NIOTransport, which happen on its event loops).
+ *
+ * @author Brian Pontarelli
+ */
+@Name("com.inversoft.restify.Request")
+@Label("Request")
+@Description("An HTTP request made using the RESTClient")
+public class RequestEvent extends RESTEvent {
+  @Label("Bytes Received")
+  @DataAmount
+  public long bytesReceived;
+
+  @Label("Bytes Sent")
+  @DataAmount
+  public long bytesSent;
+
+  @Label("Exception")
+  public Class<?> exception;
+
+  @Label("Status")
+  public int status;
+}
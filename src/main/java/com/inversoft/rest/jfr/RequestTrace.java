@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.inversoft.rest.CountingInputStream;
+import com.inversoft.rest.CountingOutputStream;
+import com.inversoft.rest.RESTClient;
+import com.inversoft.rest.RequestTracer;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Emits the JDK Flight Recorder events of a single request as it moves through its phases. The RESTClient only creates a trace while a
+ * recording is running (see {@link #start(String, URL)}), so when nothing is being recorded the only cost of the events is reading a
+ * volatile boolean once per request. Which of the events are recorded, and their thresholds, are controlled by the settings of the
+ * recording as usual.
+ * <p>
+ * HttpURLConnection makes the TCP connection and does the TLS handshake in a single call, so to record them separately the SSLSocketFactory
+ * of an HTTPS connection is wrapped while recording. The JDK only reuses kept-alive HTTPS connections that were made with the same
+ * factory, so this has a cost: when a recording starts, connections that were kept alive before it aren't reused and new ones are made
+ * (with a new handshake), and the same happens to the connections made during the recording once it stops. There is one wrapper per
+ * factory, so connections made during one recording are reused by the next one.
+ * <p>
+ * Traces are used by the thread that calls go() and are not thread-safe.
+ *
+ * @author Brian Pontarelli
+ */
+public final class RequestTrace implements RequestTracer.Trace {
+  private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+  private static final Map<SSLSocketFactory, WeakReference<TracingSSLSocketFactory>> FACTORIES = new WeakHashMap<>();
+
+  private static volatile boolean recording;
+
+  private final String method;
+
+  private final RequestEvent request = new RequestEvent();
+
+  private final String url;
+
+  private ConnectEvent connect;
+
+  private BodyDecodeEvent decode;
+
+  private FirstByteEvent firstByte;
+
+  private TLSHandshakeEvent handshake;
+
+  private CountingInputStream received;
+
+  private SSLSocket socket;
+
+  static {
+    try {
+      Listener.register();
+    } catch (Throwable t) {
+      // This JVM doesn't have the Flight Recorder, so nothing is ever recorded
+    }
+  }
+
+  private RequestTrace(String method, URL url) {
+    this.method = method;
+    this.url = url.toString();
+    request.begin();
+  }
+
+  /**
+   * Begins a connect event for a connection that isn't made for a specific request, such as the connections of the NIOTransport.
+   *
+   * @param host The host.
+   * @param port The port.
+   * @return The event, which the caller commits once the connection is made, or null if nothing is being recorded.
+   */
+  public static ConnectEvent connecting(String host, int port) {
+    if (!recording) {
+      return null;
+    }
+
+    ConnectEvent event = new ConnectEvent();
+    event.host = host;
+    event.port = port;
+    event.begin();
+    return event;
+  }
+
+  /**
+   * @return True if the Flight Recorder is recording.
+   */
+  public static boolean recording() {
+    return recording;
+  }
+
+  /**
+   * Starts the trace of a request.
+   *
+   * @param method The HTTP method.
+   * @param url    The URL.
+   * @return The trace or null if nothing is being recorded.
+   */
+  public static RequestTrace start(String method, URL url) {
+    return recording ? new RequestTrace(method, url) : null;
+  }
+
+  @Override
+  public RESTClient.BodyHandler bodyHandler(RESTClient.BodyHandler delegate) {
+    return new TracingBodyHandler(delegate);
+  }
+
+  @Override
+  public void connected() {
+    CURRENT.remove();
+    if (handshake != null) {
+      handshake.end();
+      if (handshake.shouldCommit()) {
+        fill(handshake);
+        SSLSession session = socket.getSession();
+        handshake.cipherSuite = session.getCipherSuite();
+        handshake.protocol = session.getProtocol();
+        handshake.commit();
+      }
+
+      handshake = null;
+      socket = null;
+    } else if (connect != null) {
+      commitConnect();
+    }
+  }
+
+  @Override
+  public void connecting(HttpURLConnection huc) {
+    connect = new ConnectEvent();
+    connect.host = huc.getURL().getHost();
+    connect.port = huc.getURL().getPort() == -1 ? huc.getURL().getDefaultPort() : huc.getURL().getPort();
+    if (huc instanceof HttpsURLConnection) {
+      HttpsURLConnection hsuc = (HttpsURLConnection) huc;
+      hsuc.setSSLSocketFactory(TracingSSLSocketFactory.wrap(hsuc.getSSLSocketFactory()));
+      CURRENT.set(this);
+    }
+
+    connect.begin();
+  }
+
+  @Override
+  public void decoded(Exception exception) {
+    if (decode == null) {
+      return;
+    }
+
+    decode.end();
+    decode.bytes = received != null ? received.getCount() : 0;
+    request.bytesReceived += decode.bytes;
+    if (decode.shouldCommit()) {
+      fill(decode);
+      decode.commit();
+    }
+
+    if (exception != null) {
+      handlerException(decode.handler, decode.status, exception);
+    }
+
+    decode = null;
+  }
+
+  @Override
+  public InputStream decoding(InputStream is, RESTClient.ResponseHandler<?> handler) {
+    decode = new BodyDecodeEvent();
+    decode.handler = handler.getClass();
+    decode.status = request.status;
+    decode.begin();
+    received = is != null ? new CountingInputStream(is) : null;
+    return received;
+  }
+
+  @Override
+  public void finish(int status, Exception exception) {
+    CURRENT.remove();
+    request.end();
+    if (request.shouldCommit()) {
+      fill(request);
+      request.status = status;
+      request.exception = exception != null ? exception.getClass() : null;
+      request.commit();
+    }
+  }
+
+  @Override
+  public void responded(int status) {
+    request.status = status;
+    if (firstByte == null) {
+      return;
+    }
+
+    firstByte.end();
+    if (firstByte.shouldCommit()) {
+      fill(firstByte);
+      firstByte.status = status;
+      firstByte.commit();
+    }
+
+    firstByte = null;
+  }
+
+  @Override
+  public void sent() {
+    if (firstByte == null) {
+      firstByte = new FirstByteEvent();
+      firstByte.begin();
+    }
+  }
+
+  private void commitConnect() {
+    connect.end();
+    if (connect.shouldCommit()) {
+      fill(connect);
+      connect.commit();
+    }
+
+    connect = null;
+  }
+
+  private void fill(RESTEvent event) {
+    event.method = method;
+    event.url = url;
+  }
+
+  private void handlerException(Class<?> handler, int status, Exception exception) {
+    HandlerExceptionEvent event = new HandlerExceptionEvent();
+    if (event.shouldCommit()) {
+      fill(event);
+      event.exception = exception.getClass();
+      event.handler = handler;
+      event.message = exception.getMessage();
+      event.status = status;
+      event.commit();
+    }
+  }
+
+  private void handshaking(SSLSocket socket) {
+    if (connect != null) {
+      commitConnect();
+    }
+
+    this.socket = socket;
+    handshake = new TLSHandshakeEvent();
+    handshake.begin();
+  }
+
+  /**
+   * Keeps the flag that says whether anything is being recorded up to date.
+   */
+  private static final class Listener implements FlightRecorderListener {
+    private static void register() {
+      Listener listener = new Listener();
+      FlightRecorder.addListener(listener);
+      if (FlightRecorder.isInitialized()) {
+        listener.update();
+      }
+    }
+
+    @Override
+    public void recordingStateChanged(Recording recording) {
+      update();
+    }
+
+    private void update() {
+      boolean running = false;
+      for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+        running |= recording.getState() == RecordingState.RUNNING;
+      }
+
+      recording = running;
+    }
+  }
+
+  /**
+   * Records the body write and begins the time to first byte.
+   */
+  private final class TracingBodyHandler implements RESTClient.BodyHandler {
+    private final RESTClient.BodyHandler delegate;
+
+    private TracingBodyHandler(RESTClient.BodyHandler delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void accept(OutputStream os) throws IOException {
+      BodyWriteEvent event = new BodyWriteEvent();
+      CountingOutputStream cos = new CountingOutputStream(os);
+      event.begin();
+      try {
+        delegate.accept(cos);
+      } catch (IOException | RuntimeException e) {
+        handlerException(delegate.getClass(), 0, e);
+        throw e;
+      } finally {
+        event.end();
+        request.bytesSent += cos.getCount();
+        if (event.shouldCommit()) {
+          fill(event);
+          event.bytes = cos.getCount();
+          event.handler = delegate.getClass();
+          event.commit();
+        }
+      }
+
+      sent();
+    }
+
+    @Override
+    public byte[] getBody() {
+      return delegate.getBody();
+    }
+
+    @Override
+    public Object getBodyObject() {
+      return delegate.getBodyObject();
+    }
+
+    @Override
+    public void setHeaders(HttpURLConnection huc) {
+      delegate.setHeaders(huc);
+    }
+  }
+
+  /**
+   * Hands HttpsURLConnection an unconnected plain socket, so that it connects the socket and then layers TLS over it, which is when the
+   * handshake begins. The JDK does the same thing for SSLSocketFactories that can't create unconnected sockets.
+   * <p>
+   * The JDK only reuses kept-alive HTTPS connections that were made with the same SSLSocketFactory, so each factory has a single wrapper,
+   * which is kept as long as the connections that use it (the wrapper is only weakly referenced, since it references the factory).
+   */
+  private static final class TracingSSLSocketFactory extends SSLSocketFactory {
+    private final SSLSocketFactory delegate;
+
+    private TracingSSLSocketFactory(SSLSocketFactory delegate) {
+      this.delegate = delegate;
+    }
+
+    private static SSLSocketFactory wrap(SSLSocketFactory factory) {
+      if (factory instanceof TracingSSLSocketFactory) {
+        return factory;
+      }
+
+      synchronized (FACTORIES) {
+        WeakReference<TracingSSLSocketFactory> reference = FACTORIES.get(factory);
+        TracingSSLSocketFactory wrapper = reference != null ? reference.get() : null;
+        if (wrapper == null) {
+          wrapper = new TracingSSLSocketFactory(factory);
+          FACTORIES.put(factory, new WeakReference<>(wrapper));
+        }
+
+        return wrapper;
+      }
+    }
+
+    @Override
+    public Socket createSocket() {
+      return new Socket();
+    }
+
+    @Override
+    public Socket createSocket(Socket s, String host, int port, boolean autoClose) throws IOException {
+      Socket socket = delegate.createSocket(s, host, port, autoClose);
+      RequestTrace trace = CURRENT.get();
+      if (trace != null && socket instanceof SSLSocket) {
+        trace.handshaking((SSLSocket) socket);
+      }
+
+      return socket;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+      return delegate.createSocket(host, port);
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+      return delegate.createSocket(host, port, localHost, localPort);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+      return delegate.createSocket(host, port);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+      return delegate.createSocket(address, port, localAddress, localPort);
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+      return delegate.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+      return delegate.getSupportedCipherSuites();
+    }
+  }
+}
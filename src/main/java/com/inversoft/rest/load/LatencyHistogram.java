@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, using the same log-linear bucketing as HdrHistogram. Values below 128 have their own
+ * buckets and every power of two above that is split into 64 linear buckets, so any recorded value is reported to within 1.6% (about two
+ * significant digits) across the entire range of a long. Recording a value is a couple of bit operations and an atomic increment of its
+ * bucket. The count, total, minimum and maximum are striped (using LongAdder and LongAccumulator), so threads recording at the same time
+ * don't contend on them. Recording never allocates, so it can be called from many threads on the hot path.
+ * <p>
+ * Reading the histogram while values are being recorded is not an atomic snapshot, so the statistics might be off by the values being
+ * recorded at that moment.
+ * <p>
+ * The percentiles that are reported are the highest value of the bucket that the percentile falls into (never more than the maximum
+ * recorded value), so they are never lower than the true value.
+ *
+ * @author Brian Pontarelli
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 7;
+
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  private static final int HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+  private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (64 - SUB_BUCKET_BITS) * HALF_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+  private final LongAdder total = new LongAdder();
+
+  private final LongAdder totalCount = new LongAdder();
+
+  /**
+   * @return The number of values recorded.
+   */
+  public long count() {
+    return totalCount.sum();
+  }
+
+  /**
+   * @return The largest value recorded or 0 if there are none.
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * @return The mean of the values recorded or 0 if there are none.
+   */
+  public double mean() {
+    long count = totalCount.sum();
+    return count == 0 ? 0 : (double) total.sum() / count;
+  }
+
+  /**
+   * @return The smallest value recorded or 0 if there are none.
+   */
+  public long min() {
+    long min = this.min.get();
+    return min == Long.MAX_VALUE ? 0 : min;
+  }
+
+  /**
+   * Returns the value at the given percentile.
+   *
+   * @param percentile The percentile between 0 and 100, for example 99.99.
+   * @return The value or 0 if there are no values.
+   */
+  public long percentile(double percentile) {
+    long count = totalCount.sum();
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(highestValue(i), max.get());
+      }
+    }
+
+    return max.get();
+  }
+
+  /**
+   * Records a value. Negative values are recorded as 0.
+   *
+   * @param value The value in nanoseconds.
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+
+    counts.incrementAndGet(index(value));
+    total.add(value);
+    totalCount.increment();
+    max.accumulate(value);
+    min.accumulate(value);
+  }
+
+  static long highestValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    int offset = index - SUB_BUCKET_COUNT;
+    int shift = offset / HALF_COUNT + 1;
+    long top = offset % HALF_COUNT + HALF_COUNT;
+    return ((top + 1) << shift) - 1;
+  }
+
+  static int index(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    // The shift leaves the top 7 bits of the value, which are between 64 and 127
+    int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+    int top = (int) (value >>> shift);
+    return SUB_BUCKET_COUNT + (shift - 1) * HALF_COUNT + (top - HALF_COUNT);
+  }
+}
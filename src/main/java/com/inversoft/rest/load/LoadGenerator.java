@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.load;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import com.inversoft.rest.ByteArrayResponseHandler;
+import com.inversoft.rest.HTTPTransport;
+import com.inversoft.rest.RESTClient;
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Drives RESTClient requests at a fixed, open-loop arrival rate and records their latencies, which is how deployments are sized and how
+ * changes to the transports and connection pooling are validated. For example:
+ * <pre>
+ *   LoadGenerator.Report report = new LoadGenerator().request(() -&gt; new RESTClient&lt;&gt;(byte[].class, Void.TYPE)
+ *                                                                     .url("http://localhost:8080/api/user")
+ *                                                                     .successResponseHandler(new ByteArrayResponseHandler())
+ *                                                                     .get())
+ *                                                    .rate(500)
+ *                                                    .warmUp(5_000)
+ *                                                    .duration(30_000)
+ *                                                    .run();
+ *   System.out.println(report);
+ * </pre>
+ * <p>
+ * Each request has an intended start time, which is fixed by the rate, and is handed to a pool of worker threads at that time whether or
+ * not the earlier requests have finished. Its latency is measured from the intended start time, so the time a request spends waiting
+ * because the server (or the client) fell behind is counted. This corrects for coordinated omission, which would otherwise hide most of
+ * a stall from the percentiles. The time from when each request was actually sent is recorded separately as the service time. When the
+ * two differ a lot, the worker pool is too small or the target can't keep up with the rate.
+ * <p>
+ * This can also be run from the command line (see {@link #main(String[])}).
+ *
+ * @author Brian Pontarelli
+ */
+public class LoadGenerator {
+  private static final double[] PERCENTILES = {50, 75, 90, 99, 99.9, 99.99, 100};
+
+  private long duration = 10_000;
+
+  private double rate = 100;
+
+  private Supplier<RESTClient<?, ?>> request;
+
+  private int threads = 64;
+
+  private long warmUp;
+
+  /**
+   * @param duration The number of milliseconds to measure, after the warm up. Defaults to 10 seconds.
+   * @return This.
+   */
+  public LoadGenerator duration(long duration) {
+    this.duration = duration;
+    return this;
+  }
+
+  /**
+   * Runs the load generator from the command line and prints the report. The options are:
+   * <pre>
+   *   --url &lt;url&gt;          The URL to GET. Defaults to an embedded HTTP server that returns a small JSON body.
+   *   --rate &lt;n&gt;           The requests per second. Defaults to 100.
+   *   --duration &lt;s&gt;       The number of seconds to measure. Defaults to 10.
+   *   --warm-up &lt;s&gt;        The number of seconds to send requests before measuring. Defaults to 0.
+   *   --threads &lt;n&gt;        The number of worker threads. Defaults to 64.
+   *   --nio                Use the NIOTransport rather than HttpURLConnection.
+   * </pre>
+   *
+   * @param args The arguments.
+   * @throws IOException If the embedded server could not be started.
+   */
+  public static void main(String[] args) throws IOException {
+    LoadGenerator generator = new LoadGenerator();
+    String url = null;
+    boolean nio = false;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--url":
+            url = args[++i];
+            break;
+          case "--rate":
+            generator.rate(Double.parseDouble(args[++i]));
+            break;
+          case "--duration":
+            generator.duration((long) (Double.parseDouble(args[++i]) * 1_000));
+            break;
+          case "--warm-up":
+            generator.warmUp((long) (Double.parseDouble(args[++i]) * 1_000));
+            break;
+          case "--threads":
+            generator.threads(Integer.parseInt(args[++i]));
+            break;
+          case "--nio":
+            nio = true;
+            break;
+          default:
+            throw new IllegalArgumentException("Invalid option [" + args[i] + "]");
+        }
+      }
+    } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+      System.err.println((e instanceof ArrayIndexOutOfBoundsException ? "Missing a value" : e.getMessage()) + "\n\n" +
+          "Usage: LoadGenerator [--url <url>] [--rate <n>] [--duration <s>] [--warm-up <s>] [--threads <n>] [--nio]");
+      System.exit(1);
+      return;
+    }
+
+    HttpServer server = null;
+    if (url == null) {
+      server = startServer();
+      url = "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    NIOTransport transport = nio ? new NIOTransport() : null;
+    try {
+      System.out.println("Sending GET " + url + " at " + generator.rate + " requests per second for " + generator.duration / 1_000.0 +
+          " seconds" + (generator.warmUp > 0 ? " after a " + generator.warmUp / 1_000.0 + " second warm up" : "") + "\n");
+      String target = url;
+      System.out.println(generator.request(() -> client(target, transport)).run());
+    } finally {
+      if (transport != null) {
+        transport.close();
+      }
+
+      if (server != null) {
+        server.stop(0);
+      }
+    }
+  }
+
+  /**
+   * @param rate The number of requests per second. Defaults to 100.
+   * @return This.
+   */
+  public LoadGenerator rate(double rate) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("The rate must be greater than 0");
+    }
+
+    this.rate = rate;
+    return this;
+  }
+
+  /**
+   * Sets the supplier of the requests. It is called on a worker thread for every request and must return a RESTClient that is ready for
+   * {@link RESTClient#go()} to be called. A request is successful if {@link com.inversoft.rest.ClientResponse#wasSuccessful()} is true.
+   * The response body should be read by a response handler so that keep-alive connections are reused.
+   *
+   * @param request The supplier.
+   * @return This.
+   */
+  public LoadGenerator request(Supplier<RESTClient<?, ?>> request) {
+    this.request = request;
+    return this;
+  }
+
+  /**
+   * Sends the requests and waits for all of them to finish.
+   *
+   * @return The report of the requests sent after the warm up.
+   */
+  public Report run() {
+    if (request == null) {
+      throw new IllegalStateException("You must specify the request");
+    }
+
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = new Thread(runnable, "load-generator-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.prestartAllCoreThreads();
+
+    Report report = new Report(rate);
+    long start = System.nanoTime();
+    long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(warmUp);
+    long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(duration);
+    try {
+      for (long i = 0; ; i++) {
+        // The intended start times are computed from the start, rather than by adding up intervals, so they don't drift
+        long intended = start + (long) (i * 1_000_000_000.0 / rate);
+        if (intended >= end) {
+          break;
+        }
+
+        long wait;
+        while ((wait = intended - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+
+        boolean measured = intended >= measureFrom;
+        executor.execute(() -> send(intended, measured ? report : null));
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+
+    report.finish(System.nanoTime() - measureFrom);
+    return report;
+  }
+
+  /**
+   * @param threads The number of worker threads that send the requests, which limits the number of requests in flight. Defaults to 64.
+   * @return This.
+   */
+  public LoadGenerator threads(int threads) {
+    this.threads = threads;
+    return this;
+  }
+
+  /**
+   * @param warmUp The number of milliseconds to send requests before measuring. Defaults to 0.
+   * @return This.
+   */
+  public LoadGenerator warmUp(long warmUp) {
+    this.warmUp = warmUp;
+    return this;
+  }
+
+  private static RESTClient<?, ?> client(String url, HTTPTransport transport) {
+    return new RESTClient<>(byte[].class, byte[].class).transport(transport)
+                                                       .url(url)
+                                                       .successResponseHandler(new ByteArrayResponseHandler())
+                                                       .errorResponseHandler(new ByteArrayResponseHandler())
+                                                       .get();
+  }
+
+  private static HttpServer startServer() throws IOException {
+    byte[] body = "{\"id\":\"4f1c2d3e-5a6b-7c8d-9e0f-a1b2c3d4e5f6\",\"name\":\"Load test\",\"active\":true}".getBytes(StandardCharsets.UTF_8);
+    // Otherwise the JDK server writes the headers and the body in separate packets and Nagle's algorithm adds 40ms to every response
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "load-generator-server");
+      thread.setDaemon(true);
+      return thread;
+    }));
+    server.createContext("/", exchange -> {
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    server.start();
+    return server;
+  }
+
+  private void send(long intended, Report report) {
+    long begin = System.nanoTime();
+    boolean successful;
+    try {
+      successful = request.get().go().wasSuccessful();
+    } catch (RuntimeException e) {
+      successful = false;
+    }
+
+    if (report != null) {
+      long done = System.nanoTime();
+      report.latency.record(done - intended);
+      report.serviceTime.record(done - begin);
+      (successful ? report.succeeded : report.failed).increment();
+    }
+  }
+
+  /**
+   * The results of a run, which only include the requests sent after the warm up.
+   */
+  public static class Report {
+    /**
+     * The number of requests that failed or had a status that wasn't 2xx.
+     */
+    public final LongAdder failed = new LongAdder();
+
+    /**
+     * The latencies in nanoseconds, measured from the time each request should have been sent.
+     */
+    public final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * The requested rate.
+     */
+    public final double rate;
+
+    /**
+     * The service times in nanoseconds, measured from the time each request was actually sent.
+     */
+    public final LatencyHistogram serviceTime = new LatencyHistogram();
+
+    public final LongAdder succeeded = new LongAdder();
+
+    /**
+     * The number of requests that finished per second, which is lower than the rate if the target couldn't keep up.
+     */
+    public double throughput;
+
+    public Report(double rate) {
+      this.rate = rate;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder build = new StringBuilder();
+      build.append(String.format("Requests    %d (%d succeeded, %d failed)%n", latency.count(), succeeded.sum(), failed.sum()));
+      build.append(String.format("Rate        %.1f/s requested, %.1f/s achieved%n%n", rate, throughput));
+      build.append(String.format("%-12s %14s %18s%n", "Percentile", "Latency (ms)", "Service time (ms)"));
+      for (double percentile : PERCENTILES) {
+        build.append(String.format("%-12s %14.3f %18.3f%n", percentile == 100 ? "max" : String.valueOf(percentile),
+            latency.percentile(percentile) / 1_000_000.0, serviceTime.percentile(percentile) / 1_000_000.0));
+      }
+
+      build.append(String.format("%-12s %14.3f %18.3f%n", "mean", latency.mean() / 1_000_000.0, serviceTime.mean() / 1_000_000.0));
+      return build.toString();
+    }
+
+    private void finish(long elapsed) {
+      throughput = elapsed > 0 ? latency.count() / (elapsed / 1_000_000_000.0) : 0;
+    }
+  }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.inversoft.net.UnixSocketURLs;
+
+/**
+ * A registry of request metrics that are kept per route and published as JMX MBeans. Pass it to the RESTClient to record a request:
+ * <p>
+ * <pre>
+ *   RESTMetrics metrics = new RESTMetrics("payments");
+ *   ...
+ *   new RESTClient&lt;&gt;(Void.TYPE, Void.TYPE)
+ *       .url("https://payments.example.com/api/charge/" + id)
+ *       .metrics(metrics)
+ *       ...
+ * </pre>
+ * <p>
+ * A route is the host (and port) of the URL plus a template of its path, so that the number of routes stays bounded no matter how many
+ * distinct URLs are called. Unless the template is given to the RESTClient, it is built from the path by replacing every segment that looks
+ * like an identifier (a number, a UUID, a long hex string or a long mix of letters and digits) with <code>{id}</code>, so that
+ * <code>/api/user/42/orders</code> is recorded as <code>/api/user/{id}/orders</code>. Once {@link #maxRoutes} routes exist, requests to any
+ * new template are recorded in the <code>{other}</code> route of their host. Likewise, once {@link #maxHosts} hosts exist, requests to any
+ * new host are all recorded in the single <code>{other}</code> route of the <code>{other}</code> host, so a client that calls an unbounded
+ * number of hosts (a webhook sender, for example) still has at most <code>maxRoutes + maxHosts + 1</code> routes.
+ * <p>
+ * Each route is registered with the MBeanServer as <code>com.inversoft.restify:type=Route,client=&lt;name&gt;,host=&lt;host&gt;,route=&lt;template&gt;</code>
+ * and is unregistered when the registry is closed.
+ * <p>
+ * Looking up the route of a path that has been seen before doesn't allocate. The raw paths are cached per host up to {@link
+ * #maxCachedPaths}, after which new paths are normalized on every request (which allocates a little, but the number of routes is still
+ * bounded). Unix domain socket URLs are always normalized.
+ *
+ * @author Brian Pontarelli
+ */
+public class RESTMetrics implements Closeable {
+  public static final String DOMAIN = "com.inversoft.restify";
+
+  public static final String ID = "{id}";
+
+  public static final String OTHER = "{other}";
+
+  /**
+   * The maximum number of raw paths that are cached per host.
+   */
+  public final int maxCachedPaths;
+
+  /**
+   * The maximum number of hosts, not counting the <code>{other}</code> host.
+   */
+  public final int maxHosts;
+
+  /**
+   * The maximum number of routes across all hosts, not counting the <code>{other}</code> routes.
+   */
+  public final int maxRoutes;
+
+  public final String name;
+
+  private final AtomicInteger hostCount = new AtomicInteger();
+
+  private final ConcurrentHashMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+  private final Host overflow = new Host(OTHER);
+
+  private final AtomicInteger routeCount = new AtomicInteger();
+
+  private final MBeanServer server;
+
+  /**
+   * Creates a registry that publishes its routes to the platform MBeanServer.
+   *
+   * @param name The name of the registry, which is used in the ObjectNames of the routes.
+   */
+  public RESTMetrics(String name) {
+    this(name, ManagementFactory.getPlatformMBeanServer(), 1_000, 100, 10_000);
+  }
+
+  /**
+   * Creates a registry that allows up to 100 hosts.
+   *
+   * @param name           The name of the registry, which is used in the ObjectNames of the routes.
+   * @param server         The MBeanServer to publish the routes to or null to not publish them.
+   * @param maxRoutes      The maximum number of routes.
+   * @param maxCachedPaths The maximum number of raw paths that are cached per host.
+   */
+  public RESTMetrics(String name, MBeanServer server, int maxRoutes, int maxCachedPaths) {
+    this(name, server, maxRoutes, 100, maxCachedPaths);
+  }
+
+  /**
+   * Creates a registry.
+   *
+   * @param name           The name of the registry, which is used in the ObjectNames of the routes.
+   * @param server         The MBeanServer to publish the routes to or null to not publish them.
+   * @param maxRoutes      The maximum number of routes.
+   * @param maxHosts       The maximum number of hosts.
+   * @param maxCachedPaths The maximum number of raw paths that are cached per host.
+   */
+  public RESTMetrics(String name, MBeanServer server, int maxRoutes, int maxHosts, int maxCachedPaths) {
+    this.name = name;
+    this.server = server;
+    this.maxRoutes = maxRoutes;
+    this.maxHosts = maxHosts;
+    this.maxCachedPaths = maxCachedPaths;
+  }
+
+  /**
+   * Builds the template of a path by replacing the segments that look like identifiers with <code>{id}</code>.
+   *
+   * @param path The path.
+   * @return The template.
+   */
+  public static String template(String path) {
+    if (path == null || path.isEmpty()) {
+      return "/";
+    }
+
+    StringBuilder build = null;
+    int start = 0;
+    while (start <= path.length()) {
+      int end = path.indexOf('/', start);
+      if (end == -1) {
+        end = path.length();
+      }
+
+      if (isIdentifier(path, start, end)) {
+        if (build == null) {
+          build = new StringBuilder(path.length()).append(path, 0, start);
+        }
+
+        build.append(ID);
+      } else if (build != null) {
+        build.append(path, start, end);
+      }
+
+      if (end < path.length() && build != null) {
+        build.append('/');
+      }
+
+      start = end + 1;
+    }
+
+    return build != null ? build.toString() : path;
+  }
+
+  /**
+   * Unregisters all the routes from the MBeanServer.
+   */
+  @Override
+  public void close() {
+    if (server == null) {
+      return;
+    }
+
+    for (Host host : hosts.values()) {
+      for (RouteMetrics route : host.routes.values()) {
+        try {
+          server.unregisterMBean(objectName(route));
+        } catch (JMException e) {
+          // Ignore since the route was never registered or was unregistered by someone else
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the route for the given URL.
+   *
+   * @param url      The URL.
+   * @param template The path template of the route or null to build it from the path of the URL.
+   * @return The route.
+   */
+  public RouteMetrics route(URL url, String template) {
+    boolean unix = UnixSocketURLs.isUnixSocket(url);
+    String authority = unix ? UnixSocketURLs.PROTOCOL + ":" + UnixSocketURLs.socketPath(url) : url.getAuthority();
+    Host host = hosts.get(authority);
+    if (host == null) {
+      host = host(authority);
+    }
+
+    if (host == overflow) {
+      RouteMetrics route = host.routes.get(OTHER);
+      return route != null ? route : register(host, OTHER);
+    }
+
+    if (template != null) {
+      RouteMetrics route = host.routes.get(template);
+      return route != null ? route : register(host, template);
+    }
+
+    String path = unix ? UnixSocketURLs.requestTarget(url) : url.getPath();
+    if (unix && path.indexOf('?') != -1) {
+      path = path.substring(0, path.indexOf('?'));
+    }
+
+    RouteMetrics route = host.paths.get(path);
+    if (route != null) {
+      return route;
+    }
+
+    template = template(path);
+    route = host.routes.get(template);
+    if (route == null) {
+      route = register(host, template);
+    }
+
+    if (!unix && host.paths.size() < maxCachedPaths) {
+      host.paths.putIfAbsent(path, route);
+    }
+
+    return route;
+  }
+
+  /**
+   * @return All the routes.
+   */
+  public List<RouteMetrics> routes() {
+    List<RouteMetrics> routes = new ArrayList<>();
+    hosts.values().forEach(host -> routes.addAll(host.routes.values()));
+    return routes;
+  }
+
+  private Host host(String authority) {
+    if (hostCount.get() >= maxHosts) {
+      Host host = hosts.get(authority);
+      if (host != null) {
+        return host;
+      }
+
+      hosts.putIfAbsent(OTHER, overflow);
+      return overflow;
+    }
+
+    Host created = new Host(authority);
+    Host host = hosts.putIfAbsent(authority, created);
+    if (host != null) {
+      return host;
+    }
+
+    hostCount.incrementAndGet();
+    return created;
+  }
+
+  private static boolean isIdentifier(String path, int start, int end) {
+    int length = end - start;
+    if (length == 0) {
+      return false;
+    }
+
+    boolean digits = false, hex = true, letters = false, alphanumeric = true;
+    for (int i = start; i < end; i++) {
+      char c = path.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+      } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+        letters = true;
+        hex &= (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+      } else if (c == '-' && length == 36) {
+        int offset = i - start;
+        if (offset != 8 && offset != 13 && offset != 18 && offset != 23) {
+          return false;
+        }
+
+        alphanumeric = false;
+      } else {
+        return false;
+      }
+    }
+
+    if (!letters) {
+      // A number
+      return !alphanumeric || digits;
+    }
+
+    if (!alphanumeric) {
+      // A UUID
+      return hex;
+    }
+
+    return (hex && length >= 16) || (digits && length >= 20);
+  }
+
+  private ObjectName objectName(RouteMetrics route) throws JMException {
+    return new ObjectName(DOMAIN + ":type=Route,client=" + ObjectName.quote(name) + ",host=" + ObjectName.quote(route.host) + ",route=" +
+        ObjectName.quote(route.route));
+  }
+
+  private RouteMetrics register(Host host, String template) {
+    if (!template.equals(OTHER) && routeCount.get() >= maxRoutes) {
+      template = OTHER;
+    }
+
+    RouteMetrics route = host.routes.get(template);
+    if (route != null) {
+      return route;
+    }
+
+    RouteMetrics created = new RouteMetrics(host.name, template);
+    route = host.routes.putIfAbsent(template, created);
+    if (route != null) {
+      return route;
+    }
+
+    if (!template.equals(OTHER)) {
+      routeCount.incrementAndGet();
+    }
+
+    if (server != null) {
+      try {
+        server.registerMBean(created, objectName(created));
+      } catch (JMException e) {
+        // The route is still recorded, it just can't be seen over JMX (most likely another registry has the same name)
+      }
+    }
+
+    return created;
+  }
+
+  private static final class Host {
+    private final String name;
+
+    private final ConcurrentHashMap<String, RouteMetrics> paths = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    private Host(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.metrics;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.inversoft.rest.CountingInputStream;
+import com.inversoft.rest.CountingOutputStream;
+import com.inversoft.rest.load.LatencyHistogram;
+
+/**
+ * The metrics of a single route, which is a host plus a path template such as <code>/api/user/{id}</code>. Counters are LongAdders, so
+ * many threads can record into the same route without contending on a single cache line, and the latencies are kept in a lock-free
+ * {@link LatencyHistogram}. Recording never allocates.
+ * <p>
+ * Routes are created by {@link RESTMetrics} and are normally recorded into by the RESTClient, using {@link #start()} when a request begins
+ * and {@link #finish(int, long)} when its response has been handled.
+ *
+ * @author Brian Pontarelli
+ */
+public class RouteMetrics implements RouteMetricsMBean {
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  public final String host;
+
+  public final LatencyHistogram latency = new LatencyHistogram();
+
+  public final String route;
+
+  private final LongAdder bytesReceived = new LongAdder();
+
+  private final LongAdder bytesSent = new LongAdder();
+
+  private final LongAdder exceptions = new LongAdder();
+
+  private final LongAdder inFlight = new LongAdder();
+
+  private final LongAdder requests = new LongAdder();
+
+  private final LongAdder[] statuses = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+  public RouteMetrics(String host, String route) {
+    this.host = host;
+    this.route = route;
+  }
+
+  /**
+   * Wraps the response body so that the bytes read from it are added to {@link #getBytesReceived()} as they are read.
+   *
+   * @param is The response body, which might be null.
+   * @return The wrapped stream or null if the body is null.
+   */
+  public InputStream countReceived(InputStream is) {
+    return is != null ? new CountingInputStream(is, bytesReceived) : null;
+  }
+
+  /**
+   * Wraps the request body so that the bytes written to it are added to {@link #getBytesSent()} as they are written. Trailers are passed
+   * through to the wrapped stream.
+   *
+   * @param os The request body.
+   * @return The wrapped stream.
+   */
+  public OutputStream countSent(OutputStream os) {
+    return new CountingOutputStream(os, bytesSent);
+  }
+
+  /**
+   * Records the end of a request.
+   *
+   * @param status The status of the response or -1 if the request failed with an exception.
+   * @param nanos  The latency of the request in nanoseconds.
+   */
+  public void finish(int status, long nanos) {
+    inFlight.decrement();
+    requests.increment();
+    latency.record(nanos);
+    if (status == -1) {
+      exceptions.increment();
+    } else if (status >= 100 && status < 600) {
+      statuses[status / 100 - 1].increment();
+    }
+  }
+
+  @Override
+  public long getBytesReceived() {
+    return bytesReceived.sum();
+  }
+
+  @Override
+  public long getBytesSent() {
+    return bytesSent.sum();
+  }
+
+  @Override
+  public long getExceptions() {
+    return exceptions.sum();
+  }
+
+  @Override
+  public String getHost() {
+    return host;
+  }
+
+  @Override
+  public long getInFlight() {
+    return inFlight.sum();
+  }
+
+  @Override
+  public double getLatency50thMillis() {
+    return latency.percentile(50) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getLatency90thMillis() {
+    return latency.percentile(90) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getLatency999thMillis() {
+    return latency.percentile(99.9) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getLatency99thMillis() {
+    return latency.percentile(99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getLatencyMaxMillis() {
+    return latency.max() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getLatencyMeanMillis() {
+    return latency.mean() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  @Override
+  public String getRoute() {
+    return route;
+  }
+
+  @Override
+  public long getStatus1xx() {
+    return statuses[0].sum();
+  }
+
+  @Override
+  public long getStatus2xx() {
+    return statuses[1].sum();
+  }
+
+  @Override
+  public long getStatus3xx() {
+    return statuses[2].sum();
+  }
+
+  @Override
+  public long getStatus4xx() {
+    return statuses[3].sum();
+  }
+
+  @Override
+  public long getStatus5xx() {
+    return statuses[4].sum();
+  }
+
+  /**
+   * Records the start of a request.
+   */
+  public void start() {
+    inFlight.increment();
+  }
+
+  @Override
+  public String toString() {
+    return host + route;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.metrics;
+
+/**
+ * The JMX view of the metrics of a single route. Latencies are in milliseconds and cover everything from the start of the request to the
+ * end of the response handler, and counts are totals since the route was first used.
+ *
+ * @author Brian Pontarelli
+ */
+public interface RouteMetricsMBean {
+  long getBytesReceived();
+
+  long getBytesSent();
+
+  long getExceptions();
+
+  String getHost();
+
+  long getInFlight();
+
+  double getLatency50thMillis();
+
+  double getLatency90thMillis();
+
+  double getLatency999thMillis();
+
+  double getLatency99thMillis();
+
+  double getLatencyMaxMillis();
+
+  double getLatencyMeanMillis();
+
+  long getRequests();
+
+  String getRoute();
+
+  long getStatus1xx();
+
+  long getStatus2xx();
+
+  long getStatus3xx();
+
+  long getStatus4xx();
+
+  long getStatus5xx();
+}
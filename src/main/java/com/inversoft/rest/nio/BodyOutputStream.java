@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.inversoft.http.HTTPHeaders;
+import com.inversoft.rest.BufferPool;
+import com.inversoft.rest.HTTPTransport;
+
+/**
+ * The stream that body handlers write the request body to. The body is collected into pooled arrays, which are queued on the connection
+ * as they fill up (or are flushed). If the request doesn't have a Content-Length, the body is sent using chunked encoding, and any trailers
+ * are sent after the last chunk.
+ *
+ * @author Brian Pontarelli
+ */
+final class BodyOutputStream extends OutputStream implements HTTPTransport.Trailers {
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private static final byte[] CRLF = {'\r', '\n'};
+
+  private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+  private final boolean chunked;
+
+  private final Connection connection;
+
+  private byte[] buffer = BufferPool.DEFAULT.acquire(BUFFER_SIZE);
+
+  private boolean closed;
+
+  private int count;
+
+  private HTTPHeaders trailers;
+
+  BodyOutputStream(Connection connection, boolean chunked) {
+    this.connection = connection;
+    this.chunked = chunked;
+  }
+
+  @Override
+  public void addTrailer(String name, String value) {
+    if (!chunked) {
+      throw new IllegalStateException("Trailers can only be sent with a chunked body");
+    }
+
+    if (closed) {
+      throw new IllegalStateException("The body has already been sent");
+    }
+
+    if (trailers == null) {
+      trailers = new HTTPHeaders(2);
+    }
+
+    trailers.add(name, value);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    try {
+      send();
+      if (chunked) {
+        connection.write(ByteBuffer.wrap(lastChunk()), false);
+      }
+    } finally {
+      closed = true;
+      BufferPool.DEFAULT.release(buffer);
+      buffer = null;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    send();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    ensureOpen();
+    if (count == buffer.length) {
+      send();
+    }
+
+    buffer[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      int length = Math.min(len, buffer.length - count);
+      System.arraycopy(b, off, buffer, count, length);
+      count += length;
+      off += length;
+      len -= length;
+      if (count == buffer.length) {
+        send();
+      }
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed || buffer == null) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  private byte[] lastChunk() {
+    if (trailers == null) {
+      return LAST_CHUNK;
+    }
+
+    StringBuilder build = new StringBuilder("0\r\n");
+    trailers.forEach((name, value) -> build.append(name).append(": ").append(value).append("\r\n"));
+    return build.append("\r\n").toString().getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  private void send() throws IOException {
+    ensureOpen();
+    if (count == 0) {
+      return;
+    }
+
+    // The connection releases the array once it has been written
+    byte[] full = buffer;
+    int length = count;
+    buffer = null;
+    count = 0;
+
+    if (chunked) {
+      try {
+        connection.write(ByteBuffer.wrap((Integer.toHexString(length) + "\r\n").getBytes(StandardCharsets.ISO_8859_1)), false);
+      } catch (IOException e) {
+        BufferPool.DEFAULT.release(full);
+        throw e;
+      }
+    }
+
+    connection.write(ByteBuffer.wrap(full, 0, length), true);
+    if (chunked) {
+      connection.write(ByteBuffer.wrap(CRLF), false);
+    }
+
+    buffer = BufferPool.DEFAULT.acquire(BUFFER_SIZE);
+  }
+}
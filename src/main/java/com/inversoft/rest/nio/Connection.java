@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.inversoft.rest.BufferPool;
+
+/**
+ * A connection to a server. All reading and writing of the socket happens on the connection's event loop. Threads sending requests add
+ * their writes to the connection's queue and the event loop writes them when the socket is writable.
+ * <p>
+ * Requests are answered in the order they were written, so the connection keeps the exchanges that are waiting for a response in a queue.
+ * When pipelining is enabled, there may be more than one.
+ *
+ * @author Brian Pontarelli
+ */
+final class Connection {
+  private static final int MAX_PENDING_WRITES = 256 * 1024;
+
+  final SocketChannel channel;
+
+  final EventLoop loop;
+
+  final HostPool pool;
+
+  private final long connectDeadline;
+
+  private final ArrayDeque<Exchange> exchanges = new ArrayDeque<>();
+
+  private final ResponseParser parser = new ResponseParser(this);
+
+  private final ArrayDeque<Write> writes = new ArrayDeque<>();
+
+  private boolean closed;
+
+  private boolean connected;
+
+  private Runnable connectTrace;
+
+  private IOException failure;
+
+  private long idleSince;
+
+  private SelectionKey key;
+
+  private boolean keepAlive = true;
+
+  private int pendingWrites;
+
+  private boolean readPaused;
+
+  private boolean streaming;
+
+  private int uses;
+
+  private boolean writeScheduled;
+
+  Connection(HostPool pool, EventLoop loop, SocketChannel channel, boolean connected, int connectTimeout, Runnable connectTrace) {
+    this.pool = pool;
+    this.loop = loop;
+    this.channel = channel;
+    this.connected = connected;
+    this.connectDeadline = connectTimeout > 0 ? System.currentTimeMillis() + connectTimeout : 0;
+    this.connectTrace = connectTrace;
+    if (connected) {
+      endConnectTrace();
+    }
+  }
+
+  /**
+   * Closes the connection from a thread other than the event loop.
+   *
+   * @param cause The reason, which is used to fail any outstanding exchanges.
+   */
+  void abort(IOException cause) {
+    loop.execute(() -> close(cause));
+  }
+
+  /**
+   * Closes the connection from a thread other than the event loop, but only if the exchange is still waiting for the rest of its response
+   * on it. This cancels the exchange without affecting a later request that has reused the connection.
+   *
+   * @param exchange The exchange.
+   * @param cause    The reason, which is used to fail any outstanding exchanges.
+   */
+  void abort(Exchange exchange, IOException cause) {
+    loop.execute(() -> {
+      boolean outstanding;
+      synchronized (this) {
+        outstanding = exchanges.contains(exchange);
+      }
+
+      if (outstanding) {
+        close(cause);
+      }
+    });
+  }
+
+  /**
+   * Checks if another request can be pipelined on this connection. Only called while holding the lock of the pool.
+   *
+   * @param depth The maximum number of outstanding requests.
+   * @return True if it can.
+   */
+  synchronized boolean canPipeline(int depth) {
+    return !closed && keepAlive && !streaming && exchanges.size() > 0 && exchanges.size() < depth;
+  }
+
+  /**
+   * Closes the connection and fails any outstanding exchanges. Only called on the event loop.
+   *
+   * @param cause The reason.
+   */
+  void close(IOException cause) {
+    pool.remove(this);
+
+    List<Exchange> failed;
+    List<Write> dropped;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      failure = cause;
+      failed = new ArrayList<>(exchanges);
+      exchanges.clear();
+      dropped = new ArrayList<>(writes);
+      writes.clear();
+      pendingWrites = 0;
+      notifyAll();
+    }
+
+    if (key != null) {
+      key.cancel();
+    }
+
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // Ignore since the connection is being thrown away
+    }
+
+    loop.remove(this);
+    dropped.forEach(Write::release);
+    failed.forEach(exchange -> exchange.fail(cause));
+  }
+
+  /**
+   * @return The exchange whose response is being read or null if there isn't one.
+   */
+  synchronized Exchange current() {
+    return exchanges.peek();
+  }
+
+  /**
+   * Adds an exchange to the connection and queues its request head. Only called while holding the lock of the pool.
+   *
+   * @param exchange  The exchange.
+   * @param head      The encoded request line and headers.
+   * @param streaming True if the caller will write a body after the head, in which case nothing can be pipelined behind it until the body
+   *                  is done.
+   * @throws IOException If the connection is closed.
+   */
+  synchronized void enqueue(Exchange exchange, byte[] head, boolean streaming) throws IOException {
+    if (closed) {
+      throw new IOException("The connection is closed", failure);
+    }
+
+    exchange.attach(this, uses > 0 || !exchanges.isEmpty());
+    exchanges.add(exchange);
+    uses++;
+    idleSince = 0;
+    if (streaming) {
+      this.streaming = true;
+    }
+    if (exchange.closeRequested) {
+      keepAlive = false;
+    }
+
+    add(new Write(ByteBuffer.wrap(head), false));
+  }
+
+  /**
+   * Closes the connection if it failed to connect in time or if it has been idle for too long. Only called on the event loop.
+   *
+   * @param now              The current time.
+   * @param keepAliveTimeout The maximum time a connection may be idle.
+   */
+  void expire(long now, long keepAliveTimeout) {
+    if (!connected) {
+      if (connectDeadline > 0 && now > connectDeadline) {
+        close(new SocketTimeoutException("Connect timed out"));
+      }
+
+      return;
+    }
+
+    boolean expired;
+    synchronized (this) {
+      expired = idleSince > 0 && now - idleSince > keepAliveTimeout;
+    }
+
+    if (expired) {
+      close(new IOException("The connection was idle for too long"));
+    }
+  }
+
+  /**
+   * Marks that the caller has finished writing the request body, so requests can be pipelined behind it. If the response was completed
+   * before the body was written, the server may not have read the body, so the connection is closed rather than reused.
+   */
+  void finishStreaming() {
+    boolean done;
+    synchronized (this) {
+      streaming = false;
+      done = !keepAlive && exchanges.isEmpty() && !closed;
+    }
+
+    if (done) {
+      abort(new IOException("The response was received before the request body was sent"));
+    }
+  }
+
+  /**
+   * Marks the connection as idle. Only called while holding the lock of the pool.
+   *
+   * @return True if the connection is idle and can be reused, false if it has outstanding exchanges or shouldn't be kept alive.
+   */
+  synchronized boolean idle() {
+    if (closed || !keepAlive || streaming || !exchanges.isEmpty()) {
+      return false;
+    }
+
+    idleSince = System.currentTimeMillis();
+    return true;
+  }
+
+  synchronized boolean isClosed() {
+    return closed;
+  }
+
+  void onConnectable() {
+    try {
+      if (!channel.finishConnect()) {
+        return;
+      }
+    } catch (IOException e) {
+      close(e);
+      return;
+    }
+
+    connected = true;
+    endConnectTrace();
+    updateInterest();
+  }
+
+  void onReadable() {
+    ByteBuffer buffer = loop.readBuffer;
+    buffer.clear();
+    try {
+      int read = channel.read(buffer);
+      if (read == -1) {
+        parser.eof();
+        close(new IOException("The connection was closed by the server"));
+        return;
+      }
+
+      buffer.flip();
+      parser.parse(buffer);
+    } catch (IOException e) {
+      close(e);
+    }
+  }
+
+  void onWritable() {
+    while (true) {
+      Write write;
+      synchronized (this) {
+        write = writes.peek();
+        if (write == null) {
+          writeScheduled = false;
+          updateInterest();
+          return;
+        }
+      }
+
+      try {
+        channel.write(write.buffer);
+      } catch (IOException e) {
+        close(e);
+        return;
+      }
+
+      if (write.buffer.hasRemaining()) {
+        return;
+      }
+
+      synchronized (this) {
+        writes.poll();
+        pendingWrites -= write.length;
+        notifyAll();
+      }
+
+      write.release();
+    }
+  }
+
+  /**
+   * Stops reading from the socket because a reader has fallen behind. Only called on the event loop.
+   */
+  void pauseReading() {
+    readPaused = true;
+    updateInterest();
+  }
+
+  /**
+   * Registers the connection with its event loop. Only called on the event loop.
+   */
+  void register() {
+    try {
+      key = channel.register(loop.selector, 0, this);
+      loop.add(this);
+      updateInterest();
+    } catch (IOException e) {
+      close(e);
+    }
+  }
+
+  /**
+   * Called by the parser when a response has been completely read. Only called on the event loop.
+   *
+   * @param keepAlive True if the connection can be used for another request.
+   */
+  void responseComplete(boolean keepAlive) {
+    Exchange exchange;
+    boolean early;
+    synchronized (this) {
+      exchange = exchanges.poll();
+      early = keepAlive && streaming;
+      if (!keepAlive || early) {
+        this.keepAlive = false;
+      }
+    }
+
+    // Return the connection to the pool before completing the exchange, so the caller's next request can reuse it. If the caller is still
+    // writing the body, the connection is closed by finishStreaming once it is done.
+    if (!keepAlive) {
+      close(new IOException("The server closed the connection"));
+    } else if (!early) {
+      pool.release(this);
+    }
+
+    if (exchange != null) {
+      exchange.complete();
+    }
+  }
+
+  /**
+   * Starts reading from the socket again once a reader has caught up. Called by the reading thread.
+   */
+  void resumeReading() {
+    loop.execute(() -> {
+      readPaused = false;
+      updateInterest();
+    });
+  }
+
+  /**
+   * Queues body data to be written, waiting if too much data is already queued.
+   *
+   * @param buffer The data.
+   * @param pooled True if the buffer's array came from the {@link BufferPool#DEFAULT} pool and should be released once it is written.
+   * @throws IOException If the connection is closed.
+   */
+  synchronized void write(ByteBuffer buffer, boolean pooled) throws IOException {
+    Write write = new Write(buffer, pooled);
+    try {
+      while (pendingWrites >= MAX_PENDING_WRITES && !closed) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      write.release();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+
+    if (closed) {
+      write.release();
+      throw new IOException("The connection is closed", failure);
+    }
+
+    add(write);
+  }
+
+  private void add(Write write) {
+    writes.add(write);
+    pendingWrites += write.length;
+    if (!writeScheduled) {
+      writeScheduled = true;
+      loop.execute(this::updateInterest);
+    }
+  }
+
+  private void endConnectTrace() {
+    if (connectTrace != null) {
+      connectTrace.run();
+      connectTrace = null;
+    }
+  }
+
+  private void updateInterest() {
+    if (key == null || !key.isValid()) {
+      return;
+    }
+
+    if (!connected) {
+      key.interestOps(SelectionKey.OP_CONNECT);
+      return;
+    }
+
+    boolean write;
+    synchronized (this) {
+      write = !writes.isEmpty();
+    }
+
+    key.interestOps((readPaused ? 0 : SelectionKey.OP_READ) | (write ? SelectionKey.OP_WRITE : 0));
+  }
+
+  private static class Write {
+    private final ByteBuffer buffer;
+
+    private final int length;
+
+    private final boolean pooled;
+
+    private Write(ByteBuffer buffer, boolean pooled) {
+      this.buffer = buffer;
+      this.length = buffer.remaining();
+      this.pooled = pooled;
+    }
+
+    private void release() {
+      if (pooled) {
+        BufferPool.DEFAULT.release(buffer.array());
+      }
+    }
+  }
+}
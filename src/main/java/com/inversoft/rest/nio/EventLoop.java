@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A thread that owns a Selector and does all of the socket IO for the connections registered with it. Other threads hand it work using
+ * {@link #execute(Runnable)}.
+ *
+ * @author Brian Pontarelli
+ */
+final class EventLoop implements Runnable {
+  private static final long EXPIRATION_INTERVAL = 100;
+
+  /**
+   * The buffer that every connection on this loop reads into. The data is always parsed (and copied out) before the next read.
+   */
+  final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+
+  final Selector selector;
+
+  private final Set<Connection> connections = new HashSet<>();
+
+  private final long keepAliveTimeout;
+
+  private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+  private final Thread thread;
+
+  private long lastExpiration;
+
+  private volatile boolean running = true;
+
+  EventLoop(String name, long keepAliveTimeout) throws IOException {
+    this.keepAliveTimeout = keepAliveTimeout;
+    this.selector = Selector.open();
+    this.thread = new Thread(this, name);
+    this.thread.setDaemon(true);
+  }
+
+  void add(Connection connection) {
+    connections.add(connection);
+  }
+
+  /**
+   * Runs the task on the event loop.
+   *
+   * @param task The task.
+   */
+  void execute(Runnable task) {
+    tasks.add(task);
+    selector.wakeup();
+  }
+
+  void remove(Connection connection) {
+    connections.remove(connection);
+  }
+
+  @Override
+  public void run() {
+    while (running) {
+      try {
+        selector.select(EXPIRATION_INTERVAL);
+      } catch (IOException e) {
+        break;
+      }
+
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          // Keep the loop alive, the task's connection handles its own failures
+        }
+      }
+
+      Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+      while (iterator.hasNext()) {
+        SelectionKey key = iterator.next();
+        iterator.remove();
+        process(key);
+      }
+
+      long now = System.currentTimeMillis();
+      if (now - lastExpiration >= EXPIRATION_INTERVAL) {
+        lastExpiration = now;
+        new ArrayList<>(connections).forEach(connection -> connection.expire(now, keepAliveTimeout));
+      }
+    }
+
+    new ArrayList<>(connections).forEach(connection -> connection.close(new IOException("The transport was closed")));
+    try {
+      selector.close();
+    } catch (IOException e) {
+      // Ignore since the loop is done
+    }
+  }
+
+  void shutdown() {
+    running = false;
+    selector.wakeup();
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  private void process(SelectionKey key) {
+    Connection connection = (Connection) key.attachment();
+    try {
+      if (key.isValid() && key.isConnectable()) {
+        connection.onConnectable();
+      }
+
+      if (key.isValid() && key.isWritable()) {
+        connection.onWritable();
+      }
+
+      if (key.isValid() && key.isReadable()) {
+        connection.onReadable();
+      }
+    } catch (CancelledKeyException e) {
+      // The connection was closed while it was being processed
+    } catch (RuntimeException e) {
+      connection.close(new IOException(e));
+    }
+  }
+}
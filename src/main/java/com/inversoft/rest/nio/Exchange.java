@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+
+import com.inversoft.rest.BufferPool;
+
+/**
+ * A single request and response on a connection. The event loop fills in the status, headers and body of the response as they arrive and
+ * the thread that sent the request waits for them and reads the body using {@link #body(int)}.
+ * <p>
+ * Body data is copied out of the event loop's read buffer into arrays from the {@link BufferPool#DEFAULT} pool, which are released as the
+ * body is read. If the reader falls too far behind, the connection stops reading from the socket until the reader catches up, so the
+ * memory used by a response is bounded no matter how large it is.
+ *
+ * @author Brian Pontarelli
+ */
+final class Exchange {
+  private static final int HIGH_WATER = 256 * 1024;
+
+  private static final int LOW_WATER = 64 * 1024;
+
+  private static final int MAX_DISCARDED = 1024 * 1024;
+
+  final boolean closeRequested;
+
+  final String method;
+
+  private final ArrayDeque<ByteBuffer> chunks = new ArrayDeque<>();
+
+  private boolean complete;
+
+  private Connection connection;
+
+  private long discarded;
+
+  private IOException failure;
+
+  private Map<String, List<String>> headers;
+
+  private boolean paused;
+
+  private int queued;
+
+  private boolean readerClosed;
+
+  private boolean responseStarted;
+
+  private boolean retryable;
+
+  private int status = -1;
+
+  Exchange(String method, boolean closeRequested) {
+    this.method = method;
+    this.closeRequested = closeRequested;
+  }
+
+  /**
+   * Waits for the status and headers of the response.
+   *
+   * @param timeout The maximum time to wait in milliseconds or 0 to wait forever.
+   * @throws IOException If the request failed or timed out.
+   */
+  void awaitHead(long timeout) throws IOException {
+    synchronized (this) {
+      long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+      while (status == -1 && failure == null) {
+        if (!await(deadline)) {
+          break;
+        }
+      }
+
+      if (status != -1) {
+        return;
+      }
+
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    SocketTimeoutException e = new SocketTimeoutException("Read timed out");
+    connection.abort(e);
+    throw e;
+  }
+
+  /**
+   * Called by the connection when the request is added to it.
+   *
+   * @param connection The connection.
+   * @param retryable  True if the request can be sent again on a new connection should this connection fail before the response starts
+   *                   (because the connection was reused or the request was pipelined).
+   */
+  synchronized void attach(Connection connection, boolean retryable) {
+    this.connection = connection;
+    this.retryable = retryable;
+  }
+
+  /**
+   * Adds body data from the event loop.
+   *
+   * @param source The buffer to copy from.
+   * @param length The number of bytes to copy.
+   * @return True if the reader is too far behind and the connection should stop reading.
+   */
+  synchronized boolean body(ByteBuffer source, int length) {
+    if (readerClosed) {
+      source.position(source.position() + length);
+      discarded += length;
+      return false;
+    }
+
+    byte[] array = BufferPool.DEFAULT.acquire(length);
+    source.get(array, 0, length);
+    chunks.add(ByteBuffer.wrap(array, 0, length));
+    queued += length;
+    notifyAll();
+
+    if (!paused && queued >= HIGH_WATER) {
+      paused = true;
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns the body of the response.
+   *
+   * @param timeout The read timeout in milliseconds or 0 to wait forever.
+   * @return The body stream.
+   */
+  InputStream body(int timeout) {
+    return new Body(timeout);
+  }
+
+  /**
+   * Cancels the exchange from the thread reading the response (or any other thread) by closing its connection, unless the response has
+   * already been read in full.
+   */
+  void cancel() {
+    Connection connection;
+    synchronized (this) {
+      if (complete || failure != null || this.connection == null) {
+        return;
+      }
+
+      connection = this.connection;
+    }
+
+    connection.abort(this, new IOException("The response was cancelled"));
+  }
+
+  synchronized void complete() {
+    complete = true;
+    notifyAll();
+  }
+
+  synchronized void fail(IOException e) {
+    if (!complete && failure == null) {
+      failure = e;
+    }
+
+    notifyAll();
+  }
+
+  synchronized void head(int status, Map<String, List<String>> headers) {
+    this.status = status;
+    this.headers = headers;
+    notifyAll();
+  }
+
+  synchronized Map<String, List<String>> headers() {
+    return headers;
+  }
+
+  /**
+   * @return True if the reader closed the body early and so much of the rest of the body has been thrown away since that the connection
+   *     should be closed instead of reading to the end of the response.
+   */
+  synchronized boolean isDiscardLimitExceeded() {
+    return discarded > MAX_DISCARDED;
+  }
+
+  /**
+   * @return True if the request failed in a way that it can safely be sent again on a new connection.
+   */
+  synchronized boolean isRetryable() {
+    return failure != null && retryable && !responseStarted && status == -1;
+  }
+
+  /**
+   * Called by the event loop when the first byte of the response arrives.
+   */
+  synchronized void started() {
+    responseStarted = true;
+  }
+
+  synchronized int status() {
+    return status;
+  }
+
+  private boolean await(long deadline) throws InterruptedIOException {
+    try {
+      if (deadline == 0) {
+        wait();
+        return true;
+      }
+
+      long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0) {
+        return false;
+      }
+
+      wait(remaining);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private class Body extends InputStream {
+    private final byte[] single = new byte[1];
+
+    private final int timeout;
+
+    private Body(int timeout) {
+      this.timeout = timeout;
+    }
+
+    @Override
+    public int available() {
+      synchronized (Exchange.this) {
+        return queued;
+      }
+    }
+
+    @Override
+    public void close() {
+      boolean resume;
+      synchronized (Exchange.this) {
+        if (readerClosed) {
+          return;
+        }
+
+        // Any more of the body that arrives is thrown away so that the connection can be reused once the response is done
+        readerClosed = true;
+        chunks.forEach(chunk -> BufferPool.DEFAULT.release(chunk.array()));
+        chunks.clear();
+        queued = 0;
+        resume = paused;
+        paused = false;
+
+        // Wake up a read on another thread so that it fails rather than waiting for more data
+        Exchange.this.notifyAll();
+      }
+
+      if (resume) {
+        connection.resumeReading();
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      int read = read(single, 0, 1);
+      return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+
+      int read;
+      boolean resume = false;
+      synchronized (Exchange.this) {
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+        while (chunks.isEmpty()) {
+          if (readerClosed) {
+            throw new IOException("Stream closed");
+          }
+
+          if (failure != null) {
+            throw failure;
+          }
+
+          if (complete) {
+            return -1;
+          }
+
+          if (!await(deadline)) {
+            break;
+          }
+        }
+
+        ByteBuffer chunk = chunks.peek();
+        if (chunk == null) {
+          read = -1;
+        } else {
+          read = Math.min(len, chunk.remaining());
+          chunk.get(b, off, read);
+          if (!chunk.hasRemaining()) {
+            chunks.poll();
+            BufferPool.DEFAULT.release(chunk.array());
+          }
+
+          queued -= read;
+          if (paused && queued <= LOW_WATER) {
+            paused = false;
+            resume = true;
+          }
+        }
+      }
+
+      if (read == -1) {
+        SocketTimeoutException e = new SocketTimeoutException("Read timed out");
+        connection.abort(e);
+        throw e;
+      }
+
+      if (resume) {
+        connection.resumeReading();
+      }
+
+      return read;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The keep-alive pool of connections to a single host and port, or to a single Unix domain socket. Connections that are waiting for
+ * responses are active and connections that can be reused are idle. Idle connections are reused most recently used first, so that the
+ * least recently used ones time out.
+ * <p>
+ * The lock of the pool is always acquired before the lock of any of its connections.
+ *
+ * @author Brian Pontarelli
+ */
+final class HostPool {
+  final String host;
+
+  final int port;
+
+  /**
+   * The path of the Unix domain socket, or null if the connections are TCP connections to the host and port.
+   */
+  final String socketPath;
+
+  private final List<Connection> active = new ArrayList<>();
+
+  private final ArrayDeque<Connection> idle = new ArrayDeque<>();
+
+  private final NIOTransport transport;
+
+  HostPool(NIOTransport transport, String host, int port, String socketPath) {
+    this.transport = transport;
+    this.host = host;
+    this.port = port;
+    this.socketPath = socketPath;
+  }
+
+  /**
+   * Finds a connection for the exchange and adds the exchange to it. If pipelining is allowed, this uses an active connection that can
+   * take another request. Otherwise, it uses an idle connection or opens a new one.
+   * <p>
+   * New connections are opened without holding the lock of the pool, since resolving the host name can block. This keeps a slow lookup
+   * from stalling other requests that could reuse an idle connection.
+   *
+   * @param exchange       The exchange.
+   * @param head           The encoded request line and headers.
+   * @param streaming      True if the caller will write a body after the head.
+   * @param pipeline       True if the request can be pipelined behind other requests.
+   * @param fresh          True if a new connection must be opened, which is used when retrying a request that failed on a reused one.
+   * @param connectTimeout The connect timeout in milliseconds.
+   * @return The connection.
+   * @throws IOException If a new connection could not be opened.
+   */
+  Connection acquire(Exchange exchange, byte[] head, boolean streaming, boolean pipeline, boolean fresh, int connectTimeout)
+      throws IOException {
+    if (!fresh) {
+      Connection connection = reuse(exchange, head, streaming, pipeline);
+      if (connection != null) {
+        return connection;
+      }
+    }
+
+    Connection connection = transport.connect(this, connectTimeout);
+    synchronized (this) {
+      try {
+        connection.enqueue(exchange, head, streaming);
+      } catch (IOException e) {
+        // The connection failed (for example, it was refused) before the exchange could be added, so report why
+        connection.abort(e);
+        throw e.getCause() instanceof IOException ? (IOException) e.getCause() : e;
+      }
+
+      active.add(connection);
+    }
+
+    return connection;
+  }
+
+  /**
+   * Closes all the idle connections.
+   */
+  void clear() {
+    List<Connection> connections;
+    synchronized (this) {
+      connections = new ArrayList<>(idle);
+    }
+
+    connections.forEach(connection -> connection.abort(new IOException("The transport was closed")));
+  }
+
+  /**
+   * Returns a connection to the idle list once it has no outstanding exchanges.
+   *
+   * @param connection The connection.
+   */
+  void release(Connection connection) {
+    Connection evicted = null;
+    synchronized (this) {
+      if (!connection.idle()) {
+        return;
+      }
+
+      active.remove(connection);
+      idle.push(connection);
+      if (idle.size() > transport.maxIdleConnections()) {
+        evicted = idle.removeLast();
+      }
+    }
+
+    if (evicted != null) {
+      evicted.abort(new IOException("Too many idle connections"));
+    }
+  }
+
+  synchronized void remove(Connection connection) {
+    active.remove(connection);
+    idle.remove(connection);
+  }
+
+  private synchronized Connection reuse(Exchange exchange, byte[] head, boolean streaming, boolean pipeline) {
+    if (pipeline) {
+      for (Connection connection : active) {
+        if (connection.canPipeline(transport.pipeliningDepth()) && enqueue(connection, exchange, head, false)) {
+          return connection;
+        }
+      }
+    }
+
+    Connection connection;
+    while ((connection = idle.poll()) != null) {
+      if (!connection.isClosed()) {
+        active.add(connection);
+        if (enqueue(connection, exchange, head, streaming)) {
+          return connection;
+        }
+
+        active.remove(connection);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Adds the exchange to a reused connection. The event loop can close the connection at any time (for example when it has been idle for
+   * too long), in which case the exchange is not added and the next connection is tried.
+   *
+   * @return True if the exchange was added, false if the connection was closed.
+   */
+  private boolean enqueue(Connection connection, Exchange exchange, byte[] head, boolean streaming) {
+    try {
+      connection.enqueue(exchange, head, streaming);
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+}
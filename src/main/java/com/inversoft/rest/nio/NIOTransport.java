@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.inversoft.http.HTTPStrings;
+import com.inversoft.net.UnixSocketURLs;
+import com.inversoft.rest.HTTPTransport;
+import com.inversoft.rest.RequestTracer;
+
+/**
+ * An HTTP/1.1 transport that multiplexes all of its connections over a small number of event loop threads using non-blocking sockets,
+ * rather than tying up a thread and a blocking socket per request like HttpURLConnection does. Use it with a RESTClient like this:
+ * <pre>
+ *   NIOTransport transport = new NIOTransport().eventLoops(2).pipelining(4);
+ *   ...
+ *   ClientResponse&lt;Foo, Void&gt; response = new RESTClient&lt;&gt;(Foo.class, Void.TYPE)
+ *       .transport(transport)
+ *       .url("http://api.example.com/foo")
+ *       .get()
+ *       .go();
+ * </pre>
+ * <p>
+ * The transport keeps its own keep-alive pool of connections per host and port. The request line and headers of each request are encoded
+ * into a single byte array that is written to the connection as is. If pipelining is enabled, GET and HEAD requests without a body are
+ * written to a connection that is still waiting for earlier responses, up to the pipelining depth. A request that fails on a reused or
+ * pipelined connection before any of its response arrives (because the server closed the connection) is sent again once on a new
+ * connection, but only if it is idempotent. POST and PATCH requests and requests that use the X-HTTP-Method-Override header are never
+ * sent again, since the server might have already acted on them.
+ * <p>
+ * The thread that calls the RESTClient still blocks while the request body is written and while the response is read, but it never does
+ * the socket IO itself. Reading the response is throttled by the reader, so a slow reader doesn't cause the response to be buffered in
+ * memory.
+ * <p>
+ * The transport can also talk to servers listening on a Unix domain socket, such as sidecars and local agents, using URLs like
+ * <code>unix:///var/run/agent.sock:/v1/path</code> (see {@link UnixSocketURLs}). These requests are plain HTTP/1.1 and are pooled and
+ * kept alive per socket, the same as TCP connections. Unix domain sockets require Java 16 or later.
+ * <p>
+ * This transport only supports plain http and unix URLs and it doesn't follow redirects or use proxies. Instances are thread-safe and should be
+ * shared. They must be closed when they are no longer needed.
+ *
+ * @author Brian Pontarelli
+ */
+public class NIOTransport implements HTTPTransport, Closeable {
+  private final AtomicInteger next = new AtomicInteger();
+
+  private final ConcurrentHashMap<String, HostPool> pools = new ConcurrentHashMap<>();
+
+  private volatile boolean closed;
+
+  private int eventLoops = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+  private long keepAliveTimeout = 30_000;
+
+  private volatile EventLoop[] loops;
+
+  private int maxIdleConnections = 64;
+
+  private int pipeliningDepth = 1;
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    pools.values().forEach(HostPool::clear);
+    if (loops != null) {
+      for (EventLoop loop : loops) {
+        loop.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Sets the number of event loop threads. This must be called before the first request.
+   *
+   * @param eventLoops The number of threads.
+   * @return This.
+   */
+  public NIOTransport eventLoops(int eventLoops) {
+    if (eventLoops < 1) {
+      throw new IllegalArgumentException("There must be at least one event loop");
+    }
+
+    checkNotStarted();
+    this.eventLoops = eventLoops;
+    return this;
+  }
+
+  /**
+   * Sets how long connections are kept in the pool without being used. This must be called before the first request.
+   *
+   * @param keepAliveTimeout The timeout in milliseconds. Defaults to 30 seconds.
+   * @return This.
+   */
+  public NIOTransport keepAliveTimeout(long keepAliveTimeout) {
+    checkNotStarted();
+    this.keepAliveTimeout = keepAliveTimeout;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of idle connections that are kept per host and port. This must be called before the first request.
+   *
+   * @param maxIdleConnections The maximum. Defaults to 64.
+   * @return This.
+   */
+  public NIOTransport maxIdleConnectionsPerHost(int maxIdleConnections) {
+    checkNotStarted();
+    this.maxIdleConnections = maxIdleConnections;
+    return this;
+  }
+
+  /**
+   * Enables pipelining of GET and HEAD requests. This must be called before the first request.
+   *
+   * @param depth The maximum number of requests that may be waiting for a response on one connection. Defaults to 1, which disables
+   *              pipelining.
+   * @return This.
+   */
+  public NIOTransport pipelining(int depth) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("The pipelining depth must be at least 1");
+    }
+
+    checkNotStarted();
+    this.pipeliningDepth = depth;
+    return this;
+  }
+
+  @Override
+  public Response send(Request request) throws IOException {
+    if (closed) {
+      throw new IOException("The NIOTransport is closed");
+    }
+
+    URL url = request.url;
+    boolean unixSocket = UnixSocketURLs.isUnixSocket(url);
+    if (!unixSocket && !url.getProtocol().equalsIgnoreCase("http")) {
+      throw new IOException("The NIOTransport only supports http and unix URLs [" + url + "]");
+    }
+
+    boolean hasBody = request.bodyHandler != null;
+    boolean retryable = !hasBody && isIdempotent(request);
+    boolean chunked = hasBody && !request.headers.contains(HTTPStrings.Headers.ContentLength);
+    boolean closeRequested = "close".equalsIgnoreCase(request.headers.get(HTTPStrings.Headers.Connection));
+    boolean pipeline = pipeliningDepth > 1 && !hasBody && !closeRequested && (request.method.equals("GET") || request.method.equals("HEAD"));
+    byte[] head = RequestEncoder.encode(request.method, url, request.headers, chunked);
+
+    HostPool pool;
+    if (unixSocket) {
+      String socketPath = UnixSocketURLs.socketPath(url);
+      pool = pools.computeIfAbsent("unix:" + socketPath, key -> new HostPool(this, null, -1, socketPath));
+    } else {
+      int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+      String host = url.getHost().toLowerCase(Locale.ROOT);
+      pool = pools.computeIfAbsent(host + ":" + port, key -> new HostPool(this, host, port, null));
+    }
+
+    for (int attempt = 0; ; attempt++) {
+      Exchange exchange = new Exchange(request.method, closeRequested);
+      Connection connection = pool.acquire(exchange, head, hasBody, pipeline, attempt > 0, request.connectTimeout);
+      request.onAbort(() -> {
+        exchange.fail(new IOException("The request was aborted"));
+        connection.abort(exchange, new IOException("The request was aborted"));
+      });
+      try {
+        if (hasBody) {
+          try (BodyOutputStream os = new BodyOutputStream(connection, chunked)) {
+            request.bodyHandler.accept(os);
+          }
+
+          connection.finishStreaming();
+        }
+
+        // The response can't arrive until the connection is made, so the connect timeout is included when waiting for it
+        long timeout = request.readTimeout == 0 ? 0 : (long) request.readTimeout + request.connectTimeout;
+        exchange.awaitHead(timeout);
+        return new Response(exchange.status(), exchange.headers(), exchange.body(request.readTimeout)) {
+          @Override
+          public void abort() {
+            exchange.cancel();
+          }
+        };
+      } catch (IOException e) {
+        if (attempt == 0 && retryable && exchange.isRetryable() && !request.aborted()) {
+          continue;
+        }
+
+        connection.abort(e);
+        throw e;
+      } catch (RuntimeException e) {
+        // The request was only partially written, so the connection can't be used again
+        connection.abort(new IOException(e));
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * @return True, request bodies that don't have a Content-Length are sent using chunked encoding and can be followed by trailers.
+   */
+  @Override
+  public boolean supportsTrailers() {
+    return true;
+  }
+
+  /**
+   * Opens a new connection to the host and port or the Unix domain socket of the pool and registers it with one of the event loops. This
+   * resolves the host name, which can block, so it is never called while holding the lock of the pool.
+   *
+   * @param pool           The pool the connection belongs to.
+   * @param connectTimeout The connect timeout in milliseconds.
+   * @return The connection, which might still be connecting.
+   * @throws IOException If the connection could not be opened.
+   */
+  Connection connect(HostPool pool, int connectTimeout) throws IOException {
+    EventLoop loop = nextLoop();
+    SocketChannel channel = pool.socketPath != null ? UnixDomainSockets.open() : SocketChannel.open();
+    Runnable traced = RequestTracer.get().connecting(pool.socketPath != null ? pool.socketPath : pool.host, pool.port);
+    try {
+      boolean connected;
+      if (pool.socketPath != null) {
+        connected = channel.connect(UnixDomainSockets.address(pool.socketPath));
+      } else {
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        connected = channel.connect(new InetSocketAddress(pool.host, pool.port));
+      }
+
+      Connection connection = new Connection(pool, loop, channel, connected, connectTimeout, traced);
+      loop.execute(connection::register);
+      return connection;
+    } catch (UnresolvedAddressException e) {
+      channel.close();
+      throw new UnknownHostException(pool.host);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  int maxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  int pipeliningDepth() {
+    return pipeliningDepth;
+  }
+
+  private synchronized void checkNotStarted() {
+    if (loops != null) {
+      throw new IllegalStateException("The NIOTransport can't be configured after it has sent a request");
+    }
+  }
+
+  private boolean isIdempotent(Request request) {
+    if (request.headers.contains(HTTPStrings.Headers.MethodOverride)) {
+      return false;
+    }
+
+    switch (request.method) {
+      case "GET":
+      case "HEAD":
+      case "OPTIONS":
+      case "TRACE":
+      case "PUT":
+      case "DELETE":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private EventLoop nextLoop() throws IOException {
+    EventLoop[] loops = this.loops;
+    if (loops == null) {
+      loops = start();
+    }
+
+    return loops[Math.abs(next.getAndIncrement() % loops.length)];
+  }
+
+  private synchronized EventLoop[] start() throws IOException {
+    if (closed) {
+      throw new IOException("The NIOTransport is closed");
+    }
+
+    if (loops == null) {
+      EventLoop[] loops = new EventLoop[eventLoops];
+      for (int i = 0; i < loops.length; i++) {
+        loops[i] = new EventLoop("restify-nio-" + i, keepAliveTimeout);
+      }
+
+      for (EventLoop loop : loops) {
+        loop.start();
+      }
+
+      this.loops = loops;
+    }
+
+    return loops;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.inversoft.http.HTTPHeaders;
+import com.inversoft.http.HTTPStrings;
+import com.inversoft.net.UnixSocketURLs;
+
+/**
+ * Encodes the request line and headers of a request into a single byte array that is written to the connection as is. The methods and the
+ * well-known header names are encoded once, up front.
+ *
+ * @author Brian Pontarelli
+ */
+final class RequestEncoder {
+  private static final byte[] CHUNKED_HEADER = bytes(HTTPStrings.Headers.TransferEncoding + ": chunked\r\n");
+
+  private static final byte[] HOST_HEADER = bytes(HTTPStrings.Headers.Host + ": ");
+
+  private static final byte[] VERSION = bytes(" HTTP/1.1\r\n");
+
+  private static final Map<String, byte[]> METHODS = new HashMap<>();
+
+  private static final Map<String, byte[]> NAMES = new HashMap<>();
+
+  static {
+    for (String method : new String[]{"CONNECT", "DELETE", "GET", "HEAD", "OPTIONS", "PATCH", "POST", "PUT", "TRACE"}) {
+      METHODS.put(method, bytes(method + " "));
+    }
+
+    for (String name : new String[]{
+        HTTPStrings.Headers.Accept,
+        HTTPStrings.Headers.AcceptEncoding,
+        HTTPStrings.Headers.Authorization,
+        HTTPStrings.Headers.CacheControl,
+        HTTPStrings.Headers.Connection,
+        HTTPStrings.Headers.ContentEncoding,
+        HTTPStrings.Headers.ContentLength,
+        HTTPStrings.Headers.ContentType,
+        HTTPStrings.Headers.Cookie,
+        HTTPStrings.Headers.Host,
+        HTTPStrings.Headers.MethodOverride,
+        HTTPStrings.Headers.TransferEncoding,
+        HTTPStrings.Headers.UserAgent
+    }) {
+      NAMES.put(name, bytes(name + ": "));
+    }
+  }
+
+  private RequestEncoder() {
+  }
+
+  /**
+   * Encodes the head of the request, adding the Host header if there isn't one and the Transfer-Encoding header if the body is chunked.
+   *
+   * @param method  The method.
+   * @param url     The URL.
+   * @param headers The headers.
+   * @param chunked True if the body will be sent using chunked encoding.
+   * @return The bytes of the request line, the headers and the blank line that ends the head.
+   * @throws IllegalArgumentException If the method or a header name isn't a valid token, or if the request target or a header value
+   *                                  contains characters that would end the line they are written on.
+   */
+  static byte[] encode(String method, URL url, HTTPHeaders headers, boolean chunked) {
+    String target = target(url);
+    String host = headers.contains(HTTPStrings.Headers.Host) ? null : host(url);
+    byte[] methodBytes = METHODS.get(method);
+    if (methodBytes == null) {
+      checkToken("method", method);
+    }
+
+    checkTarget(target);
+    if (host != null) {
+      checkValue(HTTPStrings.Headers.Host, host);
+    }
+
+    // Size the array exactly so that it is never grown or copied
+    int[] size = {(methodBytes != null ? methodBytes.length : method.length() + 1) + target.length() + VERSION.length + 2};
+    if (host != null) {
+      size[0] += HOST_HEADER.length + host.length() + 2;
+    }
+    if (chunked) {
+      size[0] += CHUNKED_HEADER.length;
+    }
+    headers.forEach((name, value) -> {
+      byte[] nameBytes = NAMES.get(name);
+      if (nameBytes == null) {
+        checkToken("header name", name);
+      }
+
+      checkValue(name, value);
+      size[0] += (nameBytes != null ? nameBytes.length : name.length() + 2) + value.length() + 2;
+    });
+
+    byte[] head = new byte[size[0]];
+    int[] offset = {0};
+    if (methodBytes != null) {
+      offset[0] = put(methodBytes, head, 0);
+    } else {
+      offset[0] = put(method, head, 0);
+      head[offset[0]++] = ' ';
+    }
+
+    offset[0] = put(target, head, offset[0]);
+    offset[0] = put(VERSION, head, offset[0]);
+    if (host != null) {
+      offset[0] = put(HOST_HEADER, head, offset[0]);
+      offset[0] = put(host, head, offset[0]);
+      offset[0] = crlf(head, offset[0]);
+    }
+
+    headers.forEach((name, value) -> {
+      byte[] nameBytes = NAMES.get(name);
+      if (nameBytes != null) {
+        offset[0] = put(nameBytes, head, offset[0]);
+      } else {
+        offset[0] = put(name, head, offset[0]);
+        head[offset[0]++] = ':';
+        head[offset[0]++] = ' ';
+      }
+
+      offset[0] = put(value, head, offset[0]);
+      offset[0] = crlf(head, offset[0]);
+    });
+
+    if (chunked) {
+      offset[0] = put(CHUNKED_HEADER, head, offset[0]);
+    }
+
+    crlf(head, offset[0]);
+    return head;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  private static void checkTarget(String target) {
+    for (int i = 0; i < target.length(); i++) {
+      char c = target.charAt(i);
+      if (c <= ' ' || c == 0x7F) {
+        throw new IllegalArgumentException("The request target [" + target + "] contains an invalid character at index [" + i + "]");
+      }
+    }
+  }
+
+  private static void checkToken(String type, String token) {
+    if (token.isEmpty()) {
+      throw new IllegalArgumentException("The " + type + " is empty");
+    }
+
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      if (c > 0x7E || (!Character.isLetterOrDigit(c) && "!#$%&'*+-.^_`|~".indexOf(c) == -1)) {
+        throw new IllegalArgumentException("The " + type + " [" + token + "] contains an invalid character at index [" + i + "]");
+      }
+    }
+  }
+
+  private static void checkValue(String name, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\r' || c == '\n' || c == 0) {
+        throw new IllegalArgumentException("The value of the header [" + name + "] contains an invalid character at index [" + i + "]");
+      }
+    }
+  }
+
+  private static int crlf(byte[] head, int offset) {
+    head[offset] = '\r';
+    head[offset + 1] = '\n';
+    return offset + 2;
+  }
+
+  private static String host(URL url) {
+    // HTTP/1.1 requires a Host header, but there isn't a host for a Unix domain socket
+    if (UnixSocketURLs.isUnixSocket(url)) {
+      return "localhost";
+    }
+
+    int port = url.getPort();
+    return port == -1 || port == url.getDefaultPort() ? url.getHost() : url.getHost() + ":" + port;
+  }
+
+  private static int put(byte[] bytes, byte[] head, int offset) {
+    System.arraycopy(bytes, 0, head, offset, bytes.length);
+    return offset + bytes.length;
+  }
+
+  private static int put(String value, byte[] head, int offset) {
+    // Header values are ISO-8859-1, so anything outside of that is replaced, the same as HttpURLConnection does
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      head[offset++] = c <= 0xFF ? (byte) c : (byte) '?';
+    }
+
+    return offset;
+  }
+
+  private static String target(URL url) {
+    if (UnixSocketURLs.isUnixSocket(url)) {
+      return UnixSocketURLs.requestTarget(url);
+    }
+
+    String file = url.getFile();
+    return file.isEmpty() ? "/" : file;
+  }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.inversoft.http.HTTPStrings;
+
+/**
+ * An incremental HTTP/1.1 response parser. The event loop feeds it whatever arrived on the socket and it hands the head and body of each
+ * response to the connection's current exchange. Bodies are delimited by Content-Length, chunked encoding or the end of the connection.
+ *
+ * @author Brian Pontarelli
+ */
+final class ResponseParser {
+  private static final int MAX_HEAD_LENGTH = 256 * 1024;
+
+  private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+  private final Connection connection;
+
+  private Exchange exchange;
+
+  private int headLength;
+
+  private Map<String, List<String>> headers;
+
+  private boolean http10;
+
+  private boolean keepAlive;
+
+  private byte[] line = new byte[256];
+
+  private int lineLength;
+
+  private long remaining;
+
+  private State state = State.Status;
+
+  private int status;
+
+  ResponseParser(Connection connection) {
+    this.connection = connection;
+  }
+
+  /**
+   * Handles the end of the connection, which completes a response that is delimited by the end of the connection.
+   *
+   * @throws IOException If a response was only partially received.
+   */
+  void eof() throws IOException {
+    if (state == State.UntilClose) {
+      keepAlive = false;
+      finish();
+    } else if (exchange != null) {
+      throw new IOException("The connection was closed before the response was complete");
+    }
+  }
+
+  /**
+   * Parses everything in the buffer.
+   *
+   * @param buffer The buffer.
+   * @throws IOException If the response is invalid.
+   */
+  void parse(ByteBuffer buffer) throws IOException {
+    boolean pause = false;
+    while (buffer.hasRemaining() && !connection.isClosed()) {
+      if (exchange == null) {
+        exchange = connection.current();
+        if (exchange == null) {
+          throw new IOException("The server sent data without a request");
+        }
+
+        exchange.started();
+      }
+
+      switch (state) {
+        case Status:
+          if (readLine(buffer)) {
+            status();
+          }
+          break;
+        case Headers:
+          if (readLine(buffer)) {
+            if (lineLength == 0) {
+              endOfHead();
+            } else {
+              header();
+            }
+          }
+          break;
+        case Length:
+        case ChunkData: {
+          int length = (int) Math.min(remaining, buffer.remaining());
+          pause |= exchange.body(buffer, length);
+          checkDiscarded();
+          remaining -= length;
+          if (remaining == 0) {
+            if (state == State.Length) {
+              finish();
+            } else {
+              state = State.ChunkEnd;
+            }
+          }
+          break;
+        }
+        case ChunkSize:
+          if (readLine(buffer)) {
+            chunkSize();
+          }
+          break;
+        case ChunkEnd:
+          if (readLine(buffer)) {
+            if (lineLength != 0) {
+              throw new IOException("Invalid chunked encoding");
+            }
+
+            state = State.ChunkSize;
+          }
+          break;
+        case Trailers:
+          if (readLine(buffer)) {
+            if (lineLength == 0) {
+              finish();
+            } else {
+              lineLength = 0;
+            }
+          }
+          break;
+        case UntilClose:
+          pause |= exchange.body(buffer, buffer.remaining());
+          checkDiscarded();
+          break;
+      }
+    }
+
+    if (pause) {
+      connection.pauseReading();
+    }
+  }
+
+  private void checkDiscarded() throws IOException {
+    if (exchange.isDiscardLimitExceeded()) {
+      throw new IOException("The response body was closed before it was fully read");
+    }
+  }
+
+  private void chunkSize() throws IOException {
+    long size = 0;
+    int digits = 0;
+    for (int i = 0; i < lineLength; i++) {
+      int digit = Character.digit(line[i], 16);
+      if (digit == -1) {
+        // Chunk extensions are ignored
+        if (line[i] == ';' || line[i] == ' ' || line[i] == '\t') {
+          break;
+        }
+
+        throw new IOException("Invalid chunk size");
+      }
+
+      size = (size << 4) + digit;
+      if (++digits > 15) {
+        throw new IOException("Invalid chunk size");
+      }
+    }
+
+    if (digits == 0) {
+      throw new IOException("Invalid chunk size");
+    }
+
+    lineLength = 0;
+    if (size == 0) {
+      state = State.Trailers;
+    } else {
+      remaining = size;
+      state = State.ChunkData;
+    }
+  }
+
+  private void endOfHead() throws IOException {
+    lineLength = 0;
+
+    // Skip interim responses such as 100 Continue
+    if (status >= 100 && status < 200) {
+      if (status == 101) {
+        throw new IOException("Protocol upgrades are not supported");
+      }
+
+      state = State.Status;
+      return;
+    }
+
+    Map<String, List<String>> headers = this.headers;
+    keepAlive = !exchange.closeRequested && (http10 ? hasToken(headers, HTTPStrings.Headers.Connection, "keep-alive") :
+        !hasToken(headers, HTTPStrings.Headers.Connection, "close"));
+    exchange.head(status, headers);
+
+    if (exchange.method.equals("HEAD") || status == 204 || status == 304) {
+      finish();
+    } else if (hasToken(headers, HTTPStrings.Headers.TransferEncoding, "chunked")) {
+      state = State.ChunkSize;
+    } else {
+      String contentLength = get(headers, HTTPStrings.Headers.ContentLength);
+      if (contentLength != null) {
+        try {
+          remaining = Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+          throw new IOException("Invalid Content-Length [" + contentLength + "]");
+        }
+
+        if (remaining < 0) {
+          throw new IOException("Invalid Content-Length [" + contentLength + "]");
+        }
+
+        if (remaining == 0) {
+          finish();
+        } else {
+          state = State.Length;
+        }
+      } else {
+        keepAlive = false;
+        state = State.UntilClose;
+      }
+    }
+  }
+
+  private void finish() {
+    exchange = null;
+    headers = null;
+    headLength = 0;
+    lineLength = 0;
+    state = State.Status;
+    connection.responseComplete(keepAlive);
+  }
+
+  private static String get(Map<String, List<String>> headers, String name) {
+    for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+      if (entry.getKey().equalsIgnoreCase(name)) {
+        return entry.getValue().get(0);
+      }
+    }
+
+    return null;
+  }
+
+  private static boolean hasToken(Map<String, List<String>> headers, String name, String token) {
+    for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+      if (entry.getKey().equalsIgnoreCase(name)) {
+        for (String value : entry.getValue()) {
+          for (String part : value.split(",")) {
+            if (part.trim().equalsIgnoreCase(token)) {
+              return true;
+            }
+          }
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private void header() throws IOException {
+    headLength += lineLength;
+    if (headLength > MAX_HEAD_LENGTH) {
+      throw new IOException("The response headers are too large");
+    }
+
+    String header = new String(line, 0, lineLength, StandardCharsets.ISO_8859_1);
+    lineLength = 0;
+
+    int colon = header.indexOf(':');
+    if (colon <= 0) {
+      throw new IOException("Invalid response header [" + header + "]");
+    }
+
+    String name = header.substring(0, colon).trim();
+    String value = header.substring(colon + 1).trim();
+    headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+  }
+
+  private boolean readLine(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      byte b = buffer.get();
+      if (b == '\n') {
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+          lineLength--;
+        }
+
+        return true;
+      }
+
+      if (lineLength == line.length) {
+        if (lineLength >= MAX_LINE_LENGTH) {
+          throw new IOException("The response contains a line that is too long");
+        }
+
+        line = Arrays.copyOf(line, line.length * 2);
+      }
+
+      line[lineLength++] = b;
+    }
+
+    return false;
+  }
+
+  private void status() throws IOException {
+    // Ignore blank lines before the status line
+    if (lineLength == 0) {
+      return;
+    }
+
+    String statusLine = new String(line, 0, lineLength, StandardCharsets.ISO_8859_1);
+    lineLength = 0;
+    if (!statusLine.startsWith("HTTP/1.") || statusLine.length() < 12 || statusLine.charAt(8) != ' ') {
+      throw new IOException("Invalid status line [" + statusLine + "]");
+    }
+
+    try {
+      status = Integer.parseInt(statusLine.substring(9, 12));
+    } catch (NumberFormatException e) {
+      throw new IOException("Invalid status line [" + statusLine + "]");
+    }
+
+    http10 = statusLine.charAt(7) == '0';
+    headers = new LinkedHashMap<>();
+    headLength = 0;
+    state = State.Headers;
+  }
+
+  private enum State {
+    Status,
+    Headers,
+    Length,
+    ChunkSize,
+    ChunkData,
+    ChunkEnd,
+    Trailers,
+    UntilClose
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Opens Unix domain socket channels. These are only available on Java 16 and later, while this library is built for Java 8, so the
+ * methods are looked up once when this class is loaded and calling them fails with an IOException on older versions of Java.
+ *
+ * @author Brian Pontarelli
+ */
+final class UnixDomainSockets {
+  private static final Method ADDRESS_OF;
+
+  private static final Method OPEN;
+
+  private static final ProtocolFamily UNIX;
+
+  static {
+    Method addressOf = null;
+    Method open = null;
+    ProtocolFamily unix = null;
+    try {
+      addressOf = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+      open = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+      unix = StandardProtocolFamily.valueOf("UNIX");
+    } catch (ReflectiveOperationException | IllegalArgumentException e) {
+      // Java 15 or earlier, so Unix domain sockets aren't supported
+    }
+
+    ADDRESS_OF = addressOf;
+    OPEN = open;
+    UNIX = unix;
+  }
+
+  private UnixDomainSockets() {
+  }
+
+  /**
+   * Creates the address of the socket at the given path.
+   *
+   * @param path The path.
+   * @return The address.
+   * @throws IOException If Unix domain sockets aren't supported.
+   */
+  static SocketAddress address(String path) throws IOException {
+    checkSupported();
+    return (SocketAddress) invoke(ADDRESS_OF, path);
+  }
+
+  /**
+   * @return True if Unix domain sockets are supported by this version of Java.
+   */
+  static boolean isSupported() {
+    return UNIX != null;
+  }
+
+  /**
+   * Opens a non-blocking Unix domain socket channel.
+   *
+   * @return The channel, which isn't connected.
+   * @throws IOException If Unix domain sockets aren't supported or the channel could not be opened.
+   */
+  static SocketChannel open() throws IOException {
+    checkSupported();
+    SocketChannel channel = (SocketChannel) invoke(OPEN, UNIX);
+    try {
+      channel.configureBlocking(false);
+      return channel;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private static void checkSupported() throws IOException {
+    if (!isSupported()) {
+      throw new IOException("Unix domain sockets require Java 16 or later");
+    }
+  }
+
+  private static Object invoke(Method method, Object argument) throws IOException {
+    try {
+      return method.invoke(null, argument);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+
+      throw new IOException(cause);
+    } catch (IllegalAccessException e) {
+      throw new IOException(e);
+    }
+  }
+}
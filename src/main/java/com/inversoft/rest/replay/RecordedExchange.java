@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.inversoft.http.HTTPHeaders;
+
+/**
+ * A request and its response, as recorded by the {@link RecordingTransport} and replayed by the {@link ReplayTransport}.
+ * <p>
+ * The response body contains the whole body, including any part the response handler didn't read. If the rest of the body couldn't be
+ * read (because the request was aborted or the connection failed), the exchange is marked as {@link #truncated}.
+ *
+ * @author Brian Pontarelli
+ */
+public class RecordedExchange {
+  static final int MAGIC = 0x52535452;
+
+  static final int VERSION = 2;
+
+  public final String method;
+
+  public final byte[] requestBody;
+
+  public final HTTPHeaders requestHeaders;
+
+  public final byte[] responseBody;
+
+  /**
+   * The response headers, in the same form the transport returned them.
+   */
+  public final Map<String, List<String>> responseHeaders;
+
+  public final int status;
+
+  /**
+   * True if the response body is incomplete because the rest of it couldn't be read while recording.
+   */
+  public final boolean truncated;
+
+  public final String url;
+
+  public RecordedExchange(String method, String url, HTTPHeaders requestHeaders, byte[] requestBody, int status,
+                          Map<String, List<String>> responseHeaders, byte[] responseBody) {
+    this(method, url, requestHeaders, requestBody, status, responseHeaders, responseBody, false);
+  }
+
+  public RecordedExchange(String method, String url, HTTPHeaders requestHeaders, byte[] requestBody, int status,
+                          Map<String, List<String>> responseHeaders, byte[] responseBody, boolean truncated) {
+    this.method = method;
+    this.url = url;
+    this.requestHeaders = requestHeaders;
+    this.requestBody = requestBody;
+    this.status = status;
+    this.responseHeaders = responseHeaders;
+    this.responseBody = responseBody;
+    this.truncated = truncated;
+  }
+
+  /**
+   * Reads the next exchange.
+   *
+   * @param in      The stream.
+   * @param version The version of the recording. Version 1 recordings don't have the truncated flag.
+   * @return The exchange or null if the stream is at the end.
+   * @throws IOException If the read failed or the stream is truncated.
+   */
+  static RecordedExchange read(DataInputStream in, int version) throws IOException {
+    String method;
+    try {
+      method = readString(in);
+    } catch (EOFException e) {
+      return null;
+    }
+
+    String url = readString(in);
+    HTTPHeaders requestHeaders = new HTTPHeaders().addAll(readHeaders(in));
+    byte[] requestBody = readBytes(in);
+    int status = in.readInt();
+    Map<String, List<String>> responseHeaders = readHeaders(in);
+    byte[] responseBody = readBytes(in);
+    boolean truncated = version > 1 && in.readBoolean();
+    return new RecordedExchange(method, url, requestHeaders, requestBody, status, responseHeaders, responseBody, truncated);
+  }
+
+  /**
+   * Writes the exchange.
+   *
+   * @param out The stream.
+   * @throws IOException If the write failed.
+   */
+  void write(DataOutputStream out) throws IOException {
+    writeString(out, method);
+    writeString(out, url);
+    writeHeaders(out, requestHeaders.toMap());
+    writeBytes(out, requestBody);
+    out.writeInt(status);
+    writeHeaders(out, responseHeaders);
+    writeBytes(out, responseBody);
+    out.writeBoolean(truncated);
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static Map<String, List<String>> readHeaders(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    Map<String, List<String>> headers = new LinkedHashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      String name = readString(in);
+      int valueCount = in.readInt();
+      List<String> values = new ArrayList<>(valueCount);
+      for (int j = 0; j < valueCount; j++) {
+        values.add(readString(in));
+      }
+
+      headers.put(name, Collections.unmodifiableList(values));
+    }
+
+    return Collections.unmodifiableMap(headers);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = readBytes(in);
+    return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    if (bytes == null) {
+      out.writeInt(-1);
+      return;
+    }
+
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeHeaders(DataOutputStream out, Map<String, List<String>> headers) throws IOException {
+    // The name is null for the status line of HttpURLConnection headers
+    out.writeInt(headers.size());
+    for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+      writeString(out, entry.getKey());
+      out.writeInt(entry.getValue().size());
+      for (String value : entry.getValue()) {
+        writeString(out, value);
+      }
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+  }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPOutputStream;
+
+import com.inversoft.http.HTTPHeaders;
+import com.inversoft.http.HTTPStrings;
+import com.inversoft.rest.HTTPTransport;
+import com.inversoft.rest.RESTClient;
+import com.inversoft.rest.TrailerForwardingOutputStream;
+
+/**
+ * A transport that sends requests using another transport and records each request and its response to a file, which the {@link
+ * ReplayTransport} can then replay without a network:
+ * <pre>
+ *   try (RecordingTransport transport = new RecordingTransport(new NIOTransport(), Paths.get("traffic.rec"))) {
+ *     ClientResponse&lt;Foo, Void&gt; response = new RESTClient&lt;&gt;(Foo.class, Void.TYPE)
+ *         .transport(transport)
+ *         ...
+ *   }
+ * </pre>
+ * <p>
+ * Only requests that the RESTClient sends through an {@link HTTPTransport} are recorded. Requests sent without a transport use
+ * HttpURLConnection directly and never reach this class. Since the {@link com.inversoft.rest.nio.NIOTransport} only supports http and Unix
+ * domain socket URLs, HTTPS traffic can't currently be recorded.
+ * <p>
+ * An exchange is recorded once its response has been closed, which the RESTClient does after the response handler returns. The request
+ * body is recorded as the body handler writes it and the response body as the response handler reads it. Any part of the response body
+ * that wasn't read (because there was no handler for the status or the handler stopped early) is read and recorded when the response is
+ * closed. If it can't be (because the request was aborted or the connection failed), the exchange is marked as {@link
+ * RecordedExchange#truncated truncated}. The file is a compact binary format compressed with GZIP and is overwritten if it exists. Each
+ * exchange is flushed to the file once it is recorded, but the file is only complete once the transport is closed.
+ * <p>
+ * Credentials are redacted before they are written to the file. By default, these are the Authorization, Proxy-Authorization, Cookie and
+ * Set-Cookie headers (see {@link #redactHeaders(String...)}). To keep the recording the same shape as the real traffic, only the secret
+ * part of each value is replaced: the credentials of the Authorization headers (but not the scheme) and the values of the cookies (but not
+ * their names or attributes). The values of any other redacted header are replaced entirely. Bodies are recorded as is.
+ * <p>
+ * This transport is thread-safe if the transport it wraps is. Closing it closes the wrapped transport if that is Closeable.
+ *
+ * @author Brian Pontarelli
+ */
+public class RecordingTransport implements HTTPTransport, Closeable {
+  private static final String REDACTED = "redacted";
+
+  private final HTTPTransport delegate;
+
+  private final DataOutputStream out;
+
+  private int count;
+
+  private volatile Set<String> redacted = names(HTTPStrings.Headers.Authorization, HTTPStrings.Headers.Cookie,
+      HTTPStrings.Headers.ProxyAuthorization, HTTPStrings.Headers.SetCookie);
+
+  public RecordingTransport(HTTPTransport delegate, Path file) throws IOException {
+    this.delegate = delegate;
+    this.out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), 64 * 1024, true));
+    this.out.writeInt(RecordedExchange.MAGIC);
+    this.out.writeInt(RecordedExchange.VERSION);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      synchronized (out) {
+        out.close();
+      }
+    } finally {
+      if (delegate instanceof Closeable) {
+        ((Closeable) delegate).close();
+      }
+    }
+  }
+
+  /**
+   * @return The number of exchanges that have been recorded.
+   */
+  public int recorded() {
+    synchronized (out) {
+      return count;
+    }
+  }
+
+  /**
+   * Sets the headers whose values are redacted, replacing the default ones.
+   *
+   * @param names The names of the headers. If there aren't any, all headers are recorded as is.
+   * @return This.
+   */
+  public RecordingTransport redactHeaders(String... names) {
+    this.redacted = names(names);
+    return this;
+  }
+
+  @Override
+  public Response send(Request request) throws IOException {
+    RecordingBodyHandler bodyHandler = request.bodyHandler != null ? new RecordingBodyHandler(request.bodyHandler) : null;
+    Request delegateRequest = new Request(request.method, request.url, request.headers, bodyHandler, request.connectTimeout,
+        request.readTimeout);
+    request.onAbort(delegateRequest::abort);
+    Response response = delegate.send(delegateRequest);
+
+    RecordingInputStream recording = new RecordingInputStream(response.body, (bytes, truncated) ->
+        record(new RecordedExchange(request.method, request.url.toString(), redact(request.headers),
+            bodyHandler != null ? bodyHandler.bytes() : null, response.status, redact(response.headers), bytes, truncated)));
+    return new Response(response.status, response.headers, recording) {
+      @Override
+      public void abort() {
+        recording.aborted = true;
+        response.abort();
+      }
+    };
+  }
+
+  @Override
+  public boolean supportsTrailers() {
+    return delegate.supportsTrailers();
+  }
+
+  private static Set<String> names(String... names) {
+    Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    Collections.addAll(set, names);
+    return set;
+  }
+
+  private static String redact(String name, String value) {
+    if (name.equalsIgnoreCase(HTTPStrings.Headers.Authorization) || name.equalsIgnoreCase(HTTPStrings.Headers.ProxyAuthorization)) {
+      int space = value.indexOf(' ');
+      return space > 0 ? value.substring(0, space + 1) + REDACTED : REDACTED;
+    }
+
+    if (name.equalsIgnoreCase(HTTPStrings.Headers.Cookie)) {
+      StringBuilder build = new StringBuilder(value.length());
+      for (String cookie : value.split(";")) {
+        if (build.length() > 0) {
+          build.append(';');
+        }
+
+        build.append(redactCookie(cookie));
+      }
+
+      return build.toString();
+    }
+
+    if (name.equalsIgnoreCase(HTTPStrings.Headers.SetCookie)) {
+      int semicolon = value.indexOf(';');
+      return semicolon == -1 ? redactCookie(value) : redactCookie(value.substring(0, semicolon)) + value.substring(semicolon);
+    }
+
+    return REDACTED;
+  }
+
+  private static String redactCookie(String cookie) {
+    int equals = cookie.indexOf('=');
+    return equals == -1 ? cookie : cookie.substring(0, equals + 1) + REDACTED;
+  }
+
+  private void record(RecordedExchange exchange) {
+    synchronized (out) {
+      try {
+        exchange.write(out);
+        out.flush();
+        count++;
+      } catch (IOException e) {
+        // The recording is best effort, so the response is still handed to the response handler
+      }
+    }
+  }
+
+  private HTTPHeaders redact(HTTPHeaders headers) {
+    Set<String> redacted = this.redacted;
+    if (redacted.isEmpty()) {
+      return headers;
+    }
+
+    HTTPHeaders copy = new HTTPHeaders(headers.size());
+    headers.forEach((name, value) -> copy.add(name, redacted.contains(name) ? redact(name, value) : value));
+    return copy;
+  }
+
+  private Map<String, List<String>> redact(Map<String, List<String>> headers) {
+    Set<String> redacted = this.redacted;
+    if (redacted.isEmpty()) {
+      return headers;
+    }
+
+    // The name is null for the status line of HttpURLConnection headers
+    Map<String, List<String>> copy = new LinkedHashMap<>(headers.size() * 2);
+    headers.forEach((name, values) -> {
+      if (name == null || !redacted.contains(name)) {
+        copy.put(name, values);
+        return;
+      }
+
+      List<String> redactedValues = new ArrayList<>(values.size());
+      values.forEach(value -> redactedValues.add(redact(name, value)));
+      copy.put(name, redactedValues);
+    });
+    return copy;
+  }
+
+  /**
+   * Copies the request body as the wrapped body handler writes it.
+   */
+  private static final class RecordingBodyHandler implements RESTClient.BodyHandler {
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private final RESTClient.BodyHandler delegate;
+
+    private RecordingBodyHandler(RESTClient.BodyHandler delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void accept(OutputStream os) throws IOException {
+      delegate.accept(new RecordingOutputStream(os, body));
+    }
+
+    @Override
+    public byte[] getBody() {
+      return delegate.getBody();
+    }
+
+    @Override
+    public Object getBodyObject() {
+      return delegate.getBodyObject();
+    }
+
+    @Override
+    public void setHeaders(HttpURLConnection huc) {
+      delegate.setHeaders(huc);
+    }
+
+    private byte[] bytes() {
+      return body.toByteArray();
+    }
+  }
+
+  /**
+   * Copies the response body as the response handler reads it and records the exchange when it is closed, after reading whatever the
+   * handler didn't.
+   */
+  private static final class RecordingInputStream extends FilterInputStream {
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private final BiConsumer<byte[], Boolean> recorder;
+
+    private volatile boolean aborted;
+
+    private boolean closed;
+
+    private boolean eof;
+
+    private RecordingInputStream(InputStream in, BiConsumer<byte[], Boolean> recorder) {
+      super(in);
+      this.recorder = recorder;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        if (!closed && !eof && !aborted) {
+          drain();
+        }
+
+        super.close();
+      } finally {
+        if (!closed) {
+          closed = true;
+          recorder.accept(body.toByteArray(), !eof);
+        }
+      }
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        body.write(b);
+      } else {
+        eof = true;
+      }
+
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read > 0) {
+        body.write(b, off, read);
+      } else if (read == -1) {
+        eof = true;
+      }
+
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      // Read the skipped bytes so that they are recorded
+      byte[] buf = new byte[(int) Math.min(n, 8 * 1024)];
+      long skipped = 0;
+      while (skipped < n) {
+        int read = read(buf, 0, (int) Math.min(buf.length, n - skipped));
+        if (read == -1) {
+          break;
+        }
+
+        skipped += read;
+      }
+
+      return skipped;
+    }
+
+    private void drain() {
+      byte[] buf = new byte[8 * 1024];
+      try {
+        while (read(buf, 0, buf.length) != -1) {
+          // Recorded by read
+        }
+      } catch (IOException e) {
+        // The exchange is recorded as truncated
+      }
+    }
+  }
+
+  /**
+   * Copies the request body to a buffer as it is written. Trailers are passed through to the wrapped transport.
+   */
+  private static final class RecordingOutputStream extends TrailerForwardingOutputStream {
+    private final ByteArrayOutputStream copy;
+
+    private RecordingOutputStream(OutputStream out, ByteArrayOutputStream copy) {
+      super(out);
+      this.copy = copy;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      copy.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      copy.write(b, off, len);
+    }
+  }
+}
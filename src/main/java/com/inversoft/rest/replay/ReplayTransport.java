@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.replay;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import com.inversoft.rest.HTTPTransport;
+
+/**
+ * A transport that answers requests from the exchanges recorded by a {@link RecordingTransport}, entirely from memory. This measures the
+ * overhead of the RESTClient and the body and response handlers (JSON encoding and decoding, header processing, cookie parsing, etc.) on
+ * production-shaped traffic without any network noise:
+ * <pre>
+ *   ReplayTransport transport = new ReplayTransport(Paths.get("traffic.rec"));
+ *   for (RecordedExchange exchange : transport.exchanges) {
+ *     new RESTClient&lt;&gt;(Foo.class, Void.TYPE)
+ *         .transport(transport)
+ *         .url(exchange.url)
+ *         ...
+ *   }
+ * </pre>
+ * <p>
+ * Requests are matched to the recorded exchanges by their method and URL. If the same method and URL were recorded more than once, the
+ * exchanges are replayed in the order they were recorded and then start over. The body handler of each request is still called, but the
+ * body it writes is thrown away.
+ * <p>
+ * If an exchange was {@link RecordedExchange#truncated truncated} when it was recorded, its response body fails with an IOException once
+ * the recorded part has been read, just as the recorded request did.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @author Brian Pontarelli
+ */
+public class ReplayTransport implements HTTPTransport {
+  private static final OutputStream DISCARD = new OutputStream() {
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+  };
+
+  private static final InputStream TRUNCATED = new InputStream() {
+    @Override
+    public int read() throws IOException {
+      throw new IOException("The response body was truncated when it was recorded");
+    }
+  };
+
+  /**
+   * The recorded exchanges in the order they were recorded.
+   */
+  public final List<RecordedExchange> exchanges;
+
+  private final Map<String, Replays> replays = new HashMap<>();
+
+  public ReplayTransport(List<RecordedExchange> exchanges) {
+    this.exchanges = Collections.unmodifiableList(new ArrayList<>(exchanges));
+    for (RecordedExchange exchange : this.exchanges) {
+      replays.computeIfAbsent(key(exchange.method, exchange.url), key -> new Replays()).exchanges.add(exchange);
+    }
+  }
+
+  public ReplayTransport(Path file) throws IOException {
+    this(load(file));
+  }
+
+  /**
+   * Loads the exchanges that a {@link RecordingTransport} recorded to the given file.
+   *
+   * @param file The file.
+   * @return The exchanges.
+   * @throws IOException If the file could not be read or isn't a recording.
+   */
+  public static List<RecordedExchange> load(Path file) throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+      if (in.readInt() != RecordedExchange.MAGIC) {
+        throw new IOException("The file [" + file + "] isn't a recording");
+      }
+
+      int version = in.readInt();
+      if (version < 1 || version > RecordedExchange.VERSION) {
+        throw new IOException("The recording [" + file + "] has an unsupported version [" + version + "]");
+      }
+
+      List<RecordedExchange> exchanges = new ArrayList<>();
+      RecordedExchange exchange;
+      while ((exchange = RecordedExchange.read(in, version)) != null) {
+        exchanges.add(exchange);
+      }
+
+      return exchanges;
+    }
+  }
+
+  @Override
+  public Response send(Request request) throws IOException {
+    Replays candidates = replays.get(key(request.method, request.url.toString()));
+    if (candidates == null) {
+      throw new IOException("No exchange was recorded for [" + request.method + " " + request.url + "]");
+    }
+
+    if (request.bodyHandler != null) {
+      request.bodyHandler.accept(DISCARD);
+    }
+
+    RecordedExchange exchange = candidates.next();
+    byte[] body = exchange.responseBody != null ? exchange.responseBody : new byte[0];
+    InputStream is = new ByteArrayInputStream(body);
+    if (exchange.truncated) {
+      // Fail where the recording stopped, rather than replaying part of the body as if it were all of it
+      is = new SequenceInputStream(is, TRUNCATED);
+    }
+
+    return new Response(exchange.status, exchange.responseHeaders, is);
+  }
+
+  private static String key(String method, String url) {
+    return method + " " + url;
+  }
+
+  private static final class Replays {
+    private final List<RecordedExchange> exchanges = new ArrayList<>(1);
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private RecordedExchange next() {
+      return exchanges.get(Math.floorMod(next.getAndIncrement(), exchanges.size()));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.http;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class CookieJarTest {
+  @Test
+  public void domainAndPath() throws Exception {
+    CookieJar jar = new CookieJar();
+    jar.add(new URL("https://www.example.com/app/login"), Arrays.asList(
+        new Cookie("host", "1"),
+        new Cookie("domain", "2").with(c -> c.domain = ".example.com").with(c -> c.path = "/"),
+        new Cookie("path", "3").with(c -> c.path = "/app/admin"),
+        new Cookie("secure", "4").with(c -> c.secure = true),
+        new Cookie("other", "5").with(c -> c.domain = "other.com")
+    ));
+
+    // The cookie for other.com is rejected
+    assertEquals(jar.size(), 4);
+
+    // Host-only cookies have a default path of /app
+    assertEquals(jar.toRequestHeader(new URL("https://www.example.com/app/admin/users")), "domain=2; path=3; host=1; secure=4");
+    assertEquals(jar.toRequestHeader(new URL("https://www.example.com/app")), "domain=2; host=1; secure=4");
+    assertEquals(jar.toRequestHeader(new URL("https://www.example.com/apple")), "domain=2");
+    assertEquals(jar.toRequestHeader(new URL("http://www.example.com/app")), "domain=2; host=1");
+    assertEquals(jar.toRequestHeader(new URL("https://api.example.com/")), "domain=2");
+    assertEquals(jar.toRequestHeader(new URL("https://EXAMPLE.com/")), "domain=2");
+    assertNull(jar.toRequestHeader(new URL("https://example.org/")));
+    assertEquals(jar.get(new URL("https://api.example.com/")), Arrays.asList(new Cookie("domain", "2").with(c -> c.domain = ".example.com").with(c -> c.path = "/")));
+
+    StringBuilder build = new StringBuilder("explicit=0");
+    jar.appendRequestHeader(new URL("https://api.example.com/"), build);
+    assertEquals(build.toString(), "explicit=0; domain=2");
+  }
+
+  @Test
+  public void expiration() throws Exception {
+    URL url = new URL("http://localhost/");
+    CookieJar jar = new CookieJar();
+    jar.add(url, Arrays.asList(
+        new Cookie("a", "1"),
+        new Cookie("b", "2").with(c -> c.maxAge = 3600L),
+        new Cookie("c", "3").with(c -> c.expires = ZonedDateTime.now().plusHours(1))
+    ));
+    assertEquals(jar.toRequestHeader(url), "a=1; b=2; c=3");
+
+    // Replace
+    jar.add(url, new Cookie("a", "4"));
+    assertEquals(jar.toRequestHeader(url), "b=2; c=3; a=4");
+
+    // Delete using Max-Age and Expires
+    jar.add(url, new Cookie("b", "").with(c -> c.maxAge = 0L));
+    jar.add(url, new Cookie("c", "").with(c -> c.expires = ZonedDateTime.now().minusDays(1)));
+    assertEquals(jar.toRequestHeader(url), "a=4");
+    assertEquals(jar.size(), 1);
+    assertEquals(jar.removeExpired(), 0);
+  }
+
+  @Test
+  public void persistence() throws Exception {
+    Path file = Files.createTempFile("cookies", ".txt");
+    Files.delete(file);
+
+    try {
+      CookieJar jar = new CookieJar(file);
+      jar.add(new URL("https://www.example.com/"), Arrays.asList(
+          new Cookie("host", "1").with(c -> c.httpOnly = true),
+          new Cookie("domain", "2").with(c -> c.domain = "example.com")
+                                   .with(c -> c.maxAge = 3600L)
+                                   .with(c -> c.sameSite = Cookie.SameSite.Strict)
+                                   .with(c -> c.secure = true)
+      ));
+      jar.save();
+
+      CookieJar loaded = new CookieJar(file);
+      assertEquals(loaded.size(), 2);
+      assertEquals(loaded.toRequestHeader(new URL("https://www.example.com/")), "domain=2; host=1");
+      assertNull(loaded.toRequestHeader(new URL("http://api.example.com/")));
+      assertEquals(loaded.toRequestHeader(new URL("https://api.example.com/")), "domain=2");
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class HTTPHeadersTest {
+  @Test
+  public void add_get() {
+    HTTPHeaders headers = new HTTPHeaders(1)
+        .add("content-type", "application/json")
+        .add("X-Foo", "one")
+        .add("x-foo", "two")
+        .add("X-FOO", null)
+        .add(null, "ignored");
+
+    assertEquals(headers.size(), 3);
+    assertEquals(headers.get("Content-Type"), "application/json");
+    assertEquals(headers.get("CONTENT-TYPE"), "application/json");
+    assertEquals(headers.get("x-foo"), "one");
+    assertEquals(headers.getAll("X-Foo"), Arrays.asList("one", "two"));
+    assertNull(headers.get("X-Bar"));
+    assertNull(headers.getAll("X-Bar"));
+    assertTrue(headers.contains("x-FOO"));
+    assertFalse(headers.contains("X-Bar"));
+
+    // Well-known names are interned and other names keep the case they were first added with
+    assertSame(headers.names().get(0), HTTPStrings.Headers.ContentType);
+    assertEquals(headers.names(), Arrays.asList("Content-Type", "X-Foo"));
+  }
+
+  @Test
+  public void asMap() {
+    HTTPHeaders headers = new HTTPHeaders()
+        .add("content-type", "application/json")
+        .add("X-Foo", "one")
+        .add("x-foo", "two");
+
+    Map<String, List<String>> map = headers.asMap();
+    assertEquals(map.size(), 2);
+    assertEquals(map.get("Content-Type"), Arrays.asList("application/json"));
+    assertEquals(map.get("x-FOO"), Arrays.asList("one", "two"));
+    assertTrue(map.containsKey("x-foo"));
+    assertNull(map.get("X-Bar"));
+    assertNull(map.get(null));
+
+    Map<String, List<String>> expected = new LinkedHashMap<>();
+    expected.put("Content-Type", Arrays.asList("application/json"));
+    expected.put("X-Foo", Arrays.asList("one", "two"));
+    assertEquals(map, expected);
+
+    // Changes to the view write through
+    assertEquals(map.put("x-foo", Arrays.asList("three")), Arrays.asList("one", "two"));
+    assertEquals(headers.getAll("X-Foo"), Arrays.asList("three"));
+    assertEquals(map.remove("CONTENT-TYPE"), Arrays.asList("application/json"));
+    assertFalse(headers.contains("Content-Type"));
+
+    map.entrySet().removeIf(entry -> entry.getKey().equalsIgnoreCase("X-Foo"));
+    assertTrue(headers.isEmpty());
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void forEach() {
+    HTTPHeaders headers = new HTTPHeaders()
+        .add("A", "1")
+        .add("B", "2")
+        .add("a", "3");
+
+    List<String> pairs = new ArrayList<>();
+    headers.forEach((name, value) -> pairs.add(name + "=" + value));
+    assertEquals(pairs, Arrays.asList("A=1", "B=2", "A=3"));
+  }
+
+  @Test
+  public void set_remove() {
+    HTTPHeaders headers = new HTTPHeaders()
+        .add("A", "1")
+        .add("B", "2")
+        .add("a", "3")
+        .add("C", "4");
+
+    headers.set("a", "5");
+    assertEquals(headers.getAll("A"), Arrays.asList("5"));
+    assertEquals(headers.size(), 3);
+
+    headers.setAll("b", Arrays.asList("6", null, "7"));
+    assertEquals(headers.getAll("B"), Arrays.asList("6", "7"));
+
+    headers.set("C", null);
+    assertFalse(headers.contains("C"));
+
+    headers.remove("B");
+    assertEquals(headers.size(), 1);
+    assertEquals(headers.names(), Arrays.asList("a"));
+
+    headers.clear();
+    assertTrue(headers.isEmpty());
+  }
+
+  @Test
+  public void toMap() {
+    Map<String, List<String>> source = new LinkedHashMap<>();
+    source.put(null, Arrays.asList("HTTP/1.1 200 OK"));
+    source.put("set-cookie", Arrays.asList("a=b", "c=d"));
+    source.put("X-Empty", null);
+
+    HTTPHeaders headers = new HTTPHeaders().addAll(source);
+
+    Map<String, List<String>> expected = new LinkedHashMap<>();
+    expected.put("Set-Cookie", Arrays.asList("a=b", "c=d"));
+    assertEquals(headers.toMap(), expected);
+    assertEquals(headers, new HTTPHeaders().add("Set-Cookie", "a=b").add("Set-Cookie", "c=d"));
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.inversoft.http.HTTPStrings;
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class BinaryJSONHandlerTest {
+  private HttpServer server;
+
+  @AfterClass
+  public void afterClass() {
+    server.stop(0);
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(7049), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/echo", exchange -> {
+      byte[] body = BodyReader.readBytes(exchange.getRequestBody(), -1);
+      exchange.getResponseHeaders().set("Content-Type", exchange.getRequestHeaders().getFirst("Content-Type"));
+      exchange.getResponseHeaders().set("X-Accept", exchange.getRequestHeaders().getFirst("Accept"));
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    server.start();
+  }
+
+  @Test
+  public void cbor() throws Exception {
+    try (NIOTransport transport = new NIOTransport()) {
+      ClientResponse<Order, Void> response = new RESTClient<>(Order.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7049/echo")
+          .bodyHandler(new CBORBodyHandler(Order.sample()))
+          .successResponseHandler(new CBORResponseHandler<>(Order.class))
+          .post()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(response.successResponse, Order.sample());
+      assertEquals(response.getHeader("Content-Type"), HTTPStrings.ContentTypes.ApplicationCbor);
+      assertEquals(response.getHeader("X-Accept"), HTTPStrings.ContentTypes.ApplicationCbor);
+    }
+  }
+
+  @Test
+  public void configuration() throws Exception {
+    // The binary mappers have the same configuration and modules as the JSON mappers, so nulls are dropped and dates are numbers
+    Order order = Order.sample();
+    order.note = null;
+    @SuppressWarnings("unchecked")
+    Map<String, Object> map = SmileResponseHandler.defaultObjectMapper.readValue(SmileBodyHandler.defaultObjectMapper.writeValueAsBytes(order), Map.class);
+    assertFalse(map.containsKey("note"));
+    assertEquals(map.get("created"), order.created.toInstant().toEpochMilli());
+
+    byte[] json = new JSONBodyHandler(Order.sample()).getBody();
+    byte[] cbor = new CBORBodyHandler(Order.sample()).getBody();
+    byte[] smile = new SmileBodyHandler(Order.sample()).getBody();
+    assertTrue(cbor.length < json.length);
+    assertTrue(smile.length < json.length);
+  }
+
+  @Test
+  public void smile() {
+    ClientResponse<Order, Void> response = new RESTClient<>(Order.class, Void.TYPE)
+        .url("http://localhost:7049/echo")
+        .header("Accept", "application/x-jackson-smile;q=1, application/json;q=0.5")
+        .bodyHandler(new SmileBodyHandler(Order.sample()))
+        .successResponseHandler(new SmileResponseHandler<>(Order.class))
+        .post()
+        .go();
+
+    assertNull(response.exception);
+    assertEquals(response.successResponse, Order.sample());
+    assertEquals(response.getHeader("Content-Type"), HTTPStrings.ContentTypes.ApplicationSmile);
+
+    // An explicit Accept header is left alone
+    assertEquals(response.getHeader("X-Accept"), "application/x-jackson-smile;q=1, application/json;q=0.5");
+  }
+
+  public static class Line {
+    public double price;
+
+    public int quantity;
+
+    public String sku;
+
+    public Line() {
+    }
+
+    public Line(String sku, int quantity, double price) {
+      this.sku = sku;
+      this.quantity = quantity;
+      this.price = price;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Line)) {
+        return false;
+      }
+      Line line = (Line) o;
+      return Double.compare(line.price, price) == 0 && quantity == line.quantity && Objects.equals(sku, line.sku);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sku, quantity, price);
+    }
+  }
+
+  public static class Order {
+    public ZonedDateTime created;
+
+    public String id;
+
+    public List<Line> lines;
+
+    public String note;
+
+    public LocalDate shipBy;
+
+    public double total;
+
+    public static Order sample() {
+      Order order = new Order();
+      order.created = ZonedDateTime.of(2026, 3, 1, 12, 30, 0, 0, ZoneOffset.UTC);
+      order.id = "9f3b2c1e-5d4a-4f6b-8c7d-1a2b3c4d5e6f";
+      order.lines = Arrays.asList(new Line("SKU-1001", 2, 19.99), new Line("SKU-2002", 1, 5.25), new Line("SKU-3003", 10, 0.5));
+      order.note = "Leave at the front desk";
+      order.shipBy = LocalDate.of(2026, 3, 5);
+      order.total = 50.23;
+      return order;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Order)) {
+        return false;
+      }
+      Order order = (Order) o;
+      return Double.compare(order.total, total) == 0 && Objects.equals(created.toInstant(), order.created.toInstant()) &&
+          Objects.equals(id, order.id) && Objects.equals(lines, order.lines) && Objects.equals(note, order.note) &&
+          Objects.equals(shipBy, order.shipBy);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(id);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class BodyReaderTest {
+  @Test
+  public void failedRead() {
+    // The read fails part way through a chunk, which must still be returned to the pool
+    long outstanding = BufferPool.DEFAULT.stats().outstanding;
+    for (long contentLength : new long[]{-1, 10, 100_000_000}) {
+      try {
+        BodyReader.readBytes(failing(100_000), contentLength);
+        fail("Should have thrown");
+      } catch (IOException e) {
+        assertEquals(e.getMessage(), "Connection reset");
+      }
+
+      try {
+        BodyReader.readString(failing(100_000), contentLength, StandardCharsets.UTF_8);
+        fail("Should have thrown");
+      } catch (IOException e) {
+        assertEquals(e.getMessage(), "Connection reset");
+      }
+    }
+
+    assertEquals(BufferPool.DEFAULT.stats().outstanding, outstanding);
+  }
+
+  @Test
+  public void readBytes() throws Exception {
+    byte[] body = new byte[100_000];
+    for (int i = 0; i < body.length; i++) {
+      body[i] = (byte) i;
+    }
+
+    // Exact, unknown, too short and too long lengths
+    assertEquals(BodyReader.readBytes(trickle(body), body.length), body);
+    assertEquals(BodyReader.readBytes(trickle(body), -1), body);
+    assertEquals(BodyReader.readBytes(trickle(body), 10), body);
+    assertEquals(BodyReader.readBytes(trickle(body), body.length * 2), body);
+    assertEquals(BodyReader.readBytes(trickle(new byte[0]), 0), new byte[0]);
+    assertEquals(BodyReader.readBytes(trickle(new byte[0]), -1), new byte[0]);
+  }
+
+  @Test
+  public void readString() throws Exception {
+    // Multibyte characters will be split across the chunk boundaries
+    StringBuilder build = new StringBuilder();
+    for (int i = 0; i < 20_000; i++) {
+      build.append("a\u00e9\u20ac\ud83d\ude00");
+    }
+
+    String expected = build.toString();
+    byte[] body = expected.getBytes(StandardCharsets.UTF_8);
+    assertEquals(BodyReader.readString(trickle(body), body.length, StandardCharsets.UTF_8), expected);
+    assertEquals(BodyReader.readString(trickle(body), -1, StandardCharsets.UTF_8), expected);
+    assertEquals(BodyReader.readString(trickle(body), 5, StandardCharsets.UTF_8), expected);
+
+    // Malformed input is replaced the same way the String constructor does it
+    byte[] malformed = Arrays.copyOf(body, 20_001);
+    malformed[20_000] = (byte) 0xF0;
+    assertEquals(BodyReader.readString(trickle(malformed), -1, StandardCharsets.UTF_8), new String(malformed, StandardCharsets.UTF_8));
+  }
+
+  private InputStream failing(int length) {
+    return new SequenceInputStream(trickle(new byte[length]), new InputStream() {
+      @Override
+      public int read() throws IOException {
+        throw new IOException("Connection reset");
+      }
+    });
+  }
+
+  private InputStream trickle(byte[] bytes) {
+    return new ByteArrayInputStream(bytes) {
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, Math.min(len, 777));
+      }
+    };
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class BufferPoolTest {
+  @Test
+  public void acquireAndRelease() {
+    BufferPool pool = new BufferPool(1, 1, 1);
+    byte[] small = pool.acquire(1);
+    assertEquals(small.length, 1024);
+    assertEquals(pool.acquire(1025).length, 2048);
+    assertEquals(pool.acquire(1024 * 1024).length, 1024 * 1024);
+    assertEquals(pool.acquire(1024 * 1024 + 1).length, 1024 * 1024 + 1);
+
+    // The thread cache, then the stripe, then the pool is full
+    byte[] second = new byte[1024];
+    byte[] third = new byte[1024];
+    pool.release(small);
+    pool.release(second);
+    pool.release(third);
+    pool.release(new byte[1000]);
+
+    BufferPool.Stats stats = pool.stats();
+    assertEquals(stats.acquired, 4);
+    assertEquals(stats.allocated, 4);
+    assertEquals(stats.discarded, 2);
+    assertEquals(stats.outstanding, 0);
+    assertEquals(stats.pooled, 2);
+    assertEquals(stats.released, 4);
+
+    assertSame(pool.acquire(10), small);
+    assertSame(pool.acquire(10), second);
+    assertEquals(pool.stats().allocated, 4);
+    assertEquals(pool.stats().pooled, 0);
+  }
+
+  @Test
+  public void retention() throws Exception {
+    BufferPool pool = new BufferPool(4, 1, 16);
+
+    // Large arrays skip the thread cache and the stripes only hold a few of them
+    for (int i = 0; i < 4; i++) {
+      pool.release(new byte[1024 * 1024]);
+    }
+
+    assertEquals(pool.stats().pooled, 1);
+    assertEquals(pool.stats().discarded, 3);
+
+    // The arrays cached by a thread that has exited aren't counted
+    Thread thread = new Thread(() -> {
+      for (int i = 0; i < 4; i++) {
+        pool.release(new byte[1024]);
+      }
+    });
+    thread.start();
+    thread.join();
+    assertEquals(pool.stats().pooled, 1);
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.nio.NIOTransport;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class CancellationTest {
+  private final Semaphore closed = new Semaphore(0);
+
+  private final AtomicInteger connections = new AtomicInteger();
+
+  private ExecutorService executor;
+
+  private ServerSocket server;
+
+  @AfterClass
+  public void afterClass() throws IOException {
+    server.close();
+    executor.shutdownNow();
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    server = new ServerSocket(7056);
+    Thread thread = new Thread(() -> {
+      while (!server.isClosed()) {
+        try {
+          Socket socket = server.accept();
+          connections.incrementAndGet();
+          Thread handler = new Thread(() -> serve(socket), "cancellation-connection");
+          handler.setDaemon(true);
+          handler.start();
+        } catch (IOException e) {
+          // The server was closed
+        }
+      }
+    }, "cancellation-server");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Test
+  public void cancelBody() throws Exception {
+    assertCancelledBody(null);
+    try (NIOTransport transport = new NIOTransport()) {
+      assertCancelledBody(transport);
+    }
+  }
+
+  @Test
+  public void cancelFuture() throws Exception {
+    closed.drainPermits();
+    CompletableFuture<ClientResponse<Void, Void>> future = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .url("http://localhost:7056/stall")
+        .readTimeout(10_000)
+        .get()
+        .goAsync(executor);
+
+    Thread.sleep(200);
+    assertTrue(future.cancel(true));
+    assertTrue(future.isCancelled());
+    try {
+      future.get();
+      fail("Should have been cancelled");
+    } catch (CancellationException e) {
+      // Expected
+    }
+
+    // The connection is closed as well, not just the future
+    assertTrue(closed.tryAcquire(2, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void cancelRequest() throws Exception {
+    assertCancelledRequest(null);
+    try (NIOTransport transport = new NIOTransport()) {
+      assertCancelledRequest(transport);
+    }
+  }
+
+  @Test
+  public void cancelledBeforeStart() throws Exception {
+    CancellationToken token = new CancellationToken();
+    token.cancel();
+
+    int before = connections.get();
+    ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .url("http://localhost:7056/stall")
+        .cancellationToken(token)
+        .get()
+        .go();
+
+    assertEquals(response.status, -1);
+    assertTrue(response.cancelled);
+    assertTrue(response.exception instanceof CancellationException);
+    assertEquals(connections.get(), before);
+
+    // A future for a cancelled token completes with a cancelled response
+    ClientResponse<Void, Void> async = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .url("http://localhost:7056/stall")
+        .cancellationToken(token)
+        .get()
+        .goAsync(executor)
+        .get(2, TimeUnit.SECONDS);
+    assertTrue(async.cancelled);
+    assertEquals(connections.get(), before);
+  }
+
+  @Test
+  public void token() {
+    CancellationToken parent = new CancellationToken();
+    CancellationToken child = new CancellationToken(parent);
+    AtomicInteger ran = new AtomicInteger();
+    CancellationToken.Registration removed = child.onCancel(ran::incrementAndGet);
+    child.onCancel(ran::incrementAndGet);
+    removed.close();
+
+    child.cancel();
+    assertTrue(child.isCancelled());
+    assertFalse(parent.isCancelled());
+    assertEquals(ran.get(), 1);
+
+    // Cancelling again does nothing, and late listeners run right away
+    child.cancel();
+    assertEquals(ran.get(), 1);
+    child.onCancel(ran::incrementAndGet);
+    assertEquals(ran.get(), 2);
+
+    CancellationToken other = new CancellationToken(parent);
+    parent.cancel();
+    assertTrue(other.isCancelled());
+  }
+
+  private void assertCancelledBody(HTTPTransport transport) {
+    // The server sends a byte every 100 ms, so the handler is reading the body when the token is cancelled
+    CancellationToken token = new CancellationToken();
+    executor.execute(() -> {
+      sleep(500);
+      token.cancel();
+    });
+
+    long start = System.nanoTime();
+    ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7056/trickle")
+        .readTimeout(10_000)
+        .cancellationToken(token)
+        .successResponseHandler(new TextResponseHandler())
+        .get()
+        .go();
+
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertEquals(response.status, 200);
+    assertTrue(response.cancelled);
+    assertTrue(response.exception instanceof CancellationException, "" + response.exception);
+    assertTrue(millis < 2_000, "Took [" + millis + "] ms");
+  }
+
+  private void assertCancelledRequest(HTTPTransport transport) throws Exception {
+    closed.drainPermits();
+    CancellationToken token = new CancellationToken();
+    executor.execute(() -> {
+      sleep(300);
+      token.cancel();
+    });
+
+    long start = System.nanoTime();
+    ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7056/stall")
+        .readTimeout(10_000)
+        .cancellationToken(token)
+        .get()
+        .go();
+
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertEquals(response.status, -1);
+    assertTrue(response.cancelled);
+    assertTrue(response.exception instanceof CancellationException, "" + response.exception);
+    assertEquals(response.exception.getMessage(), "The request was cancelled");
+    assertTrue(millis >= 250 && millis < 2_000, "Took [" + millis + "] ms");
+    assertTrue(closed.tryAcquire(2, TimeUnit.SECONDS));
+  }
+
+  private void serve(Socket socket) {
+    try (Socket ignore = socket) {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+      String requestLine = reader.readLine();
+      String line;
+      while ((line = reader.readLine()) != null && !line.isEmpty()) {
+        // Skip the headers
+      }
+
+      if (requestLine.contains("/stall")) {
+        // Wait for the client to close the connection
+        try {
+          while (reader.read() != -1) {
+          }
+        } catch (IOException e) {
+          // Reset by the client
+        }
+
+        closed.release();
+        return;
+      }
+
+      OutputStream os = socket.getOutputStream();
+      os.write("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: 100\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+      os.flush();
+      for (int i = 0; i < 100; i++) {
+        Thread.sleep(100);
+        os.write('x');
+        os.flush();
+      }
+    } catch (Exception e) {
+      // The client went away
+    }
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class CountingStreamTest {
+  @Test
+  public void input() throws Exception {
+    LongAdder shared = new LongAdder();
+    CountingInputStream is = new CountingInputStream(new ByteArrayInputStream(new byte[100]), shared);
+    assertEquals(is.read(), 0);
+    assertEquals(is.read(new byte[10]), 10);
+    assertEquals(is.skip(20), 20);
+    assertEquals(is.read(new byte[100]), 69);
+    assertEquals(is.read(), -1);
+    assertEquals(is.getCount(), 100);
+    assertEquals(shared.sum(), 100);
+  }
+
+  @Test
+  public void output() throws Exception {
+    CountingOutputStream os = new CountingOutputStream(new ByteArrayOutputStream());
+    os.write(1);
+    os.write(new byte[10], 2, 5);
+    assertEquals(os.getCount(), 6);
+
+    // No trailer support in the wrapped stream
+    try {
+      os.addTrailer("Digest", "abc");
+      fail("Should have thrown");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+
+    // Trailers pass through any number of wrappers
+    Map<String, String> trailers = new LinkedHashMap<>();
+    OutputStream body = new TrailerStream(trailers);
+    new CountingOutputStream(new TrailerForwardingOutputStream(body)).addTrailer("Digest", "abc");
+    assertEquals(trailers.get("Digest"), "abc");
+  }
+
+  private static final class TrailerStream extends ByteArrayOutputStream implements HTTPTransport.Trailers {
+    private final Map<String, String> trailers;
+
+    private TrailerStream(Map<String, String> trailers) {
+      this.trailers = trailers;
+    }
+
+    @Override
+    public void addTrailer(String name, String value) {
+      trailers.put(name, value);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class DateToolsTest {
+  @Test
+  public void format() {
+    ZonedDateTime date = ZonedDateTime.of(2015, 10, 21, 7, 28, 0, 0, ZoneOffset.UTC);
+    assertEquals(DateTools.format(date), "Wed, 21 Oct 2015 07:28:00 GMT");
+    // Cached
+    assertEquals(DateTools.format(date.plusNanos(1000)), "Wed, 21 Oct 2015 07:28:00 GMT");
+    assertEquals(DateTools.format(ZonedDateTime.of(999, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC)), "Wed, 02 Jan 0999 03:04:05 GMT");
+
+    // Non-UTC offsets use the formatter
+    assertEquals(DateTools.format(ZonedDateTime.of(2015, 10, 21, 7, 28, 0, 0, ZoneOffset.ofHours(-6))), "Wed, 21 Oct 2015 07:28:00 -0600");
+  }
+
+  @Test
+  public void format_matchesFormatter() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      ZonedDateTime date = ZonedDateTime.ofInstant(Instant.ofEpochSecond(random.nextInt(Integer.MAX_VALUE)), ZoneOffset.UTC);
+      assertEquals(DateTools.format(date), date.format(DateTools.RFC_5322_DATE_TIME));
+      assertEquals(DateTools.parse(DateTools.format(date)), date);
+    }
+  }
+
+  @Test
+  public void parse() {
+    ZonedDateTime expected = ZonedDateTime.of(2015, 10, 21, 7, 28, 0, 0, ZoneOffset.UTC);
+    assertEquals(DateTools.parse("Wed, 21 Oct 2015 07:28:00 GMT"), expected);
+    assertEquals(DateTools.parse("wed, 21 OCT 2015 07:28:00 gmt"), expected);
+
+    // Fallbacks to the formatter
+    assertEquals(DateTools.parse("21 Oct 2015 07:28:00 GMT"), expected);
+    assertEquals(DateTools.parse("Wed, 21 Oct 2015 07:28 GMT"), expected);
+    assertEquals(DateTools.parse("Wed, 21 Oct 2015 01:28:00 -0600"), ZonedDateTime.of(2015, 10, 21, 1, 28, 0, 0, ZoneId.of("-06:00")));
+
+    // Bad values
+    assertNull(DateTools.parse(null));
+    assertNull(DateTools.parse(""));
+    assertNull(DateTools.parse("Thu, 21 Oct 2015 07:28:00 GMT"));
+    assertNull(DateTools.parse("Wed, 31 Feb 2015 07:28:00 GMT"));
+    assertNull(DateTools.parse("Wed, 21 Oct 2015 24:28:00 GMT"));
+    assertNull(DateTools.parse("Wed, 21 Foo 2015 07:28:00 GMT"));
+    assertNull(DateTools.parse("Not a date at all, really no"));
+  }
+}
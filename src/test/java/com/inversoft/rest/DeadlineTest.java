@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.nio.NIOTransport;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class DeadlineTest {
+  private final AtomicInteger connections = new AtomicInteger();
+
+  private ServerSocket server;
+
+  @AfterClass
+  public void afterClass() throws IOException {
+    server.close();
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    server = new ServerSocket(7055);
+    Thread thread = new Thread(() -> {
+      while (!server.isClosed()) {
+        try {
+          Socket socket = server.accept();
+          connections.incrementAndGet();
+          Thread handler = new Thread(() -> serve(socket), "deadline-connection");
+          handler.setDaemon(true);
+          handler.start();
+        } catch (IOException e) {
+          // The server was closed
+        }
+      }
+    }, "deadline-server");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Test
+  public void expired() {
+    int before = connections.get();
+    ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .url("http://localhost:7055/stall")
+        .deadline(-1)
+        .get()
+        .go();
+
+    assertEquals(response.status, -1);
+    assertTrue(response.exception instanceof SocketTimeoutException);
+    assertEquals(connections.get(), before);
+  }
+
+  @Test
+  public void scope() throws Exception {
+    assertNull(Deadline.current());
+    Deadline outer = Deadline.after(300);
+    try (Deadline.Scope ignore = outer.enter()) {
+      // An inner scope can't extend the deadline
+      try (Deadline.Scope ignore2 = Deadline.after(10_000).enter()) {
+        assertSame(Deadline.current(), outer);
+
+        try (NIOTransport transport = new NIOTransport()) {
+          long start = System.nanoTime();
+          ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+              .transport(transport)
+              .url("http://localhost:7055/stall")
+              .readTimeout(10_000)
+              .get()
+              .go();
+
+          long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+          assertEquals(response.status, -1);
+          assertTrue(response.exception instanceof SocketTimeoutException, "" + response.exception);
+          assertTrue(millis >= 250 && millis < 1_000, "Took [" + millis + "] ms");
+        }
+      }
+
+      assertSame(Deadline.current(), outer);
+    }
+
+    assertNull(Deadline.current());
+  }
+
+  @Test
+  public void scopeAsync() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (Deadline.Scope ignore = Deadline.after(300).enter()) {
+      long start = System.nanoTime();
+      ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+          .url("http://localhost:7055/stall")
+          .readTimeout(10_000)
+          .get()
+          .goAsync(executor)
+          .get(5, TimeUnit.SECONDS);
+
+      long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof SocketTimeoutException, "" + response.exception);
+      assertTrue(millis >= 250 && millis < 1_000, "Took [" + millis + "] ms");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void timer() throws Exception {
+    // A small wheel, so that the last timeout goes around it more than once
+    HashedWheelTimer timer = new HashedWheelTimer("test-timer", 5, TimeUnit.MILLISECONDS, 4);
+    List<Integer> ran = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(3);
+    long start = System.nanoTime();
+    timer.schedule(() -> { ran.add(50); latch.countDown(); }, 50, TimeUnit.MILLISECONDS);
+    timer.schedule(() -> { ran.add(20); latch.countDown(); }, 20, TimeUnit.MILLISECONDS);
+    HashedWheelTimer.Timeout cancelled = timer.schedule(() -> ran.add(30), 30, TimeUnit.MILLISECONDS);
+    HashedWheelTimer.Timeout last = timer.schedule(() -> { ran.add(120); latch.countDown(); }, 120, TimeUnit.MILLISECONDS);
+    assertTrue(cancelled.cancel());
+    assertFalse(cancelled.cancel());
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(120));
+    assertEquals(ran, asList(20, 50, 120));
+    assertTrue(last.isExpired());
+    assertFalse(last.cancel());
+  }
+
+  @Test
+  public void trickle() throws Exception {
+    // The server sends a byte every 200 ms, which never trips the read timeout
+    assertDeadlineExceeded(null);
+    try (NIOTransport transport = new NIOTransport()) {
+      assertDeadlineExceeded(transport);
+    }
+  }
+
+  private void assertDeadlineExceeded(HTTPTransport transport) {
+    long start = System.nanoTime();
+    ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7055/trickle")
+        .readTimeout(2_000)
+        .deadline(700)
+        .successResponseHandler(new TextResponseHandler())
+        .get()
+        .go();
+
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertEquals(response.status, 200);
+    assertTrue(response.exception instanceof SocketTimeoutException, "" + response.exception);
+    assertEquals(response.exception.getMessage(), "The deadline of the request was exceeded");
+    assertTrue(millis >= 650 && millis < 1_500, "Took [" + millis + "] ms");
+  }
+
+  private void serve(Socket socket) {
+    try (Socket ignore = socket) {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+      String requestLine = reader.readLine();
+      String line;
+      while ((line = reader.readLine()) != null && !line.isEmpty()) {
+        // Skip the headers
+      }
+
+      if (requestLine.contains("/stall")) {
+        // Wait for the client to give up
+        while (reader.read() != -1) {
+        }
+
+        return;
+      }
+
+      OutputStream os = socket.getOutputStream();
+      os.write("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: 100\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+      os.flush();
+      for (int i = 0; i < 100; i++) {
+        Thread.sleep(200);
+        os.write('x');
+        os.flush();
+      }
+    } catch (Exception e) {
+      // The client went away
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+@SuppressWarnings("rawtypes")
+public class NDJSONResponseHandlerTest {
+  private volatile CountDownLatch disconnected;
+
+  private HttpServer server;
+
+  private NIOTransport transport;
+
+  @AfterClass
+  public void afterClass() {
+    server.stop(0);
+    transport.close();
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    transport = new NIOTransport();
+    server = HttpServer.create(new InetSocketAddress(7045), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/finite", exchange -> {
+      exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream os = exchange.getResponseBody()) {
+        for (int i = 0; i < 1_000; i++) {
+          os.write(("{\"id\":" + i + ",\"name\":\"item " + i + "\"}\n" + (i % 100 == 0 ? "\n" : "")).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+    });
+    server.createContext("/malformed", exchange -> {
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write("{\"id\":1}\n{\"id\":2}\n{\"id\":\n".getBytes(StandardCharsets.UTF_8));
+      }
+    });
+    server.createContext("/endless", exchange -> {
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream os = exchange.getResponseBody()) {
+        for (int i = 0; ; i++) {
+          os.write(("{\"id\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+          os.flush();
+          Thread.sleep(5);
+        }
+      } catch (IOException e) {
+        disconnected.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    server.start();
+  }
+
+  @Test(dataProvider = "transports")
+  public void cancelFromAnotherThread(boolean nio) throws Exception {
+    disconnected = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    NDJSONResponseHandler<Map> handler = new NDJSONResponseHandler<>(Map.class, item -> started.countDown());
+    Thread canceller = new Thread(() -> {
+      try {
+        started.await();
+        Thread.sleep(50);
+        handler.cancel();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    canceller.start();
+
+    ClientResponse<Long, Void> response = client(nio, "/endless", handler).get().go();
+    canceller.join();
+
+    assertNull(response.exception);
+    assertTrue(response.successResponse > 0);
+    assertTrue(handler.isCancelled());
+    assertTrue(disconnected.await(10, TimeUnit.SECONDS), "The server never saw the connection close");
+  }
+
+  @Test(dataProvider = "transports")
+  public void cancelFromConsumer(boolean nio) throws Exception {
+    disconnected = new CountDownLatch(1);
+    List<Map> items = new ArrayList<>();
+    NDJSONResponseHandler<Map>[] handler = new NDJSONResponseHandler[1];
+    handler[0] = new NDJSONResponseHandler<>(Map.class, item -> {
+      items.add(item);
+      if (items.size() == 10) {
+        handler[0].cancel();
+      }
+    });
+
+    ClientResponse<Long, Void> response = client(nio, "/endless", handler[0]).get().go();
+
+    assertNull(response.exception);
+    assertEquals((long) response.successResponse, 10L);
+    assertEquals(items.get(9).get("id"), 9);
+    assertTrue(disconnected.await(10, TimeUnit.SECONDS), "The server never saw the connection close");
+  }
+
+  @Test(dataProvider = "transports")
+  public void malformed(boolean nio) {
+    List<Map> items = new ArrayList<>();
+    ClientResponse<Long, Void> response = client(nio, "/malformed", new NDJSONResponseHandler<>(Map.class, items::add)).get().go();
+
+    assertEquals(items.size(), 2);
+    assertTrue(response.exception instanceof JSONException, "Exception was " + response.exception);
+    assertTrue(response.exception.getMessage().contains("line [4]"), response.exception.getMessage());
+  }
+
+  @Test(dataProvider = "transports")
+  public void stream(boolean nio) {
+    List<Map> items = new ArrayList<>();
+    ClientResponse<Long, Void> response = client(nio, "/finite", new NDJSONResponseHandler<>(Map.class, items::add)).get().go();
+
+    assertNull(response.exception);
+    assertEquals((long) response.successResponse, 1_000L);
+    assertEquals(items.size(), 1_000);
+    for (int i = 0; i < items.size(); i++) {
+      assertEquals(items.get(i).get("id"), i);
+      assertEquals(items.get(i).get("name"), "item " + i);
+    }
+  }
+
+  @DataProvider(name = "transports")
+  public Object[][] transports() {
+    return new Object[][]{{false}, {true}};
+  }
+
+  private RESTClient<Long, Void> client(boolean nio, String path, NDJSONResponseHandler<Map> handler) {
+    return new RESTClient<>(Long.class, Void.TYPE)
+        .transport(nio ? transport : null)
+        .url("http://localhost:7045" + path)
+        .successResponseHandler(handler);
+  }
+}
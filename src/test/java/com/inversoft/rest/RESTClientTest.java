@@ -16,13 +16,19 @@
 package com.inversoft.rest;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
 import java.net.URL;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -33,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeMethod;
@@ -40,8 +47,12 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
 import com.inversoft.http.Cookie;
+import com.inversoft.http.CookieJar;
+import com.inversoft.http.FileDownload;
 import com.inversoft.http.FileUpload;
+import com.inversoft.http.HTTPHeaders;
 import com.inversoft.http.HTTPStrings;
+import com.inversoft.rest.nio.NIOTransport;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
@@ -107,6 +118,8 @@ public class RESTClientTest {
     assertEquals(response.successResponse.get("code"), 200);
 
     assertNotNull(response.date);
+    assertEquals(response.headers.get("content-type"), Arrays.asList("application/json"));
+    assertEquals(response.getHTTPHeaders().get("Content-Type"), "application/json");
   }
 
   @Test
@@ -189,6 +202,27 @@ public class RESTClientTest {
     assertEquals(cookie.value, "bar");
   }
 
+  @Test
+  public void get_cookieJar() throws Exception {
+    Cookie cookie = new Cookie("jar", "value");
+    handler.handle(null, null, null, "GET", 200, null, null, cookie);
+
+    CookieJar jar = new CookieJar();
+    jar.add(new URL("http://localhost:7042/"), cookie);
+
+    ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .cookieJar(jar)
+        .url("http://localhost:7042/test")
+        .get()
+        .go();
+
+    assertEquals(handler.count, 1);
+    assertEquals(response.status, 200);
+
+    // The response cookie is for fusionauth.io, so the jar doesn't accept it
+    assertEquals(jar.size(), 1);
+  }
+
   @Test
   public void get_emptyJSON() throws Exception {
     handler.handle(null, null, null, "GET", 200, "", "application/json", null);
@@ -231,6 +265,65 @@ public class RESTClientTest {
     assertNull(response.successResponse);
   }
 
+  @Test
+  public void get_file() throws Exception {
+    handler.handle(null, null, null, "GET", 200, "Hello World", "text/plain", null);
+
+    Path file = Files.createTempFile("restify", ".txt");
+    try {
+      ClientResponse<FileDownload, String> response = new RESTClient<>(FileDownload.class, String.class)
+          .url("http://localhost:7042/test")
+          .errorResponseHandler(new TextResponseHandler())
+          .successResponseHandler(new FileResponseHandler(file, "SHA-256"))
+          .get()
+          .go();
+
+      assertEquals(handler.count, 1);
+      assertEquals(response.status, 200);
+      assertEquals(response.successResponse.file, file);
+      assertEquals(response.successResponse.bytes, 11);
+      assertEquals(response.successResponse.checksum, "a591a6d40bf420404a011733cfb7b190d62c65bf0bcda32b57b277d9ad9f146e");
+      assertEquals(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), "Hello World");
+
+      // Stream to a channel
+      handler.reset();
+      handler.handle(null, null, null, "GET", 200, "Hello World", "text/plain", null);
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      ClientResponse<FileDownload, String> channelResponse = new RESTClient<>(FileDownload.class, String.class)
+          .url("http://localhost:7042/test")
+          .errorResponseHandler(new TextResponseHandler())
+          .successResponseHandler(new FileResponseHandler(Channels.newChannel(baos)))
+          .get()
+          .go();
+
+      assertNull(channelResponse.successResponse.file);
+      assertNull(channelResponse.successResponse.checksum);
+      assertEquals(channelResponse.successResponse.bytes, 11);
+      assertEquals(baos.toString("UTF-8"), "Hello World");
+
+      // A failed download leaves the file untouched and removes the partial file
+      InputStream failing = new SequenceInputStream(new ByteArrayInputStream("Partial".getBytes(StandardCharsets.UTF_8)), new InputStream() {
+        @Override
+        public int read() throws IOException {
+          throw new IOException("Connection reset");
+        }
+      });
+      try {
+        new FileResponseHandler(file).apply(failing);
+        fail("Should have thrown");
+      } catch (IOException e) {
+        assertEquals(e.getMessage(), "Connection reset");
+      }
+
+      assertEquals(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), "Hello World");
+      try (Stream<Path> siblings = Files.list(file.getParent())) {
+        assertFalse(siblings.anyMatch(path -> path.getFileName().toString().startsWith(file.getFileName() + ".")));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
   @Test
   public void get_forgotErrorResponseHandler() throws Exception {
     handler.handle(null, null, null, "GET", 200, "", "application/json", null);
@@ -370,6 +463,78 @@ public class RESTClientTest {
     assertNull(response.successResponse);
   }
 
+  @Test
+  public void nio_transport() throws Exception {
+    try (NIOTransport transport = new NIOTransport().eventLoops(1)) {
+      // Chunked request body since the InputStream doesn't have a length
+      handler.handle("Testing 123", "application/octet-stream", null, "POST", 200, "{\"code\": 200}", "application/json", null);
+      ClientResponse<Map, Map> response = new RESTClient<>(Map.class, Map.class)
+          .transport(transport)
+          .url("http://localhost:7042/test")
+          .bodyHandler(new InputStreamBodyHandler("application/octet-stream", new ByteArrayInputStream("Testing 123".getBytes())))
+          .errorResponseHandler(new JSONResponseHandler<>(Map.class))
+          .successResponseHandler(new JSONResponseHandler<>(Map.class))
+          .post()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(handler.count, 1);
+      assertEquals(response.status, 200);
+      assertEquals(response.successResponse.get("code"), 200);
+      assertEquals(response.getHeader("Content-Type"), "application/json");
+      assertEquals(response.cookies.size(), 1);
+
+      // JSON request body with a Content-Length and a cookie
+      Map<String, String> parameters = new LinkedHashMap<>();
+      parameters.put("test1", "value1");
+      Cookie cookie = new Cookie("cookie", "value");
+      handler.handle("{\"test1\":\"value1\"}", "application/json", null, "PUT", 404, "{\"code\": 404}", "application/json", cookie);
+      response = new RESTClient<>(Map.class, Map.class)
+          .transport(transport)
+          .url("http://localhost:7042/test")
+          .cookie(cookie)
+          .bodyHandler(new JSONBodyHandler(parameters))
+          .errorResponseHandler(new JSONResponseHandler<>(Map.class))
+          .successResponseHandler(new JSONResponseHandler<>(Map.class))
+          .put()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(handler.count, 2);
+      assertEquals(response.status, 404);
+      assertEquals(response.errorResponse.get("code"), 404);
+
+      // Empty chunked response
+      handler.handle(null, null, null, "GET", 200, null, null, null);
+      response = new RESTClient<>(Map.class, Map.class)
+          .transport(transport)
+          .url("http://localhost:7042/test")
+          .errorResponseHandler(new JSONResponseHandler<>(Map.class))
+          .successResponseHandler(new JSONResponseHandler<>(Map.class))
+          .get()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(handler.count, 3);
+      assertEquals(response.status, 200);
+      assertNull(response.successResponse);
+
+      handler.handle(null, null, null, "HEAD", 200, "{\"code\": 200}", "application/json", null);
+      response = new RESTClient<>(Map.class, Map.class)
+          .transport(transport)
+          .url("http://localhost:7042/test")
+          .errorResponseHandler(new JSONResponseHandler<>(Map.class))
+          .successResponseHandler(new JSONResponseHandler<>(Map.class))
+          .head()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(handler.count, 4);
+      assertEquals(response.status, 200);
+      assertEquals(response.getHeader("Content-Length"), "13");
+    }
+  }
+
   @Test
   public void patch_json_json() throws Exception {
     handler.handle("{\"test1\":\"value1\",\"test2\":\"value2\"}", "application/json", null, "PATCH", 200, "{\"code\": 200}", "application/json", null);
@@ -422,11 +587,8 @@ public class RESTClientTest {
       String actualMethod = (String) methodField.get(client);
       assertEquals(actualMethod, "POST");
 
-      @SuppressWarnings("unchecked")
-      Map<String, List<String>> actualHeaders = (Map<String, List<String>>) headersField.get(client);
-
-      Map<String, List<String>> expectedHeaders = new HashMap<>();
-      expectedHeaders.put("X-HTTP-Method-Override", new ArrayList<>(singletonList("PATCH")));
+      HTTPHeaders actualHeaders = (HTTPHeaders) headersField.get(client);
+      HTTPHeaders expectedHeaders = new HTTPHeaders().add("X-HTTP-Method-Override", "PATCH");
 
       assertEquals(actualHeaders, expectedHeaders);
     }
@@ -752,6 +914,9 @@ public class RESTClientTest {
 
       httpExchange.getResponseHeaders().set(HTTPStrings.Headers.SetCookie, "foo=bar; Path=/foo/bar; Domain=fusionauth.io; Max-Age=1; Secure; HttpOnly; SameSite=Lax");
       httpExchange.getResponseHeaders().set("Connection", "close");
+
+      // Count the request before sending the response since the client can return as soon as it has the response headers
+      count++;
       httpExchange.sendResponseHeaders(responseCode, contentLength);
 
       if (!method.equals("HEAD")) {
@@ -761,8 +926,6 @@ public class RESTClientTest {
         }
         httpExchange.getResponseBody().close();
       }
-
-      count++;
     }
 
     public void reset() {
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class ReactiveStreamsHandlerTest {
+  private static final byte[] LARGE = new byte[1024 * 1024];
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  private final ExecutorService signals = Executors.newSingleThreadExecutor();
+
+  private volatile CountDownLatch disconnected;
+
+  private HttpServer server;
+
+  private NIOTransport transport;
+
+  static {
+    for (int i = 0; i < LARGE.length; i++) {
+      LARGE[i] = (byte) (i % 251);
+    }
+  }
+
+  @AfterClass
+  public void afterClass() {
+    server.stop(0);
+    transport.close();
+    executor.shutdownNow();
+    signals.shutdownNow();
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    transport = new NIOTransport();
+    server = HttpServer.create(new InetSocketAddress(7046), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/echo", exchange -> {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      try (InputStream is = exchange.getRequestBody()) {
+        byte[] buf = new byte[8192];
+        int read;
+        while ((read = is.read(buf)) != -1) {
+          baos.write(buf, 0, read);
+        }
+      }
+
+      exchange.sendResponseHeaders(200, baos.size() == 0 ? -1 : baos.size());
+      try (OutputStream os = exchange.getResponseBody()) {
+        baos.writeTo(os);
+      }
+    });
+    server.createContext("/large", exchange -> {
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(LARGE);
+      }
+    });
+    server.createContext("/endless", exchange -> {
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream os = exchange.getResponseBody()) {
+        while (true) {
+          os.write(LARGE, 0, 1024);
+          os.flush();
+          Thread.sleep(1);
+        }
+      } catch (IOException e) {
+        disconnected.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    server.start();
+  }
+
+  @Test(dataProvider = "transports")
+  public void cancel(boolean nio) throws Exception {
+    disconnected = new CountDownLatch(1);
+    CollectingSubscriber subscriber = new CollectingSubscriber(3);
+    ClientResponse<Long, Void> response = new RESTClient<>(Long.class, Void.TYPE)
+        .transport(nio ? transport : null)
+        .url("http://localhost:7046/endless")
+        .successResponseHandler(new SubscriberResponseHandler(subscriber))
+        .get()
+        .go();
+
+    assertNull(response.exception);
+    assertEquals((long) response.successResponse, subscriber.body.size());
+    assertEquals(subscriber.buffers, 3);
+    assertFalse(subscriber.completed.get());
+    assertNull(subscriber.error);
+    assertTrue(disconnected.await(10, TimeUnit.SECONDS), "The server never saw the connection close");
+  }
+
+  @Test(dataProvider = "transports")
+  public void publisherError(boolean nio) {
+    ClientResponse<byte[], Void> response = new RESTClient<>(byte[].class, Void.TYPE)
+        .transport(nio ? transport : null)
+        .url("http://localhost:7046/echo")
+        .bodyHandler(new PublisherBodyHandler("application/octet-stream", new ChunkPublisher(10, 5)))
+        .successResponseHandler(new ByteArrayResponseHandler())
+        .post()
+        .go();
+
+    assertTrue(response.exception instanceof IOException, "Exception was " + response.exception);
+  }
+
+  @Test(dataProvider = "transports")
+  public void subscriber(boolean nio) {
+    CollectingSubscriber subscriber = new CollectingSubscriber(-1);
+    ClientResponse<Long, Void> response = new RESTClient<>(Long.class, Void.TYPE)
+        .transport(nio ? transport : null)
+        .url("http://localhost:7046/large")
+        .successResponseHandler(new SubscriberResponseHandler(subscriber))
+        .get()
+        .go();
+
+    assertNull(response.exception);
+    assertEquals((long) response.successResponse, LARGE.length);
+    assertEquals(subscriber.body.toByteArray(), LARGE);
+    assertTrue(subscriber.completed.get());
+    assertNull(subscriber.error);
+  }
+
+  @DataProvider(name = "transports")
+  public Object[][] transports() {
+    return new Object[][]{{false}, {true}};
+  }
+
+  @Test(dataProvider = "transports")
+  public void upload(boolean nio) {
+    ChunkPublisher publisher = new ChunkPublisher(LARGE.length / 4096, -1);
+    ClientResponse<byte[], Void> response = new RESTClient<>(byte[].class, Void.TYPE)
+        .transport(nio ? transport : null)
+        .url("http://localhost:7046/echo")
+        .bodyHandler(new PublisherBodyHandler("application/octet-stream", publisher))
+        .successResponseHandler(new ByteArrayResponseHandler())
+        .post()
+        .go();
+
+    assertNull(response.exception);
+    assertEquals(response.successResponse, LARGE);
+
+    // Buffers are only requested as they are written
+    assertTrue(publisher.maxOutstanding.get() <= 4, "Outstanding demand was " + publisher.maxOutstanding.get());
+  }
+
+  /**
+   * Publishes LARGE in 4 KB buffers from another thread, optionally failing part way through.
+   */
+  private class ChunkPublisher implements Publisher<ByteBuffer> {
+    private final int count;
+
+    private final int failAt;
+
+    private final AtomicLong maxOutstanding = new AtomicLong();
+
+    private ChunkPublisher(int count, int failAt) {
+      this.count = count;
+      this.failAt = failAt;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+      // A single thread delivers the signals in order
+      subscriber.onSubscribe(new Subscription() {
+        private boolean cancelled;
+
+        private int emitted;
+
+        private long requested;
+
+        @Override
+        public void cancel() {
+          signals.execute(() -> cancelled = true);
+        }
+
+        @Override
+        public void request(long n) {
+          signals.execute(() -> {
+            requested += n;
+            maxOutstanding.accumulateAndGet(requested - emitted, Math::max);
+            while (!cancelled && emitted < requested && emitted < count) {
+              if (emitted == failAt) {
+                cancelled = true;
+                subscriber.onError(new IllegalStateException("Failed"));
+                return;
+              }
+
+              subscriber.onNext(ByteBuffer.wrap(LARGE, emitted * 4096, 4096).slice());
+              if (++emitted == count) {
+                subscriber.onComplete();
+              }
+            }
+          });
+        }
+      });
+    }
+  }
+
+  /**
+   * Requests one buffer at a time from another thread, optionally cancelling after some number of buffers.
+   */
+  private class CollectingSubscriber implements Subscriber<ByteBuffer> {
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private final int cancelAfter;
+
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private int buffers;
+
+    private volatile Throwable error;
+
+    private Subscription subscription;
+
+    private CollectingSubscriber(int cancelAfter) {
+      this.cancelAfter = cancelAfter;
+    }
+
+    @Override
+    public void onComplete() {
+      completed.set(true);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      error = t;
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+      body.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      if (++buffers == cancelAfter) {
+        subscription.cancel();
+      } else {
+        executor.execute(() -> subscription.request(1));
+      }
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      executor.execute(() -> subscription.request(1));
+    }
+  }
+}
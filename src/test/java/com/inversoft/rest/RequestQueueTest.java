@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.RequestQueue.Priority;
+import com.inversoft.rest.metrics.RESTMetrics;
+import com.inversoft.rest.metrics.RouteMetrics;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class RequestQueueTest {
+  @Test
+  public void cancelled() throws Exception {
+    RequestQueue queue = new RequestQueue(1);
+    queue.acquire(null, null, null, null);
+
+    CancellationToken token = new CancellationToken();
+    List<Throwable> failures = new CopyOnWriteArrayList<>();
+    Thread thread = new Thread(() -> {
+      try {
+        queue.acquire("tenant", Priority.NORMAL, null, token);
+      } catch (Throwable t) {
+        failures.add(t);
+      }
+    });
+    thread.start();
+    awaitQueued(queue, 1);
+
+    token.cancel();
+    thread.join(2_000);
+    assertEquals(failures.size(), 1);
+    assertTrue(failures.get(0) instanceof CancellationException);
+    assertEquals(queue.queued(), 0);
+
+    // The permit that is still held isn't lost
+    queue.release();
+    assertEquals(queue.available(), 1);
+  }
+
+  @Test
+  public void concurrent() throws Exception {
+    RequestQueue queue = new RequestQueue(4);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Throwable> failures = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      String tenant = "tenant-" + (i % 3);
+      Priority priority = Priority.values()[i % 3];
+      Thread thread = new Thread(() -> {
+        try {
+          for (int j = 0; j < 2_000; j++) {
+            queue.acquire(tenant, priority, null, null);
+            try {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              running.decrementAndGet();
+            } finally {
+              queue.release();
+            }
+          }
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    join(threads);
+    assertEquals(failures, new ArrayList<>());
+    assertTrue(maxRunning.get() <= 4, "Ran [" + maxRunning.get() + "] at once");
+    assertEquals(queue.available(), 4);
+    assertEquals(queue.queued(), 0);
+  }
+
+  @Test
+  public void deadline() throws Exception {
+    RequestQueue queue = new RequestQueue(1);
+    queue.acquire(null, null, null, null);
+
+    long start = System.nanoTime();
+    try {
+      queue.acquire(null, null, Deadline.after(200), null);
+      fail("Should have timed out");
+    } catch (SocketTimeoutException e) {
+      // Expected
+    }
+
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(millis >= 190 && millis < 2_000, "Took [" + millis + "] ms");
+    assertEquals(queue.queued(), 0);
+    queue.release();
+    assertEquals(queue.available(), 1);
+  }
+
+  @Test
+  public void priority() throws Exception {
+    RequestQueue queue = new RequestQueue(1);
+    queue.acquire(null, null, null, null);
+
+    List<String> order = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    threads.add(enqueue(queue, "low", Priority.LOW, order));
+    threads.add(enqueue(queue, "normal", Priority.NORMAL, order));
+    threads.add(enqueue(queue, "high", Priority.HIGH, order));
+
+    queue.release();
+    join(threads);
+    assertEquals(order, asList("high", "normal", "low"));
+    assertEquals(queue.available(), 1);
+  }
+
+  @Test
+  public void restClient() throws Exception {
+    // The queue limits and releases requests that fail as well as those that succeed
+    RequestQueue queue = new RequestQueue(2);
+    ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .url("http://localhost:7044/nothing-listening")
+        .queue(queue, "tenant", Priority.HIGH)
+        .get()
+        .go();
+
+    assertEquals(response.status, -1);
+    assertTrue(response.exception instanceof IOException);
+    assertEquals(queue.available(), 2);
+
+    queue.acquire(null, null, null, null);
+    queue.acquire(null, null, null, null);
+    response = new RESTClient<>(Void.TYPE, Void.TYPE)
+        .url("http://localhost:7044/nothing-listening")
+        .queue(queue, "tenant", null)
+        .deadline(100)
+        .get()
+        .go();
+
+    assertEquals(response.status, -1);
+    assertTrue(response.exception instanceof SocketTimeoutException, "" + response.exception);
+    assertEquals(queue.available(), 0);
+    assertEquals(queue.queued(), 0);
+  }
+
+  @Test
+  public void restClientMetrics() throws Exception {
+    RequestQueue queue = new RequestQueue(1);
+    queue.acquire(null, null, null, null);
+
+    // A request that is waiting in the queue isn't in flight yet and the time it waits isn't part of its latency
+    RESTMetrics metrics = new RESTMetrics("queue", null, 10, 10);
+    Thread thread = new Thread(() -> new RESTClient<>(Void.TYPE, Void.TYPE)
+        .url("http://localhost:7044/nothing-listening")
+        .queue(queue, "tenant", null)
+        .metrics(metrics)
+        .get()
+        .go());
+    thread.start();
+    awaitQueued(queue, 1);
+
+    RouteMetrics route = metrics.route(new URL("http://localhost:7044/nothing-listening"), null);
+    Thread.sleep(300);
+    assertEquals(route.getInFlight(), 0);
+    assertEquals(route.getRequests(), 0);
+
+    queue.release();
+    join(Collections.singletonList(thread));
+    assertEquals(route.getInFlight(), 0);
+    assertEquals(route.getRequests(), 1);
+    assertTrue(route.getLatencyMaxMillis() < 300, "Latency was [" + route.getLatencyMaxMillis() + "] ms");
+  }
+
+  @Test
+  public void weightedFair() throws Exception {
+    RequestQueue queue = new RequestQueue(1).weight("interactive", 3);
+    queue.acquire(null, null, null, null);
+
+    // The batch tenant queues its requests first, but only gets one turn for every three of the other tenant
+    List<String> order = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      threads.add(enqueue(queue, "batch", Priority.NORMAL, order));
+    }
+
+    for (int i = 0; i < 6; i++) {
+      threads.add(enqueue(queue, "interactive", Priority.NORMAL, order));
+    }
+
+    queue.release();
+    join(threads);
+    assertEquals(order, asList("batch", "interactive", "interactive", "interactive", "batch", "interactive", "interactive", "interactive",
+        "batch", "batch", "batch", "batch"));
+    assertEquals(queue.available(), 1);
+  }
+
+  private void awaitQueued(RequestQueue queue, int queued) throws InterruptedException {
+    long end = System.currentTimeMillis() + 2_000;
+    while (queue.queued() < queued && System.currentTimeMillis() < end) {
+      Thread.sleep(1);
+    }
+
+    assertEquals(queue.queued(), queued);
+  }
+
+  private Thread enqueue(RequestQueue queue, String tenant, Priority priority, List<String> order) throws InterruptedException {
+    int queued = queue.queued();
+    Thread thread = new Thread(() -> {
+      try {
+        queue.acquire(tenant, priority, null, null);
+        order.add(tenant);
+        queue.release();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    thread.start();
+    awaitQueued(queue, queued + 1);
+    return thread;
+  }
+
+  private void join(List<Thread> threads) throws InterruptedException {
+    for (Thread thread : threads) {
+      thread.join(5_000);
+      assertTrue(!thread.isAlive());
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.inversoft.http.HTTPHeaders;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class ResponseContextTest {
+  @Test
+  public void handlers() throws Exception {
+    ResponseContext noContent = new ResponseContext(204, new HTTPHeaders());
+    assertNull(new JSONResponseHandler<>(Map.class).apply(failing(), noContent));
+    assertEquals(new TextResponseHandler().apply(failing(), noContent), "");
+    assertEquals(new ByteArrayResponseHandler().apply(failing(), noContent), new byte[0]);
+
+    // The charset of the response is used unless the handler was given one
+    byte[] body = "caf\u00e9".getBytes(StandardCharsets.ISO_8859_1);
+    ResponseContext latin1 = new ResponseContext(200, headers("text/plain; charset=ISO-8859-1", body.length));
+    assertEquals(new TextResponseHandler().apply(new ByteArrayInputStream(body), latin1), "caf\u00e9");
+    assertEquals(new TextResponseHandler(StandardCharsets.UTF_8).apply(new ByteArrayInputStream(body), latin1), "caf\ufffd");
+
+    // A known length skips the empty body probe
+    body = "{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+    Map<?, ?> json = new JSONResponseHandler<>(Map.class).apply(new ByteArrayInputStream(body), new ResponseContext(200, headers("application/json", body.length)));
+    assertEquals(json.get("a"), 1);
+  }
+
+  @Test
+  public void parse() {
+    ResponseContext context = new ResponseContext(200, headers("Application/JSON; Charset=\"utf-8\"", 42));
+    assertEquals(context.contentLength, 42);
+    assertEquals(context.contentType, "application/json");
+    assertEquals(context.charset, StandardCharsets.UTF_8);
+    assertTrue(context.hasBody());
+
+    context = new ResponseContext(200, headers("text/html; boundary=x; charset=bogus-charset", -1));
+    assertEquals(context.contentLength, -1);
+    assertEquals(context.contentType, "text/html");
+    assertNull(context.charset);
+    assertEquals(context.charsetOr(StandardCharsets.ISO_8859_1), StandardCharsets.ISO_8859_1);
+
+    HTTPHeaders headers = new HTTPHeaders();
+    headers.add("Content-Length", "nope");
+    context = new ResponseContext(200, headers);
+    assertEquals(context.contentLength, -1);
+    assertNull(context.contentType);
+    assertTrue(context.hasBody());
+
+    assertFalse(new ResponseContext(200, headers("text/plain", 0)).hasBody());
+    assertFalse(new ResponseContext(204, new HTTPHeaders()).hasBody());
+    assertFalse(new ResponseContext(304, new HTTPHeaders()).hasBody());
+    assertTrue(new ResponseContext(404, new HTTPHeaders()).hasBody());
+  }
+
+  private InputStream failing() {
+    return new InputStream() {
+      @Override
+      public int read() {
+        throw new AssertionError("The body should not be read");
+      }
+    };
+  }
+
+  private HTTPHeaders headers(String contentType, long contentLength) {
+    HTTPHeaders headers = new HTTPHeaders();
+    headers.add("Content-Type", contentType);
+    if (contentLength != -1) {
+      headers.add("Content-Length", "" + contentLength);
+    }
+
+    return headers;
+  }
+}
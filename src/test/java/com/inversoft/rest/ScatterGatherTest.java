@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class ScatterGatherTest {
+  private final Semaphore closed = new Semaphore(0);
+
+  private ExecutorService executor;
+
+  private ServerSocket server;
+
+  @AfterClass
+  public void afterClass() throws IOException {
+    server.close();
+    executor.shutdownNow();
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    server = new ServerSocket(7057);
+    Thread thread = new Thread(() -> {
+      while (!server.isClosed()) {
+        try {
+          Socket socket = server.accept();
+          Thread handler = new Thread(() -> serve(socket), "scatter-gather-connection");
+          handler.setDaemon(true);
+          handler.start();
+        } catch (IOException e) {
+          // The server was closed
+        }
+      }
+    }, "scatter-gather-server");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Test
+  public void cancel() throws Exception {
+    closed.drainPermits();
+    CompletableFuture<ScatterGather.Result<String, Void>> future = new ScatterGather<String, Void>(executor)
+        .replica("a", client("/stall"))
+        .replica("b", client("/stall"))
+        .goAsync();
+
+    Thread.sleep(200);
+    assertTrue(future.cancel(true));
+    assertTrue(closed.tryAcquire(2, 2, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void first() throws Exception {
+    closed.drainPermits();
+    long start = System.nanoTime();
+    ScatterGather.Result<String, Void> result = new ScatterGather<String, Void>(executor)
+        .replica("slow-1", client("/stall"))
+        .replica("fast", client("/ok"))
+        .replica("slow-2", client("/stall"))
+        .go();
+
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(result.succeeded);
+    assertEquals(result.replies.size(), 1);
+    assertEquals(result.replies.get(0).replica, "fast");
+    assertEquals(result.replies.get(0).response.successResponse, "ok");
+    assertTrue(result.replies.get(0).nanos <= result.nanos);
+    assertEquals(result.cancelled, asList("slow-1", "slow-2"));
+    assertTrue(millis < 2_000, "Took [" + millis + "] ms");
+
+    // The stragglers' connections are closed
+    assertTrue(closed.tryAcquire(2, 2, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void quorum() throws Exception {
+    ScatterGather.Result<String, Void> result = new ScatterGather<String, Void>(executor)
+        .replica("error", client("/error"))
+        .replica("delayed", client("/delay"))
+        .replica("fast", client("/ok"))
+        .replica("slow", client("/stall"))
+        .quorum(2)
+        .go();
+
+    assertTrue(result.succeeded);
+    assertEquals(result.replies.size(), 3);
+    assertEquals(result.successes().size(), 2);
+    assertEquals(result.successes().get(1).replica, "delayed");
+    assertTrue(result.successes().get(1).nanos >= TimeUnit.MILLISECONDS.toNanos(200));
+    assertEquals(result.cancelled, singletonList("slow"));
+  }
+
+  @Test
+  public void quorumNotPossible() throws Exception {
+    // Once two of the three replicas have failed, a quorum of two can't be reached
+    ScatterGather.Result<String, Void> result = new ScatterGather<String, Void>(executor)
+        .replica("error-1", client("/error"))
+        .replica("slow", client("/stall"))
+        .replica("error-2", client("/error"))
+        .quorum(2)
+        .go();
+
+    assertFalse(result.succeeded);
+    assertEquals(result.replies.size(), 2);
+    assertEquals(result.replies.get(0).response.status, 500);
+    assertFalse(result.replies.get(0).success);
+    assertEquals(result.cancelled, singletonList("slow"));
+  }
+
+  @Test
+  public void success() throws Exception {
+    // A 500 counts when the condition says so
+    ScatterGather.Result<String, Void> result = new ScatterGather<String, Void>(executor)
+        .replica("error", client("/error"))
+        .replica("slow", client("/stall"))
+        .success(response -> response.status > 0)
+        .go();
+
+    assertTrue(result.succeeded);
+    assertEquals(result.successes().get(0).replica, "error");
+  }
+
+  private RESTClient<String, Void> client(String path) {
+    return new RESTClient<>(String.class, Void.TYPE)
+        .url("http://localhost:7057" + path)
+        .readTimeout(10_000)
+        .successResponseHandler(new TextResponseHandler())
+        .get();
+  }
+
+  private void serve(Socket socket) {
+    try (Socket ignore = socket) {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+      String requestLine = reader.readLine();
+      String line;
+      while ((line = reader.readLine()) != null && !line.isEmpty()) {
+        // Skip the headers
+      }
+
+      if (requestLine.contains("/stall")) {
+        // Wait for the client to close the connection
+        try {
+          while (reader.read() != -1) {
+          }
+        } catch (IOException e) {
+          // Reset by the client
+        }
+
+        closed.release();
+        return;
+      }
+
+      if (requestLine.contains("/delay")) {
+        Thread.sleep(200);
+      }
+
+      String status = requestLine.contains("/error") ? "500 Internal Server Error" : "200 OK";
+      OutputStream os = socket.getOutputStream();
+      os.write(("HTTP/1.1 " + status + "\r\nContent-Type: text/plain\r\nContent-Length: 2\r\nConnection: close\r\n\r\nok")
+          .getBytes(StandardCharsets.ISO_8859_1));
+      os.flush();
+    } catch (Exception e) {
+      // The client went away
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.SigningBodyHandler.Signer;
+import com.inversoft.rest.nio.NIOTransport;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class SigningBodyHandlerTest {
+  private static final byte[] BODY = new byte[200_000];
+
+  private ServerSocket server;
+
+  static {
+    for (int i = 0; i < BODY.length; i++) {
+      BODY[i] = (byte) (i % 253);
+    }
+  }
+
+  @AfterClass
+  public void afterClass() throws IOException {
+    server.close();
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    server = new ServerSocket(7048);
+    Thread thread = new Thread(this::serve, "signing-server");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Test
+  public void header() throws Exception {
+    // The default transport can't send trailers, so the body is spilled to a temporary file to compute the header first
+    SigningBodyHandler handler = new SigningBodyHandler(new InputStreamBodyHandler("application/octet-stream", new ByteArrayInputStream(BODY)),
+        "Digest", Signer.of(MessageDigest.getInstance("SHA-256")));
+    ClientResponse<String, Void> response = send(handler, null);
+
+    assertNull(response.exception);
+    String digest = sha256(BODY);
+    assertEquals(response.successResponse, "length=" + BODY.length + " chunked=false body=" + digest + " header=" + digest + " trailer=null");
+    assertEquals(handler.value, digest);
+  }
+
+  @Test
+  public void headerWithTransport() throws Exception {
+    byte[] key = "secret".getBytes(StandardCharsets.UTF_8);
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(key, "HmacSHA256"));
+    SigningBodyHandler handler = new SigningBodyHandler(new ByteArrayBodyHandler(BODY), "Digest", Signer.of(mac));
+    handler.trailer = false;
+
+    try (NIOTransport transport = new NIOTransport()) {
+      ClientResponse<String, Void> response = send(handler, transport);
+      assertNull(response.exception);
+
+      Mac expected = Mac.getInstance("HmacSHA256");
+      expected.init(new SecretKeySpec(key, "HmacSHA256"));
+      String hmac = Base64.getEncoder().encodeToString(expected.doFinal(BODY));
+      assertEquals(response.successResponse, "length=" + BODY.length + " chunked=false body=" + sha256(BODY) + " header=" + hmac + " trailer=null");
+    }
+  }
+
+  @Test
+  public void trailer() throws Exception {
+    // The Content-Length from the delegate is dropped so that the body is chunked and the digest is sent as a trailer
+    SigningBodyHandler handler = new SigningBodyHandler(new ByteArrayBodyHandler(BODY), "Digest", Signer.of(MessageDigest.getInstance("SHA-256")));
+    handler.encoder = bytes -> "sha-256=" + Base64.getEncoder().encodeToString(bytes);
+
+    try (NIOTransport transport = new NIOTransport()) {
+      ClientResponse<String, Void> response = send(handler, transport);
+      assertNull(response.exception);
+
+      String digest = sha256(BODY);
+      assertEquals(response.successResponse, "length=" + BODY.length + " chunked=true body=" + digest + " header=null trailer=sha-256=" + digest);
+      assertEquals(handler.value, "sha-256=" + digest);
+    }
+  }
+
+  private static Map<String, String> readFields(InputStream is) throws IOException {
+    Map<String, String> fields = new HashMap<>();
+    String line;
+    while ((line = readLine(is)) != null && !line.isEmpty()) {
+      int colon = line.indexOf(':');
+      fields.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+    }
+
+    return fields;
+  }
+
+  private static String readLine(InputStream is) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    int c;
+    while ((c = is.read()) != -1 && c != '\n') {
+      if (c != '\r') {
+        baos.write(c);
+      }
+    }
+
+    return c == -1 && baos.size() == 0 ? null : baos.toString("ISO-8859-1");
+  }
+
+  private static ClientResponse<String, Void> send(SigningBodyHandler handler, HTTPTransport transport) {
+    return new RESTClient<>(String.class, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7048/upload")
+        .bodyHandler(handler)
+        .successResponseHandler(new TextResponseHandler())
+        .post()
+        .go();
+  }
+
+  private static String sha256(byte[] bytes) throws Exception {
+    return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+  }
+
+  /**
+   * A minimal HTTP/1.1 server that responds with the length and SHA-256 of the request body and the Digest header and trailer.
+   */
+  private void serve() {
+    while (!server.isClosed()) {
+      try (Socket socket = server.accept()) {
+        InputStream is = new BufferedInputStream(socket.getInputStream());
+        readLine(is);
+        Map<String, String> headers = readFields(is);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        Map<String, String> trailers = new HashMap<>();
+        boolean chunked = "chunked".equals(headers.get("transfer-encoding"));
+        if (chunked) {
+          int size;
+          while ((size = Integer.parseInt(readLine(is), 16)) > 0) {
+            for (int i = 0; i < size; i++) {
+              body.write(is.read());
+            }
+
+            readLine(is);
+          }
+
+          trailers = readFields(is);
+        } else {
+          int length = Integer.parseInt(headers.get("content-length"));
+          for (int i = 0; i < length; i++) {
+            body.write(is.read());
+          }
+        }
+
+        byte[] response = ("length=" + body.size() + " chunked=" + chunked + " body=" + sha256(body.toByteArray()) + " header=" +
+            headers.get("digest") + " trailer=" + trailers.get("digest")).getBytes(StandardCharsets.UTF_8);
+        OutputStream os = socket.getOutputStream();
+        os.write(("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: " + response.length + "\r\nConnection: close\r\n\r\n")
+            .getBytes(StandardCharsets.ISO_8859_1));
+        os.write(response);
+        os.flush();
+      } catch (Exception e) {
+        // The server was closed or the request was bad
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class WarmUpTest {
+  private final Set<InetSocketAddress> clients = Collections.synchronizedSet(new HashSet<>());
+
+  private HttpServer server;
+
+  @AfterClass
+  public void afterClass() {
+    server.stop(0);
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(7047), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/", exchange -> {
+      // The JDK server closes the connection after a response without a body, so there is always one
+      clients.add(exchange.getRemoteAddress());
+      byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(exchange.getRequestURI().getPath().equals("/missing") ? 404 : 200, body.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    server.start();
+  }
+
+  @BeforeMethod
+  public void beforeMethod() {
+    clients.clear();
+  }
+
+  @Test
+  public void failures() {
+    WarmUp.Report report = new WarmUp().connections("http://localhost:7044/nothing", 1)
+                                       .connections("http://localhost:7047/missing", 1)
+                                       .run();
+
+    // The connection is refused, but the 404 is fine
+    assertFalse(report.isSuccessful());
+    assertEquals(report.steps.size(), 4);
+    assertNotNull(report.steps.get(1).exception);
+    assertNull(report.steps.get(3).exception);
+  }
+
+  @Test
+  public void nioTransport() throws Exception {
+    try (NIOTransport transport = new NIOTransport()) {
+      WarmUp.Report report = new WarmUp().transport(transport)
+                                         .connections("http://localhost:7047/health", 4)
+                                         .run();
+      assertTrue(report.isSuccessful(), report.toString());
+      assertEquals(clients.size(), 4);
+
+      // The requests after the warm up reuse the connections
+      for (int i = 0; i < 4; i++) {
+        ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE).transport(transport)
+                                                                                   .url("http://localhost:7047/api")
+                                                                                   .get()
+                                                                                   .go();
+        assertEquals(response.status, 200);
+      }
+
+      assertEquals(clients.size(), 4);
+    }
+  }
+
+  @Test
+  public void run() {
+    WarmUp.Report report = new WarmUp().types(Widget.class)
+                                       .connections("http://localhost:7047/health", 3)
+                                       .run();
+
+    assertTrue(report.isSuccessful(), report.toString());
+    assertEquals(report.steps.size(), 6);
+    assertEquals(clients.size(), 3);
+    assertTrue(report.toString().contains("Serializer for [" + Widget.class.getName() + "]"), report.toString());
+
+    // The requests after the warm up reuse the connections
+    for (int i = 0; i < 3; i++) {
+      ClientResponse<Void, Void> response = new RESTClient<>(Void.TYPE, Void.TYPE).url("http://localhost:7047/api")
+                                                                                 .get()
+                                                                                 .go();
+      assertEquals(response.status, 200);
+    }
+
+    assertEquals(clients.size(), 3);
+  }
+
+  public static class Widget {
+    public String name;
+
+    public int size;
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.jfr;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.ByteArrayBodyHandler;
+import com.inversoft.rest.ClientResponse;
+import com.inversoft.rest.RESTClient;
+import com.inversoft.rest.RequestTracer;
+import com.inversoft.rest.TextResponseHandler;
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class RequestTraceTest {
+  private HttpServer server;
+
+  private HttpsServer tlsServer;
+
+  @AfterClass
+  public void afterClass() {
+    server.stop(0);
+    tlsServer.stop(0);
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(7053), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/", RequestTraceTest::echo);
+    server.start();
+
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+    try (InputStream is = Files.newInputStream(Paths.get("src/test/resources/localhost.p12"))) {
+      keyStore.load(is, "restify".toCharArray());
+    }
+
+    KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    keyManagers.init(keyStore, "restify".toCharArray());
+    SSLContext context = SSLContext.getInstance("TLS");
+    context.init(keyManagers.getKeyManagers(), null, null);
+
+    tlsServer = HttpsServer.create(new InetSocketAddress(7054), 0);
+    tlsServer.setHttpsConfigurator(new HttpsConfigurator(context));
+    tlsServer.setExecutor(Executors.newCachedThreadPool());
+    tlsServer.createContext("/", RequestTraceTest::echo);
+    tlsServer.start();
+  }
+
+  @Test
+  public void events() throws Exception {
+    assertTrue(RequestTracer.get() instanceof FlightRecorderTracer);
+    assertFalse(RequestTrace.recording());
+    assertNull(RequestTrace.start("GET", new URL("http://localhost:7053/")));
+
+    byte[] body = new byte[5000];
+    String certificate = new String(Files.readAllBytes(Paths.get("src/test/resources/localhost.pem")), StandardCharsets.UTF_8);
+    Path file = Files.createTempFile("restify", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : new String[]{"BodyDecode", "BodyWrite", "Connect", "FirstByte", "HandlerException", "Request", "TLSHandshake"}) {
+        recording.enable("com.inversoft.restify." + name).withoutThreshold();
+      }
+
+      recording.start();
+      assertTrue(RequestTrace.recording());
+
+      assertEquals(post("http://localhost:7053/huc", body, null).successResponse, "POST 5000");
+      try (NIOTransport transport = new NIOTransport()) {
+        assertEquals(post("http://localhost:7053/nio", body, transport).successResponse, "POST 5000");
+      }
+
+      ClientResponse<String, Void> failed = new RESTClient<>(String.class, Void.TYPE)
+          .url("http://localhost:7053/failed")
+          .successResponseHandler(is -> {
+            throw new IOException("Bad body");
+          })
+          .get()
+          .go();
+      assertEquals(failed.exception.getMessage(), "Bad body");
+
+      ClientResponse<String, Void> tls = new RESTClient<>(String.class, Void.TYPE)
+          .url("https://localhost:7054/tls")
+          .certificate(certificate)
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+      assertNull(tls.exception);
+      assertEquals(tls.successResponse, "GET 0");
+
+      recording.stop();
+      assertFalse(RequestTrace.recording());
+      recording.dump(file);
+    }
+
+    try {
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      List<RecordedEvent> requests = named(events, "Request");
+      assertEquals(requests.size(), 4);
+      assertEquals(requests.get(0).getString("url"), "http://localhost:7053/huc");
+      assertEquals(requests.get(0).getString("method"), "POST");
+      assertEquals(requests.get(0).getInt("status"), 200);
+      assertEquals(requests.get(0).getLong("bytesSent"), 5000);
+      assertEquals(requests.get(0).getLong("bytesReceived"), "POST 5000".length());
+      assertEquals(requests.get(2).getClass("exception").getName(), IOException.class.getName());
+
+      List<RecordedEvent> writes = named(events, "BodyWrite");
+      assertEquals(writes.size(), 2);
+      assertEquals(writes.get(1).getString("url"), "http://localhost:7053/nio");
+      assertEquals(writes.get(1).getLong("bytes"), 5000);
+      assertEquals(writes.get(1).getClass("handler").getName(), ByteArrayBodyHandler.class.getName());
+
+      assertEquals(named(events, "FirstByte").size(), 4);
+      assertEquals(named(events, "BodyDecode").size(), 4);
+
+      // The NIOTransport connects on its own, so its connect event only has the host and port
+      List<RecordedEvent> connects = named(events, "Connect");
+      assertEquals(connects.size(), 4);
+      assertTrue(connects.stream().anyMatch(event -> event.getString("url") == null && event.getInt("port") == 7053));
+
+      List<RecordedEvent> exceptions = named(events, "HandlerException");
+      assertEquals(exceptions.size(), 1);
+      assertEquals(exceptions.get(0).getString("message"), "Bad body");
+      assertEquals(exceptions.get(0).getInt("status"), 200);
+
+      List<RecordedEvent> handshakes = named(events, "TLSHandshake");
+      assertEquals(handshakes.size(), 1);
+      assertEquals(handshakes.get(0).getString("url"), "https://localhost:7054/tls");
+      assertNotNull(handshakes.get(0).getString("protocol"));
+      assertNotNull(handshakes.get(0).getString("cipherSuite"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static void echo(HttpExchange exchange) throws IOException {
+    int length = 0;
+    byte[] buf = new byte[1024];
+    int read;
+    while ((read = exchange.getRequestBody().read(buf)) != -1) {
+      length += read;
+    }
+
+    byte[] body = (exchange.getRequestMethod() + " " + length).getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(body);
+    }
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream()
+                 .filter(event -> event.getEventType().getName().equals("com.inversoft.restify." + name))
+                 .sorted((one, two) -> one.getStartTime().compareTo(two.getStartTime()))
+                 .collect(Collectors.toList());
+  }
+
+  private static ClientResponse<String, Void> post(String url, byte[] body, NIOTransport transport) {
+    return new RESTClient<>(String.class, Void.TYPE)
+        .transport(transport)
+        .url(url)
+        .bodyHandler(new ByteArrayBodyHandler(body))
+        .successResponseHandler(new TextResponseHandler())
+        .post()
+        .go();
+  }
+}
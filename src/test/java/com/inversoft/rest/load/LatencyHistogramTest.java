@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.load;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class LatencyHistogramTest {
+  @Test
+  public void buckets() {
+    // Every value maps to a bucket whose highest value is within 1.6% above it
+    for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1_000, 999_999, 1_000_000_007L, Long.MAX_VALUE / 3, Long.MAX_VALUE}) {
+      long highest = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+      assertTrue(highest >= value, value + " " + highest);
+      assertTrue(highest - value <= value / 63, value + " " + highest);
+    }
+
+    assertEquals(LatencyHistogram.index(128), 128);
+    assertEquals(LatencyHistogram.index(256), 192);
+  }
+
+  @Test
+  public void percentiles() throws Exception {
+    // 1 to 100,000 microseconds, recorded from several threads
+    LatencyHistogram histogram = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      int offset = t;
+      executor.execute(() -> {
+        for (long i = offset + 1; i <= 100_000; i += 4) {
+          histogram.record(i * 1_000);
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(histogram.count(), 100_000);
+    assertEquals(histogram.min(), 1_000);
+    assertEquals(histogram.max(), 100_000_000);
+    assertEquals(histogram.mean(), 50_000_500.0, 0.001);
+    for (double percentile : new double[]{50, 90, 99, 99.9, 99.99}) {
+      long expected = (long) (percentile * 1_000_000);
+      long actual = histogram.percentile(percentile);
+      assertTrue(actual >= expected && actual <= expected * 1.016, percentile + " " + actual);
+    }
+    assertEquals(histogram.percentile(100), 100_000_000);
+    assertEquals(new LatencyHistogram().percentile(99), 0);
+  }
+}
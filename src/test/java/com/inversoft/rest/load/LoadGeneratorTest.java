@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.load;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.ByteArrayResponseHandler;
+import com.inversoft.rest.RESTClient;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class LoadGeneratorTest {
+  @Test
+  public void run() throws Exception {
+    // The 100th request stalls the server for 100ms
+    AtomicInteger requests = new AtomicInteger();
+    ServerSocket server = new ServerSocket(7051);
+    Thread thread = new Thread(() -> serve(server, requests), "load-generator-test-server");
+    thread.setDaemon(true);
+    thread.start();
+
+    try {
+      LoadGenerator.Report report = new LoadGenerator().request(() -> new RESTClient<>(byte[].class, Void.TYPE)
+                                                           .url("http://localhost:7051/api")
+                                                           .successResponseHandler(new ByteArrayResponseHandler())
+                                                           .get())
+                                                       .rate(200)
+                                                       .threads(1)
+                                                       .warmUp(250)
+                                                       .duration(1_000)
+                                                       .run();
+
+      assertEquals(report.latency.count(), 200);
+      assertEquals(report.succeeded.sum(), 200);
+      assertEquals(report.failed.sum(), 0);
+      assertTrue(report.throughput > 100, report.toString());
+
+      // Only one request stalled, but the requests that should have been sent during the stall waited for it, which only shows up in the
+      // corrected latency
+      assertTrue(report.serviceTime.max() >= TimeUnit.MILLISECONDS.toNanos(100), report.toString());
+      assertTrue(report.serviceTime.percentile(99) < TimeUnit.MILLISECONDS.toNanos(50), report.toString());
+      assertTrue(report.latency.percentile(99) >= TimeUnit.MILLISECONDS.toNanos(50), report.toString());
+      assertTrue(report.toString().contains("99.99"), report.toString());
+    } finally {
+      server.close();
+    }
+  }
+
+  private static String readHead(InputStream is) throws IOException {
+    StringBuilder build = new StringBuilder();
+    int c;
+    while ((c = is.read()) != -1) {
+      build.append((char) c);
+      if (build.length() >= 4 && build.lastIndexOf("\r\n\r\n") == build.length() - 4) {
+        return build.toString();
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * A minimal keep-alive HTTP/1.1 server that writes each response in a single packet. The JDK server writes the headers and the body
+   * separately, which adds 40ms to every response unless Nagle's algorithm is turned off before the JDK server classes are loaded.
+   */
+  private static void serve(ServerSocket server, AtomicInteger requests) {
+    byte[] response = "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 2\r\n\r\n{}".getBytes(StandardCharsets.ISO_8859_1);
+    while (!server.isClosed()) {
+      try (Socket socket = server.accept()) {
+        socket.setTcpNoDelay(true);
+        InputStream is = new BufferedInputStream(socket.getInputStream());
+        OutputStream os = socket.getOutputStream();
+        while (readHead(is) != null) {
+          if (requests.incrementAndGet() == 100) {
+            sleep(100);
+          }
+
+          os.write(response);
+          os.flush();
+        }
+      } catch (IOException e) {
+        // The server was closed
+      }
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
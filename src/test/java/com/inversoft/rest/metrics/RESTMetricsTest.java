@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.metrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.ByteArrayBodyHandler;
+import com.inversoft.rest.ClientResponse;
+import com.inversoft.rest.RESTClient;
+import com.inversoft.rest.TextResponseHandler;
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class RESTMetricsTest {
+  private HttpServer server;
+
+  @AfterClass
+  public void afterClass() {
+    server.stop(0);
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(7052), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/", exchange -> {
+      int length = 0;
+      byte[] buf = new byte[1024];
+      int read;
+      while ((read = exchange.getRequestBody().read(buf)) != -1) {
+        length += read;
+      }
+
+      byte[] body = ("received " + length).getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(exchange.getRequestURI().getPath().startsWith("/fail") ? 500 : 200, body.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    server.start();
+  }
+
+  @Test
+  public void hosts() throws Exception {
+    RESTMetrics metrics = new RESTMetrics("hosts", null, 10, 2, 10);
+    RouteMetrics first = metrics.route(new URL("http://one.example.com/hook/42"), null);
+    assertEquals(metrics.route(new URL("http://two.example.com/hook/42"), null).host, "two.example.com");
+
+    // Only two hosts are allowed, so every request to another host is recorded together
+    RouteMetrics other = metrics.route(new URL("http://three.example.com/hook/42"), null);
+    assertEquals(other.host, RESTMetrics.OTHER);
+    assertEquals(other.route, RESTMetrics.OTHER);
+    assertSame(metrics.route(new URL("http://four.example.com/other/path"), null), other);
+    assertSame(metrics.route(new URL("http://five.example.com/hook"), "/hook"), other);
+    assertSame(metrics.route(new URL("http://one.example.com/hook/43"), null), first);
+    assertEquals(metrics.routes().size(), 3);
+  }
+
+  @Test
+  public void recording() throws Exception {
+    try (RESTMetrics metrics = new RESTMetrics("recording"); NIOTransport transport = new NIOTransport()) {
+      byte[] body = new byte[1000];
+      for (int i = 1; i <= 3; i++) {
+        ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+            .transport(i == 2 ? transport : null)
+            .url("http://localhost:7052/api/user/" + i)
+            .bodyHandler(new ByteArrayBodyHandler(body))
+            .successResponseHandler(new TextResponseHandler())
+            .metrics(metrics)
+            .post()
+            .go();
+        assertEquals(response.successResponse, "received 1000");
+      }
+
+      new RESTClient<>(Void.TYPE, Void.TYPE).url("http://localhost:7052/fail/9f3b2c1e-5d4a-4f6b-8c7d-1a2b3c4d5e6f").metrics(metrics).get().go();
+      new RESTClient<>(Void.TYPE, Void.TYPE).url("http://localhost:7052/fail?id=42").metrics(metrics, "/fail/{id}").get().go();
+      new RESTClient<>(Void.TYPE, Void.TYPE).url("http://localhost:7044/api/user/1").metrics(metrics).get().go();
+
+      RouteMetrics user = metrics.route(new URL("http://localhost:7052/api/user/4"), null);
+      assertEquals(user.route, "/api/user/{id}");
+      assertEquals(user.getRequests(), 3);
+      assertEquals(user.getStatus2xx(), 3);
+      assertEquals(user.getInFlight(), 0);
+      assertEquals(user.getBytesSent(), 3000);
+      assertEquals(user.getBytesReceived(), 3 * "received 1000".length());
+      assertTrue(user.getLatencyMaxMillis() > 0);
+
+      RouteMetrics fail = metrics.route(new URL("http://localhost:7052/fail/1"), null);
+      assertEquals(fail.getRequests(), 2);
+      assertEquals(fail.getStatus5xx(), 2);
+
+      RouteMetrics refused = metrics.route(new URL("http://localhost:7044/api/user/1"), null);
+      assertEquals(refused.getExceptions(), 1);
+      assertEquals(refused.getInFlight(), 0);
+
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName("com.inversoft.restify:type=Route,client=\"recording\",host=\"localhost:7052\",route=\"/api/user/{id}\"");
+      assertEquals(server.getAttribute(name, "Requests"), 3L);
+      assertEquals(server.queryNames(new ObjectName("com.inversoft.restify:client=\"recording\",*"), null).size(), 3);
+
+      metrics.close();
+      assertEquals(server.queryNames(new ObjectName("com.inversoft.restify:client=\"recording\",*"), null), Collections.emptySet());
+    }
+  }
+
+  @Test
+  public void recordingDoesNotAllocate() throws Exception {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    RESTMetrics metrics = new RESTMetrics("allocation", null, 10, 10);
+    URL url = new URL("http://localhost:7052/api/user/42");
+    for (int i = 0; i < 100_000; i++) {
+      record(metrics, url, i);
+    }
+
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < 100_000; i++) {
+      record(metrics, url, i);
+    }
+    long allocated = threads.getThreadAllocatedBytes(id) - before;
+
+    // One allocation per request would be at least 1.6 MB
+    assertTrue(allocated < 10_000, "Allocated [" + allocated + "] bytes");
+    assertEquals(metrics.route(url, null).getRequests(), 200_000);
+  }
+
+  @Test
+  public void routes() throws Exception {
+    RESTMetrics metrics = new RESTMetrics("routes", null, 2, 10);
+    RouteMetrics first = metrics.route(new URL("http://example.com/api/user/42"), null);
+    assertSame(metrics.route(new URL("http://example.com/api/user/43"), null), first);
+    assertSame(metrics.route(new URL("http://example.com/api/user/43?name=frank"), null), first);
+    assertEquals(metrics.route(new URL("http://example.com:8080/api/user/42"), null).host, "example.com:8080");
+
+    // Only two routes are allowed, so every other template is recorded together
+    RouteMetrics other = metrics.route(new URL("http://example.com/api/order/42"), null);
+    assertEquals(other.route, RESTMetrics.OTHER);
+    assertSame(metrics.route(new URL("http://example.com/api/cart"), null), other);
+    assertEquals(metrics.routes().size(), 3);
+  }
+
+  @Test
+  public void template() {
+    assertEquals(RESTMetrics.template(""), "/");
+    assertEquals(RESTMetrics.template("/"), "/");
+    assertEquals(RESTMetrics.template("/api/user"), "/api/user");
+    assertEquals(RESTMetrics.template("/api/user/42"), "/api/user/{id}");
+    assertEquals(RESTMetrics.template("/api/user/42/"), "/api/user/{id}/");
+    assertEquals(RESTMetrics.template("/api/user/42/orders/7"), "/api/user/{id}/orders/{id}");
+    assertEquals(RESTMetrics.template("/api/user/9f3b2c1e-5d4a-4f6b-8c7d-1a2b3c4d5e6f/orders"), "/api/user/{id}/orders");
+    assertEquals(RESTMetrics.template("/api/object/5f1b2c3d4e5f6a7b8c9d0e1f"), "/api/object/{id}");
+    assertEquals(RESTMetrics.template("/api/token/aZ3kP9qL2mN8xV4bR7tY1w"), "/api/token/{id}");
+    assertEquals(RESTMetrics.template("/api/v2/user-profile/settings"), "/api/v2/user-profile/settings");
+    assertEquals(RESTMetrics.template("/api/deadbeef"), "/api/deadbeef");
+  }
+
+  private static void record(RESTMetrics metrics, URL url, long nanos) {
+    RouteMetrics route = metrics.route(url, null);
+    route.start();
+    route.finish(200, nanos);
+  }
+}
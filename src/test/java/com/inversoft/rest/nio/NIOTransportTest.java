@@ -0,0 +1,564 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.nio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.inversoft.rest.ByteArrayBodyHandler;
+import com.inversoft.rest.ByteArrayResponseHandler;
+import com.inversoft.rest.ClientResponse;
+import com.inversoft.rest.InputStreamBodyHandler;
+import com.inversoft.rest.JSONResponseHandler;
+import com.inversoft.rest.RESTClient;
+import com.inversoft.rest.TextResponseHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class NIOTransportTest {
+  private static final byte[] LARGE = new byte[3 * 1024 * 1024];
+
+  private final Set<InetSocketAddress> clients = Collections.synchronizedSet(new HashSet<>());
+
+  private HttpServer server;
+
+  static {
+    for (int i = 0; i < LARGE.length; i++) {
+      LARGE[i] = (byte) (i % 251);
+    }
+  }
+
+  @AfterClass
+  public void afterClass() {
+    server.stop(0);
+  }
+
+  @BeforeClass
+  public void beforeClass() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(7043), 0);
+    server.setExecutor(Executors.newFixedThreadPool(8));
+    server.createContext("/json", exchange -> respond(exchange, 200, "{\"id\": \"" + exchange.getRequestURI().getQuery() + "\"}"));
+    server.createContext("/echo", exchange -> respond(exchange, 200, read(exchange.getRequestBody())));
+    server.createContext("/large", exchange -> {
+      clients.add(exchange.getRemoteAddress());
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream os = exchange.getResponseBody()) {
+        for (int i = 0; i < LARGE.length; i += 10_000) {
+          os.write(LARGE, i, Math.min(10_000, LARGE.length - i));
+        }
+      }
+    });
+    server.createContext("/slow", exchange -> {
+      try {
+        Thread.sleep(1_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      respond(exchange, 200, "slow");
+    });
+    server.start();
+  }
+
+  @Test
+  public void backpressure() throws Exception {
+    try (NIOTransport transport = new NIOTransport()) {
+      // Read the response slowly so that the connection has to stop reading
+      ClientResponse<byte[], Void> response = new RESTClient<>(byte[].class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/large")
+          .successResponseHandler(is -> {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int read;
+            while ((read = is.read(buf)) != -1) {
+              baos.write(buf, 0, read);
+              if (baos.size() % (256 * 1024) < 4096) {
+                sleep(5);
+              }
+            }
+            return baos.toByteArray();
+          })
+          .get()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(response.successResponse, LARGE);
+    }
+  }
+
+  @Test
+  public void chunkedRequest() throws Exception {
+    try (NIOTransport transport = new NIOTransport()) {
+      ClientResponse<byte[], Void> response = new RESTClient<>(byte[].class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/echo")
+          .bodyHandler(new InputStreamBodyHandler("application/octet-stream", new java.io.ByteArrayInputStream(LARGE)))
+          .successResponseHandler(new ByteArrayResponseHandler())
+          .post()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(response.successResponse, LARGE);
+    }
+  }
+
+  @Test
+  public void connectFailure() {
+    try (NIOTransport transport = new NIOTransport()) {
+      ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7044/nothing")
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof ConnectException, "Exception was " + response.exception);
+    }
+  }
+
+  @Test
+  public void earlyResponse() throws Exception {
+    // The server rejects the POST without reading its body and keeps the connection alive
+    List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch rejected = new CountDownLatch(1);
+    ServerSocket serverSocket = new ServerSocket(7046);
+    Thread server = new Thread(() -> {
+      for (int connection = 1; !serverSocket.isClosed(); connection++) {
+        try (Socket socket = serverSocket.accept()) {
+          InputStream is = socket.getInputStream();
+          OutputStream os = socket.getOutputStream();
+          String head;
+          while ((head = readHead(is)) != null) {
+            requests.add(connection + " " + head.substring(0, head.indexOf("\r\n")));
+            if (head.startsWith("POST")) {
+              os.write("HTTP/1.1 413 Payload Too Large\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+              os.flush();
+              rejected.countDown();
+            } else {
+              os.write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(StandardCharsets.ISO_8859_1));
+              os.flush();
+            }
+          }
+        } catch (IOException e) {
+          // The server was closed
+        }
+      }
+    });
+    server.setDaemon(true);
+    server.start();
+
+    byte[] body = "aaaaabbbbb".getBytes(StandardCharsets.UTF_8);
+    try (NIOTransport transport = new NIOTransport()) {
+      // The rest of the body is written after the response has been read
+      ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7046/early")
+          .bodyHandler(new ByteArrayBodyHandler(body) {
+            @Override
+            public void accept(OutputStream os) throws IOException {
+              os.write(body, 0, 5);
+              os.flush();
+              try {
+                rejected.await();
+              } catch (InterruptedException e) {
+                throw new IOException(e);
+              }
+
+              sleep(200);
+              os.write(body, 5, 5);
+            }
+          })
+          .successResponseHandler(new TextResponseHandler())
+          .post()
+          .go();
+      assertEquals(response.status, 413);
+
+      // The next request to the host can't reuse the connection, since the server would read the rest of the body as a request
+      response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7046/next")
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+      assertEquals(response.successResponse, "ok");
+      assertEquals(requests, Arrays.asList("1 POST /early HTTP/1.1", "2 GET /next HTTP/1.1"));
+    } finally {
+      serverSocket.close();
+    }
+  }
+
+  @Test
+  public void invalidHeaders() {
+    try (NIOTransport transport = new NIOTransport()) {
+      // A value can't end its line and start another header or a second request
+      ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/json")
+          .header("X-Value", "foo\r\n\r\nGET /admin HTTP/1.1")
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof IllegalArgumentException, "Exception was " + response.exception);
+
+      response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/json")
+          .header("X-Bad Name", "foo")
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof IllegalArgumentException, "Exception was " + response.exception);
+
+      response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/json")
+          .header("X-Value", "foo\u0000")
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof IllegalArgumentException, "Exception was " + response.exception);
+
+      response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/json?a=b\r\nX-Injected:%20true")
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof IllegalArgumentException, "Exception was " + response.exception);
+
+      // Valid headers still work
+      response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/json")
+          .header("X-Value", "foo\tbar")
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+      assertNull(response.exception);
+      assertEquals(response.status, 200);
+    }
+  }
+
+  @Test
+  public void keepAlive() throws Exception {
+    clients.clear();
+    try (NIOTransport transport = new NIOTransport()) {
+      for (int i = 0; i < 3; i++) {
+        ClientResponse<byte[], Void> response = new RESTClient<>(byte[].class, Void.TYPE)
+            .transport(transport)
+            .url("http://localhost:7043/large")
+            .successResponseHandler(new ByteArrayResponseHandler())
+            .get()
+            .go();
+
+        assertNull(response.exception);
+        assertEquals(response.successResponse.length, LARGE.length);
+      }
+    }
+
+    assertEquals(clients.size(), 1);
+  }
+
+  @Test
+  public void pipelining() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try (NIOTransport transport = new NIOTransport().eventLoops(1).pipelining(4)) {
+      List<Future<ClientResponse<Map, Void>>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        String id = "" + i;
+        futures.add(executor.submit(() -> new RESTClient<>(Map.class, Void.TYPE)
+            .transport(transport)
+            .url("http://localhost:7043/json")
+            .urlParameter("id", id)
+            .successResponseHandler(new JSONResponseHandler<>(Map.class))
+            .get()
+            .go()));
+      }
+
+      for (int i = 0; i < futures.size(); i++) {
+        ClientResponse<Map, Void> response = futures.get(i).get();
+        assertNull(response.exception);
+        assertEquals(response.successResponse.get("id"), "id=" + i);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void postIsNotRetried() throws Exception {
+    // The server answers the first request on each connection and then closes the connection when the next request arrives
+    AtomicInteger requests = new AtomicInteger();
+    ServerSocket serverSocket = new ServerSocket(7045);
+    Thread server = new Thread(() -> {
+      while (!serverSocket.isClosed()) {
+        try (Socket socket = serverSocket.accept()) {
+          InputStream is = socket.getInputStream();
+          OutputStream os = socket.getOutputStream();
+          for (int i = 0; readHead(is) != null; i++) {
+            requests.incrementAndGet();
+            if (i > 0) {
+              break;
+            }
+
+            os.write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(StandardCharsets.ISO_8859_1));
+            os.flush();
+          }
+        } catch (IOException e) {
+          // The server was closed
+        }
+      }
+    });
+    server.setDaemon(true);
+    server.start();
+
+    try (NIOTransport transport = new NIOTransport()) {
+      assertNull(send(transport).get().go().exception);
+
+      // A GET that fails on the kept-alive connection is sent again on a new connection
+      ClientResponse<String, Void> response = send(transport).get().go();
+      assertNull(response.exception);
+      assertEquals(response.successResponse, "ok");
+      assertEquals(requests.get(), 3);
+
+      // A POST is not
+      response = send(transport).post().go();
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof IOException, "Exception was " + response.exception);
+      assertEquals(requests.get(), 4);
+
+      // Nor is a PATCH sent as a POST with the method override header
+      assertNull(send(transport).get().go().exception);
+      response = send(transport).patch().go();
+      assertEquals(response.status, -1);
+      assertEquals(requests.get(), 6);
+    } finally {
+      serverSocket.close();
+    }
+  }
+
+  @Test
+  public void readTimeout() {
+    try (NIOTransport transport = new NIOTransport()) {
+      ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7043/slow")
+          .connectTimeout(100)
+          .readTimeout(100)
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof SocketTimeoutException, "Exception was " + response.exception);
+    }
+  }
+
+  @Test
+  public void unixSocket() throws Exception {
+    if (!UnixDomainSockets.isSupported()) {
+      throw new SkipException("Unix domain sockets require Java 16 or later");
+    }
+
+    Path directory = Files.createTempDirectory("restify");
+    Path socket = directory.resolve("agent.sock");
+    ServerSocketChannel serverChannel = (ServerSocketChannel) ServerSocketChannel.class.getMethod("open", ProtocolFamily.class)
+                                                                                      .invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+    serverChannel.bind(UnixDomainSockets.address(socket.toString()));
+    Thread server = new Thread(() -> serveUnixSocket(serverChannel));
+    server.setDaemon(true);
+    server.start();
+
+    try (NIOTransport transport = new NIOTransport()) {
+      ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("unix://" + socket + ":/v1/status")
+          .urlParameter("verbose", true)
+          .successResponseHandler(new TextResponseHandler())
+          .get()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(response.status, 200);
+      assertEquals(response.successResponse, "1 GET /v1/status?verbose=true localhost ");
+
+      // The same connection is reused
+      response = new RESTClient<>(String.class, Void.TYPE)
+          .transport(transport)
+          .url("unix://" + socket + ":")
+          .uri("/v1/echo")
+          .bodyHandler(new ByteArrayBodyHandler("hello".getBytes(StandardCharsets.UTF_8)))
+          .successResponseHandler(new TextResponseHandler())
+          .post()
+          .go();
+
+      assertNull(response.exception);
+      assertEquals(response.successResponse, "1 POST /v1/echo localhost hello");
+    } finally {
+      serverChannel.close();
+      Files.deleteIfExists(socket);
+      Files.delete(directory);
+    }
+
+    // Without a transport, the request fails rather than being sent somewhere else
+    ClientResponse<String, Void> response = new RESTClient<>(String.class, Void.TYPE)
+        .url("unix://" + socket + ":/v1/status")
+        .successResponseHandler(new TextResponseHandler())
+        .get()
+        .go();
+    assertEquals(response.status, -1);
+    assertTrue(response.exception instanceof IOException, "Exception was " + response.exception);
+  }
+
+  private static byte[] read(InputStream is) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    byte[] buf = new byte[8192];
+    int read;
+    while ((read = is.read(buf)) != -1) {
+      baos.write(buf, 0, read);
+    }
+    return baos.toByteArray();
+  }
+
+  private static RESTClient<String, Void> send(NIOTransport transport) {
+    return new RESTClient<>(String.class, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7045/test")
+        .successResponseHandler(new TextResponseHandler());
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    respond(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(body);
+    }
+  }
+
+  /**
+   * A minimal HTTP/1.1 server that responds to each request with the number of the connection, the request line, the Host header and
+   * the body, keeping the connection alive.
+   */
+  private static void serveUnixSocket(ServerSocketChannel serverChannel) {
+    int connections = 0;
+    while (serverChannel.isOpen()) {
+      try (SocketChannel channel = serverChannel.accept()) {
+        connections++;
+        InputStream is = Channels.newInputStream(channel);
+        OutputStream os = Channels.newOutputStream(channel);
+        String head;
+        while ((head = readHead(is)) != null) {
+          String[] lines = head.split("\r\n");
+          String[] requestLine = lines[0].split(" ");
+          String host = "";
+          int contentLength = 0;
+          for (String line : lines) {
+            String lower = line.toLowerCase();
+            if (lower.startsWith("host:")) {
+              host = line.substring(5).trim();
+            } else if (lower.startsWith("content-length:")) {
+              contentLength = Integer.parseInt(line.substring(15).trim());
+            }
+          }
+
+          byte[] body = new byte[contentLength];
+          for (int read = 0; read < contentLength; ) {
+            read += is.read(body, read, contentLength - read);
+          }
+
+          byte[] response = (connections + " " + requestLine[0] + " " + requestLine[1] + " " + host + " " +
+              new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+          os.write(("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: " + response.length + "\r\n\r\n")
+              .getBytes(StandardCharsets.ISO_8859_1));
+          os.write(response);
+          os.flush();
+        }
+      } catch (IOException e) {
+        // The server was closed
+      }
+    }
+  }
+
+  private static String readHead(InputStream is) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    int c;
+    while ((c = is.read()) != -1) {
+      baos.write(c);
+      if (baos.size() >= 4 && baos.toString("ISO-8859-1").endsWith("\r\n\r\n")) {
+        return baos.toString("ISO-8859-1");
+      }
+    }
+
+    return null;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
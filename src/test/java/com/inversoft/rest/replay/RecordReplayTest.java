@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, Inversoft Inc., All Rights Reserved
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+package com.inversoft.rest.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.inversoft.http.HTTPHeaders;
+import com.inversoft.rest.ClientResponse;
+import com.inversoft.rest.HTTPTransport;
+import com.inversoft.rest.JSONBodyHandler;
+import com.inversoft.rest.JSONResponseHandler;
+import com.inversoft.rest.RESTClient;
+import com.inversoft.rest.nio.NIOTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author Brian Pontarelli
+ */
+public class RecordReplayTest {
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void recordAndReplay() throws Exception {
+    AtomicInteger counter = new AtomicInteger();
+    HttpServer server = HttpServer.create(new InetSocketAddress(7050), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/counter", exchange -> {
+      exchange.getResponseHeaders().add("Set-Cookie", "session=abc; Path=/; HttpOnly");
+      respond(exchange, ("{\"count\":" + counter.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8));
+    });
+    server.createContext("/echo", exchange -> respond(exchange, read(exchange.getRequestBody())));
+    server.createContext("/error", exchange -> {
+      byte[] body = "{\"error\":\"missing\"}".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(404, body.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    });
+    server.start();
+
+    Path file = Files.createTempFile("restify", ".rec");
+    try {
+      try (RecordingTransport transport = new RecordingTransport(new NIOTransport(), file)) {
+        assertEquals(counter(transport).successResponse.get("count"), 1);
+        assertEquals(counter(transport).successResponse.get("count"), 2);
+        assertEquals(echo(transport).successResponse, Collections.singletonMap("name", "Frank"));
+
+        // There is no error response handler, so the body is only read when the response is closed
+        assertEquals(error(transport).status, 404);
+        assertEquals(transport.recorded(), 4);
+      } finally {
+        server.stop(0);
+      }
+
+      // The server is gone, so everything comes from the recording
+      ReplayTransport transport = new ReplayTransport(file);
+      assertEquals(transport.exchanges.size(), 4);
+      assertEquals(new String(transport.exchanges.get(3).responseBody, StandardCharsets.UTF_8), "{\"error\":\"missing\"}");
+      assertFalse(transport.exchanges.get(3).truncated);
+      assertEquals(transport.exchanges.get(2).method, "POST");
+      assertEquals(new String(transport.exchanges.get(2).requestBody, StandardCharsets.UTF_8), "{\"name\":\"Frank\"}");
+
+      // Credentials are redacted, but the scheme and the cookie names and attributes are kept
+      RecordedExchange first = transport.exchanges.get(0);
+      assertEquals(first.requestHeaders.get("Authorization"), "Bearer redacted");
+      assertEquals(first.requestHeaders.get("Cookie"), "theme=redacted; id=redacted");
+      assertEquals(first.requestHeaders.get("X-Request"), "counter");
+      assertEquals(headerValues(first.responseHeaders, "Set-Cookie"), Collections.singletonList("session=redacted; Path=/; HttpOnly"));
+
+      for (int expected : new int[]{1, 2, 1}) {
+        ClientResponse<Map, Void> response = counter(transport);
+        assertNull(response.exception);
+        assertEquals(response.status, 200);
+        assertEquals(response.successResponse.get("count"), expected);
+        assertEquals(response.getCookies().get(0).name, "session");
+        assertTrue(response.getCookies().get(0).httpOnly);
+      }
+
+      assertEquals(echo(transport).successResponse, Collections.singletonMap("name", "Frank"));
+
+      ClientResponse<Map, Void> response = new RESTClient<>(Map.class, Void.TYPE)
+          .transport(transport)
+          .url("http://localhost:7050/missing")
+          .successResponseHandler(new JSONResponseHandler<>(Map.class))
+          .get()
+          .go();
+      assertEquals(response.status, -1);
+      assertTrue(response.exception instanceof IOException);
+
+      // A truncated body fails where the recording stopped
+      RecordedExchange truncated = new RecordedExchange("GET", "http://localhost:7050/counter", new HTTPHeaders(), null, 200,
+          Collections.emptyMap(), "{\"count\":".getBytes(StandardCharsets.UTF_8), true);
+      response = counter(new ReplayTransport(Collections.singletonList(truncated)));
+      assertEquals(response.status, 200);
+      Throwable cause = response.exception;
+      while (cause != null && !(cause instanceof IOException)) {
+        cause = cause.getCause();
+      }
+      assertEquals(cause != null ? cause.getMessage() : null, "The response body was truncated when it was recorded");
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static ClientResponse<Map, Void> counter(HTTPTransport transport) {
+    return new RESTClient<>(Map.class, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7050/counter")
+        .authorization("Bearer secret")
+        .header("Cookie", "theme=dark; id=42")
+        .header("X-Request", "counter")
+        .successResponseHandler(new JSONResponseHandler<>(Map.class))
+        .get()
+        .go();
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static ClientResponse<Map, Void> echo(HTTPTransport transport) {
+    return new RESTClient<>(Map.class, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7050/echo")
+        .bodyHandler(new JSONBodyHandler(Collections.singletonMap("name", "Frank")))
+        .successResponseHandler(new JSONResponseHandler<>(Map.class))
+        .post()
+        .go();
+  }
+
+  private static ClientResponse<Void, Void> error(HTTPTransport transport) {
+    return new RESTClient<>(Void.TYPE, Void.TYPE)
+        .transport(transport)
+        .url("http://localhost:7050/error")
+        .get()
+        .go();
+  }
+
+  private static List<String> headerValues(Map<String, List<String>> headers, String name) {
+    return headers.entrySet().stream()
+                  .filter(entry -> name.equalsIgnoreCase(entry.getKey()))
+                  .map(Map.Entry::getValue)
+                  .findFirst()
+                  .orElse(null);
+  }
+
+  private static byte[] read(InputStream is) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    byte[] buf = new byte[1024];
+    int read;
+    while ((read = is.read(buf)) != -1) {
+      baos.write(buf, 0, read);
+    }
+
+    return baos.toByteArray();
+  }
+
+  private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(body);
+    }
+  }
+}